@@ -0,0 +1,191 @@
+// src/loadTest/java/com/example/warning/loadtest/AlertFanoutBenchmark.java
+package com.example.warning.loadtest;
+
+import com.example.warning.dto.AlertFanoutResult;
+import com.example.warning.dto.AlertNotification;
+import com.example.warning.service.AlertFanoutService;
+import com.example.warning.service.NotificationSink;
+import com.example.warning.service.ShelterCatalog;
+import com.example.warning.service.ShelterDataset;
+import com.example.warning.service.ShelterDatasetChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경보 발령(AlertFanoutService.broadcast) 구독자 찾기 / 대피소 붙이기 벤치마크 (./gradlew alertFanoutBenchmark).
+ *
+ * 동작:
+ *  1) 부하 프로파일(alert-spike-profile.json)의 해안 도시 분포로 합성 대피소를 올리고,
+ *     구독자 --subscribers 명(기본 100만)을 같은 분포로 구독시킨다. (세 명 중 한 명은 직장 위치도 등록)
+ *  2) 해안 경보 구역(alert-fanout-area.geojson, 부산 ~ 포항 해안 띠)으로 broadcast 를 반복한다.
+ *     앞의 --warmup-rounds 번은 버리고, 이후 --rounds 번의 resolveMillis / joinMillis 를 모은다.
+ *  3) 결과(중앙값/최댓값)를 로그와 report-dir/result.json 에 남긴다.
+ *     --max-resolve-ms / --max-join-ms 를 주면 중앙값이 넘을 때 실패(exit 1). (주지 않으면 기록만)
+ *
+ * 앱(Spring)은 띄우지 않고 서비스를 직접 만든다. 발송 sink 는 개수만 세고 버린다.
+ * 매 회차가 끝나면 발송이 다 끝날 때까지 기다려서 다음 회차 측정에 섞이지 않게 한다.
+ */
+public final class AlertFanoutBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertFanoutBenchmark.class);
+
+    private static final long DELIVERY_WAIT_MILLIS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        Path profilePath = null;
+        Path areaPath = null;
+        Path reportDir = Path.of("build/reports/alert-fanout");
+        int subscribers = 1_000_000;
+        int warmupRounds = 2;
+        int rounds = 5;
+        double maxResolveMs = Double.NaN;
+        double maxJoinMs = Double.NaN;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--profile" -> profilePath = Path.of(args[++i]);
+                case "--area" -> areaPath = Path.of(args[++i]);
+                case "--report-dir" -> reportDir = Path.of(args[++i]);
+                case "--subscribers" -> subscribers = Integer.parseInt(args[++i]);
+                case "--warmup-rounds" -> warmupRounds = Integer.parseInt(args[++i]);
+                case "--rounds" -> rounds = Integer.parseInt(args[++i]);
+                case "--max-resolve-ms" -> maxResolveMs = Double.parseDouble(args[++i]);
+                case "--max-join-ms" -> maxJoinMs = Double.parseDouble(args[++i]);
+                default -> throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+            }
+        }
+        if (profilePath == null || areaPath == null) {
+            throw new IllegalArgumentException("--profile, --area 는 필수입니다.");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("--rounds 는 1 이상이어야 합니다.");
+        }
+        System.exit(run(profilePath, areaPath, reportDir, subscribers, warmupRounds, rounds, maxResolveMs, maxJoinMs));
+    }
+
+    private static int run(Path profilePath, Path areaPath, Path reportDir, int subscribers, int warmupRounds,
+                           int rounds, double maxResolveMs, double maxJoinMs) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SpikeProfile profile = SpikeProfile.read(profilePath, objectMapper);
+        JsonNode area;
+        try (InputStream in = Files.newInputStream(areaPath)) {
+            area = objectMapper.readTree(in);
+        }
+        CoastalLocations locations = new CoastalLocations(profile.getRegions());
+
+        ShelterCatalog catalog = new ShelterCatalog(event -> { });
+        ShelterDataset dataset = ShelterDataset.build(1L, locations.syntheticShelters(profile.getSyntheticShelters(),
+                new SplittableRandom(profile.getSeed())));
+        catalog.publish(dataset, ShelterDatasetChangedEvent.Source.LOADED);
+
+        CountingSink sink = new CountingSink();
+        // 운영 기본값과 같은 격자/묶음 설정, 저장 파일 없음
+        AlertFanoutService service = new AlertFanoutService(catalog, List.of(sink), sink.getName(),
+                33.0, 38.7, 124.5, 132.0, 0.01, Math.max(subscribers, 2_000_000), 3, 1_000, 4, 256, "");
+        try {
+            long start = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(profile.getSeed() + 2);
+            for (int i = 0; i < subscribers; i++) {
+                double[] home = locations.sample(random);
+                double[] work = i % 3 == 0 ? locations.sample(random) : null;
+                service.subscribe("bench-" + i, home[0], home[1],
+                        work != null ? work[0] : null, work != null ? work[1] : null);
+            }
+            logger.info("준비: 대피소={}, 구독자={}, {}ms",
+                    dataset.size(), service.getSubscriberCount(), (System.nanoTime() - start) / 1_000_000);
+
+            List<AlertFanoutResult> measured = new ArrayList<>();
+            for (int round = 0; round < warmupRounds + rounds; round++) {
+                long delivered = sink.delivered.sum();
+                long broadcastStart = System.nanoTime();
+                AlertFanoutResult result = service.broadcast(area, "벤치마크 " + round);
+                long broadcastMillis = (System.nanoTime() - broadcastStart) / 1_000_000;
+                awaitDelivery(sink, delivered + result.getMatchedSubscribers());
+
+                boolean warmup = round < warmupRounds;
+                logger.info("[{} {}] 대상 구독자={}, 위치={}, 셀(전체/경계)={}/{}, 점 판정={}, resolve={}ms, join={}ms, broadcast={}ms",
+                        warmup ? "워밍업" : "측정", round + 1, result.getMatchedSubscribers(), result.getMatchedLocations(),
+                        result.getFullCells(), result.getBoundaryCells(), result.getPointTests(),
+                        result.getResolveMillis(), result.getJoinMillis(), broadcastMillis);
+                if (!warmup) {
+                    measured.add(result);
+                }
+            }
+
+            long[] resolve = measured.stream().mapToLong(AlertFanoutResult::getResolveMillis).sorted().toArray();
+            long[] join = measured.stream().mapToLong(AlertFanoutResult::getJoinMillis).sorted().toArray();
+            AlertFanoutResult last = measured.get(measured.size() - 1);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("subscribers", service.getSubscriberCount());
+            report.put("shelters", dataset.size());
+            report.put("matchedSubscribers", last.getMatchedSubscribers());
+            report.put("matchedLocations", last.getMatchedLocations());
+            report.put("rounds", measured.size());
+            report.put("resolveMillisMedian", median(resolve));
+            report.put("resolveMillisMax", resolve[resolve.length - 1]);
+            report.put("joinMillisMedian", median(join));
+            report.put("joinMillisMax", join[join.length - 1]);
+            report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            Files.createDirectories(reportDir);
+            Files.write(reportDir.resolve("result.json"), objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+            logger.info("[결과] resolve 중앙값={}ms (최대 {}ms), join 중앙값={}ms (최대 {}ms), {}회",
+                    median(resolve), resolve[resolve.length - 1], median(join), join[join.length - 1], measured.size());
+
+            boolean failed = false;
+            if (median(resolve) > maxResolveMs) { // NaN 이면 false
+                logger.error("[목표 초과] resolve 중앙값 {}ms > 목표 {}ms", median(resolve), maxResolveMs);
+                failed = true;
+            }
+            if (median(join) > maxJoinMs) {
+                logger.error("[목표 초과] join 중앙값 {}ms > 목표 {}ms", median(join), maxJoinMs);
+                failed = true;
+            }
+            return failed ? 1 : 0;
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static void awaitDelivery(CountingSink sink, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DELIVERY_WAIT_MILLIS;
+        while (sink.delivered.sum() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("발송이 끝나지 않았습니다: " + sink.delivered.sum() + " / " + expected);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static double median(long[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+
+    // 받은 알림 수만 센다
+    private static final class CountingSink implements NotificationSink {
+
+        private final LongAdder delivered = new LongAdder();
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+
+        @Override
+        public void deliver(List<AlertNotification> batch) {
+            delivered.add(batch.size());
+        }
+    }
+}
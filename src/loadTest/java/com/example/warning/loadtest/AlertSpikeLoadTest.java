@@ -0,0 +1,415 @@
+// src/loadTest/java/com/example/warning/loadtest/AlertSpikeLoadTest.java
+package com.example.warning.loadtest;
+
+import com.example.warning.WarningApplication;
+import com.example.warning.service.NearestShelterGridService;
+import com.example.warning.service.ShelterCatalog;
+import com.example.warning.service.ShelterDataset;
+import com.example.warning.service.ShelterDatasetChangedEvent;
+import com.example.warning.service.ShelterSnapshotFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 지진해일 경보 발령 순간의 트래픽 급증을 재현하는 부하 테스트 (./gradlew alertSpikeTest).
+ *
+ * 동작:
+ *  1) 애플리케이션을 임의 포트로 띄우고, 합성(또는 로컬 스냅샷) 대피소 데이터를 ShelterCatalog 에 올린다.
+ *  2) 프로파일의 구간(phase)마다 정해진 초당 요청 수로 요청을 보낸다. (open-loop)
+ *     - POST /api/nearest-shelters : 해안 도시 중심 위치 분포
+ *     - GET  /api/search           : 검색어를 한 글자씩 입력하는 것처럼 접두어를 연달아 보냄
+ *  3) 지연 시간은 "보냈어야 할 시각"부터 잰다. 서버가 밀려서 요청을 늦게 보내게 되어도
+ *     그 대기 시간이 지연에 포함되므로 coordinated omission 이 생기지 않는다.
+ *  4) 측정 구간 합산 결과를 HdrHistogram 으로 기록하고, 다음 중 하나라도 넘으면 실패(exit 1).
+ *     - 프로파일 budgets 의 목표치 (p99, 오류율) : 항상 확인
+ *     - 기록된 기준선 대비 회귀 (프로파일 regression) : 기준선 파일이 있을 때만.
+ *       기준선은 --update-baseline 으로 기준 장비에서 실제로 돌린 결과만 기록한다. (없으면 경고만 남기고 목표치로만 판단)
+ *
+ * 요청은 가상 사용자(clients)에게 나눠서 X-Forwarded-For 로 보낸다. (루프백은 신뢰하는 프록시)
+ * AdmissionControlFilter 의 클라이언트별 속도 제한은 운영 설정 그대로 적용된다.
+ *
+ * 검색(LOW 우선순위)은 급증 때 AdmissionControlFilter 가 일부러 차단(429/503)하므로 오류가 아니라 shed 로 따로 센다.
+ * nearest-shelters 는 차단되면 안 되므로 200 이 아니면 모두 오류다.
+ */
+public final class AlertSpikeLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertSpikeLoadTest.class);
+
+    private static final String NEAREST = "nearest-shelters";
+    private static final String SEARCH = "search";
+    private static final long GRID_WAIT_MILLIS = 120_000;
+
+    private final SpikeProfile profile;
+    private final int port;
+    private final Path reportDir;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final Endpoint nearest = new Endpoint(false);
+    private final Endpoint search = new Endpoint(true);
+
+    private AlertSpikeLoadTest(SpikeProfile profile, int port, Path reportDir, ExecutorService httpExecutor) {
+        this.profile = profile;
+        this.port = port;
+        this.reportDir = reportDir;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(profile.getRequestTimeoutMs()))
+                .executor(httpExecutor)
+                .build();
+        this.inFlight = new Semaphore(profile.getMaxInFlight());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path profilePath = null;
+        Path baselinePath = null;
+        Path reportDir = Path.of("build/reports/alert-spike");
+        boolean updateBaseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--profile" -> profilePath = Path.of(args[++i]);
+                case "--baseline" -> baselinePath = Path.of(args[++i]);
+                case "--report-dir" -> reportDir = Path.of(args[++i]);
+                case "--update-baseline" -> updateBaseline = true;
+                default -> throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+            }
+        }
+        if (profilePath == null || baselinePath == null) {
+            throw new IllegalArgumentException("--profile, --baseline 은 필수입니다.");
+        }
+        System.exit(run(profilePath, baselinePath, reportDir, updateBaseline));
+    }
+
+    private static int run(Path profilePath, Path baselinePath, Path reportDir, boolean updateBaseline) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SpikeProfile profile = SpikeProfile.read(profilePath, objectMapper);
+        Path workDir = Files.createTempDirectory("alert-spike");
+
+        Map<String, LatencyBaseline.Entry> results;
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "alert-spike-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (ConfigurableApplicationContext app = startApp(profile, workDir)) {
+            publishDataset(app, profile);
+            int port = Integer.parseInt(app.getEnvironment().getProperty("local.server.port"));
+            results = new AlertSpikeLoadTest(profile, port, reportDir, httpExecutor).replay();
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+
+        Files.createDirectories(reportDir);
+        LatencyBaseline.write(reportDir.resolve("result.json"), results, profilePath.getFileName().toString(), objectMapper);
+        results.forEach((name, entry) -> logger.info("[결과] {}: {}", name, entry));
+        if (results.get(NEAREST).getCount() == 0) {
+            logger.error("nearest-shelters 요청이 하나도 완료되지 않았습니다.");
+            return 1;
+        }
+
+        List<String> overBudget = overBudget(results, profile.getBudgets());
+        overBudget.forEach(r -> logger.error("[목표 초과] {}", r));
+
+        if (updateBaseline) {
+            LatencyBaseline.write(baselinePath, results, profilePath.getFileName().toString(), objectMapper);
+            logger.info("기준선 저장: {}", baselinePath);
+            return overBudget.isEmpty() ? 0 : 1;
+        }
+        Map<String, LatencyBaseline.Entry> baseline = LatencyBaseline.read(baselinePath, objectMapper);
+        List<String> regressions = List.of();
+        if (baseline == null) {
+            logger.warn("기록된 기준선이 없어 목표치(budgets)만 확인합니다: {} (기준 장비에서 --update-baseline 으로 기록해서 커밋)",
+                    baselinePath);
+        } else {
+            regressions = LatencyBaseline.compare(results, baseline, profile);
+            regressions.forEach(r -> logger.error("[회귀] {}", r));
+        }
+        if (!overBudget.isEmpty() || !regressions.isEmpty()) {
+            return 1;
+        }
+        logger.info("목표치 이내{}", baseline != null ? ", 기준선 대비 회귀 없음: " + baselinePath : "");
+        return 0;
+    }
+
+    // 프로파일 budgets 를 넘은 항목 (비어 있으면 통과)
+    private static List<String> overBudget(Map<String, LatencyBaseline.Entry> results,
+                                           Map<String, SpikeProfile.Budget> budgets) {
+        List<String> problems = new ArrayList<>();
+        budgets.forEach((name, budget) -> {
+            LatencyBaseline.Entry entry = results.get(name);
+            if (entry == null) {
+                return;
+            }
+            if (entry.getP99Ms() > budget.getP99Ms()) { // NaN 이면 false
+                problems.add(String.format(Locale.ROOT, "%s p99 %.1fms > 목표 %.1fms", name, entry.getP99Ms(), budget.getP99Ms()));
+            }
+            if (entry.getErrorRate() > budget.getErrorRate()) {
+                problems.add(String.format(Locale.ROOT, "%s 오류율 %.3f%% > 목표 %.3f%%",
+                        name, entry.getErrorRate() * 100, budget.getErrorRate() * 100));
+            }
+        });
+        return problems;
+    }
+
+    private static ConfigurableApplicationContext startApp(SpikeProfile profile, Path workDir) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:alert-spike");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("app.snapshot.path", workDir.resolve("shelters.snap").toString());
+        properties.put("app.snapshot.refresh-on-start", "false");
+        // 요청마다 남기는 INFO 로그가 측정을 흐리지 않게 한다
+        properties.put("logging.level.com.example.warning", "WARN");
+        properties.put("logging.level.com.example.warning.loadtest", "INFO");
+        properties.putAll(profile.getAppProperties());
+        return new SpringApplicationBuilder(WarningApplication.class).properties(properties).run();
+    }
+
+    // 데이터를 올리고, 운영과 같은 조건이 되도록 사전 계산 격자가 준비될 때까지 기다린다
+    private static void publishDataset(ConfigurableApplicationContext app, SpikeProfile profile) throws IOException,
+            InterruptedException {
+        ShelterDataset dataset;
+        if (profile.getSnapshot() != null) {
+            dataset = ShelterSnapshotFile.read(profile.getSnapshot());
+        } else {
+            CoastalLocations locations = new CoastalLocations(profile.getRegions());
+            dataset = ShelterDataset.build(1L, locations.syntheticShelters(profile.getSyntheticShelters(),
+                    new SplittableRandom(profile.getSeed())));
+        }
+        app.getBean(ShelterCatalog.class).publish(dataset, ShelterDatasetChangedEvent.Source.LOADED);
+        logger.info("데이터 준비: generation={}, 대피소={}", dataset.getGeneration(), dataset.size());
+
+        boolean gridEnabled = Boolean.parseBoolean(app.getEnvironment().getProperty("app.nearest-grid.enabled", "true"));
+        NearestShelterGridService grid = app.getBean(NearestShelterGridService.class);
+        long deadline = System.currentTimeMillis() + GRID_WAIT_MILLIS;
+        while (gridEnabled && grid.getGeneration() != dataset.getGeneration() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    // =========================================================
+    // 부하 재생
+    // =========================================================
+
+    private Map<String, LatencyBaseline.Entry> replay() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(profile.getSeed() + 1);
+        CoastalLocations locations = new CoastalLocations(profile.getRegions());
+        List<String> keystrokes = keystrokes(profile.getSearchKeywords());
+
+        Histogram nearestTotal = new Histogram(3);
+        Histogram searchTotal = new Histogram(3);
+        long[] nearestCounts = new long[3]; // count, errors, shed
+        long[] searchCounts = new long[3];
+        int keystroke = 0;
+
+        List<SpikeProfile.Phase> phases = profile.getPhases();
+        for (int p = 0; p < phases.size(); p++) {
+            SpikeProfile.Phase phase = phases.get(p);
+            logger.info("구간 시작: {} ({}초, nearest {}/s, search {}/s)",
+                    phase.getName(), phase.getSeconds(), phase.getNearestRps(), phase.getSearchRps());
+
+            long phaseStart = System.nanoTime();
+            long phaseEnd = phaseStart + TimeUnit.SECONDS.toNanos(phase.getSeconds());
+            long nearestSent = 0;
+            long searchSent = 0;
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= phaseEnd) {
+                    break;
+                }
+                double elapsedSeconds = (now - phaseStart) / 1e9;
+                while (nearestSent < elapsedSeconds * phase.getNearestRps()) {
+                    long intended = phaseStart + (long) (nearestSent * 1e9 / phase.getNearestRps());
+                    send(nearest, nearestRequest(locations.sample(random), clientAddress(random)), intended);
+                    nearestSent++;
+                }
+                while (searchSent < elapsedSeconds * phase.getSearchRps()) {
+                    long intended = phaseStart + (long) (searchSent * 1e9 / phase.getSearchRps());
+                    send(search, searchRequest(keystrokes.get(keystroke++ % keystrokes.size()), clientAddress(random)),
+                            intended);
+                    searchSent++;
+                }
+                LockSupport.parkNanos(200_000);
+            }
+
+            if (p == phases.size() - 1) {
+                // 마지막 구간은 남은 요청이 모두 끝날 때까지 기다린 뒤 집계
+                if (!inFlight.tryAcquire(profile.getMaxInFlight(), profile.getRequestTimeoutMs() + 5_000, TimeUnit.MILLISECONDS)) {
+                    logger.warn("끝나지 않은 요청이 남아 있습니다: {}", profile.getMaxInFlight() - inFlight.availablePermits());
+                }
+            }
+            Interval nearestInterval = nearest.interval();
+            Interval searchInterval = search.interval();
+            logger.info("구간 종료: {} | nearest {} | search {}", phase.getName(), nearestInterval, searchInterval);
+
+            if (profile.getMeasuredPhases().contains(phase.getName())) {
+                nearestInterval.addTo(nearestTotal, nearestCounts);
+                searchInterval.addTo(searchTotal, searchCounts);
+            }
+        }
+
+        Map<String, LatencyBaseline.Entry> results = new LinkedHashMap<>();
+        results.put(NEAREST, toEntry(nearestTotal, nearestCounts));
+        results.put(SEARCH, toEntry(searchTotal, searchCounts));
+        writeHistogram(NEAREST, nearestTotal);
+        writeHistogram(SEARCH, searchTotal);
+        return results;
+    }
+
+    private void send(Endpoint endpoint, HttpRequest request, long intendedStart) {
+        inFlight.acquireUninterruptibly();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            endpoint.record(System.nanoTime() - intendedStart, response == null ? -1 : response.statusCode());
+            inFlight.release();
+        });
+    }
+
+    private HttpRequest nearestRequest(double[] location, String client) {
+        String body = "latitude=" + location[0] + "&longitude=" + location[1] + "&limit=" + profile.getNearestLimit();
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/nearest-shelters"))
+                .timeout(Duration.ofMillis(profile.getRequestTimeoutMs()))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Forwarded-For", client)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest searchRequest(String keyword, String client) {
+        String encoded = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/search?type=name&keyword=" + encoded))
+                .timeout(Duration.ofMillis(profile.getRequestTimeoutMs()))
+                .header("X-Forwarded-For", client)
+                .GET()
+                .build();
+    }
+
+    // 가상 사용자 하나의 주소 (10.0.0.0/8 안에서 번호 순서대로)
+    private String clientAddress(SplittableRandom random) {
+        int client = random.nextInt(profile.getClients());
+        return "10." + ((client >> 16) & 0xff) + "." + ((client >> 8) & 0xff) + "." + (client & 0xff);
+    }
+
+    // "해운대" → "해", "해운", "해운대" (입력할 때마다 검색하는 화면을 흉내)
+    private static List<String> keystrokes(List<String> keywords) {
+        List<String> keystrokes = new ArrayList<>();
+        for (String keyword : keywords) {
+            int[] codePoints = keyword.codePoints().toArray();
+            for (int i = 1; i <= codePoints.length; i++) {
+                keystrokes.add(new String(codePoints, 0, i));
+            }
+        }
+        if (keystrokes.isEmpty()) {
+            keystrokes.add("대피소");
+        }
+        return keystrokes;
+    }
+
+    private static LatencyBaseline.Entry toEntry(Histogram histogram, long[] counts) {
+        return new LatencyBaseline.Entry(counts[0], counts[1], counts[2],
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private void writeHistogram(String name, Histogram histogram) {
+        Path path = reportDir.resolve(name + ".hgrm");
+        try {
+            Files.createDirectories(path.getParent());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(path), true, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1000.0); // 마이크로초 → 밀리초
+            }
+        } catch (IOException e) {
+            logger.warn("히스토그램 저장 실패: {}", path, e);
+        }
+    }
+
+    // =========================================================
+    // 엔드포인트별 기록
+    // =========================================================
+
+    private static final class Endpoint {
+        private final boolean shedAllowed;
+        private final Recorder recorder = new Recorder(3); // 마이크로초 단위
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder shed = new LongAdder();
+
+        private Endpoint(boolean shedAllowed) {
+            this.shedAllowed = shedAllowed;
+        }
+
+        private void record(long latencyNanos, int status) {
+            count.increment();
+            if (shedAllowed && (status == 429 || status == 503)) {
+                shed.increment(); // 의도된 차단은 지연 분포에 넣지 않는다
+                return;
+            }
+            if (status != 200) {
+                errors.increment();
+            }
+            recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        }
+
+        private Interval interval() {
+            return new Interval(recorder.getIntervalHistogram(), count.sumThenReset(), errors.sumThenReset(),
+                    shed.sumThenReset());
+        }
+    }
+
+    private static final class Interval {
+        private final Histogram histogram;
+        private final long count;
+        private final long errors;
+        private final long shed;
+
+        private Interval(Histogram histogram, long count, long errors, long shed) {
+            this.histogram = histogram;
+            this.count = count;
+            this.errors = errors;
+            this.shed = shed;
+        }
+
+        private void addTo(Histogram total, long[] counts) {
+            total.add(histogram);
+            counts[0] += count;
+            counts[1] += errors;
+            counts[2] += shed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "count=%d errors=%d shed=%d p99=%.1fms", count, errors, shed,
+                    histogram.getValueAtPercentile(99) / 1000.0);
+        }
+    }
+}
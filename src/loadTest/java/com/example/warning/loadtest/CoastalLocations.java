@@ -0,0 +1,80 @@
+// src/loadTest/java/com/example/warning/loadtest/CoastalLocations.java
+package com.example.warning.loadtest;
+
+import com.example.warning.model.TsunamiShelter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 해안 도시 중심의 위치 분포.
+ *
+ * 경보가 뜨면 요청은 전국에 고르게 오지 않고 해안 도시 몇 곳에 몰린다.
+ * 프로파일의 regions 가중치로 도시를 고르고, 도시 중심에서 sigmaKm 가우시안으로 흩뿌린다.
+ * 같은 분포로 합성 대피소도 만든다. (대피소 밀도도 인구 밀집 지역이 높다)
+ */
+public class CoastalLocations {
+
+    private static final double KM_PER_DEG_LAT = 111.0;
+    private static final String[] SHELTER_KINDS = {"초등학교", "주민센터", "공원", "대피소", "고지대 공터", "체육관"};
+
+    private final List<SpikeProfile.Region> regions;
+    private final double[] cumulativeWeights;
+
+    public CoastalLocations(List<SpikeProfile.Region> regions) {
+        this.regions = regions;
+        this.cumulativeWeights = new double[regions.size()];
+        double sum = 0;
+        for (int i = 0; i < regions.size(); i++) {
+            sum += regions.get(i).getWeight();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * 가중치에 따라 도시를 고르고 그 주변의 한 점 {lat, lng}
+     */
+    public double[] sample(SplittableRandom random) {
+        SpikeProfile.Region region = pickRegion(random);
+        return scatter(region, random);
+    }
+
+    /**
+     * 같은 분포로 합성 대피소 count 개 (이름/주소에 도시 이름과 시설 종류가 들어가서 검색어가 맞는다)
+     */
+    public List<TsunamiShelter> syntheticShelters(int count, SplittableRandom random) {
+        List<TsunamiShelter> shelters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SpikeProfile.Region region = pickRegion(random);
+            double[] point = scatter(region, random);
+            TsunamiShelter shelter = new TsunamiShelter();
+            shelter.setId((long) i + 1);
+            shelter.setShelterName(region.getName() + " " + SHELTER_KINDS[random.nextInt(SHELTER_KINDS.length)] + " " + i);
+            shelter.setAddress(region.getName() + " 해안로 " + (i % 500 + 1));
+            shelter.setLatitude(point[0]);
+            shelter.setLongitude(point[1]);
+            shelter.setAccommodationCapacity(50 + random.nextInt(1_950));
+            shelters.add(shelter);
+        }
+        return shelters;
+    }
+
+    private SpikeProfile.Region pickRegion(SplittableRandom random) {
+        double r = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return regions.get(i);
+            }
+        }
+        return regions.get(regions.size() - 1);
+    }
+
+    private static double[] scatter(SpikeProfile.Region region, SplittableRandom random) {
+        double dLatKm = random.nextGaussian() * region.getSigmaKm();
+        double dLngKm = random.nextGaussian() * region.getSigmaKm();
+        double lat = region.getLat() + dLatKm / KM_PER_DEG_LAT;
+        double lng = region.getLng() + dLngKm / (KM_PER_DEG_LAT * Math.cos(Math.toRadians(region.getLat())));
+        return new double[] {lat, lng};
+    }
+}
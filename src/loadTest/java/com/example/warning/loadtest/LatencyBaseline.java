@@ -0,0 +1,143 @@
+// src/loadTest/java/com/example/warning/loadtest/LatencyBaseline.java
+package com.example.warning.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 엔드포인트별 지연 시간 / 오류율 기준선 (alert-spike-baseline.json).
+ *
+ * 실제로 돌린 결과만 담는다. (기록 시각/JVM/코어 수도 같이 남긴다) 정해둔 목표치는 프로파일의 budgets 에 따로 둔다.
+ * 기준선은 머신마다 다르므로 같은 장비(기준 장비)에서 -PupdateBaseline 으로 기록해서 커밋하고,
+ * 이후 실행 결과가 허용 범위(프로파일의 regression)를 넘으면 회귀로 본다.
+ *  - p99      : 현재 > 기준선 * p99Ratio + p99SlackMs
+ *  - 오류율    : 현재 > 기준선 + errorRateSlack
+ */
+public final class LatencyBaseline {
+
+    private LatencyBaseline() {
+    }
+
+    /**
+     * 엔드포인트 하나의 측정 결과 (측정 구간 합산)
+     */
+    public static final class Entry {
+        private final long count;
+        private final long errors;
+        private final long shed;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double p999Ms;
+        private final double maxMs;
+
+        public Entry(long count, long errors, long shed, double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+            this.count = count;
+            this.errors = errors;
+            this.shed = shed;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+            this.p999Ms = p999Ms;
+            this.maxMs = maxMs;
+        }
+
+        public double getErrorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public long getShed() { return shed; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getP999Ms() { return p999Ms; }
+        public double getMaxMs() { return maxMs; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "count=%d errors=%d (%.3f%%) shed=%d p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms",
+                    count, errors, getErrorRate() * 100, shed, p50Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    /**
+     * @return 기준선 파일이 없으면 null
+     */
+    public static Map<String, Entry> read(Path path, ObjectMapper objectMapper) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        JsonNode endpoints;
+        try (InputStream in = Files.newInputStream(path)) {
+            endpoints = objectMapper.readTree(in).path("endpoints");
+        }
+        Map<String, Entry> baseline = new LinkedHashMap<>();
+        endpoints.fieldNames().forEachRemaining(name -> {
+            JsonNode e = endpoints.get(name);
+            baseline.put(name, new Entry(e.path("count").asLong(), e.path("errors").asLong(), e.path("shed").asLong(),
+                    e.path("p50Ms").asDouble(), e.path("p99Ms").asDouble(), e.path("p999Ms").asDouble(),
+                    e.path("maxMs").asDouble()));
+        });
+        return baseline;
+    }
+
+    public static void write(Path path, Map<String, Entry> results, String profileName,
+                             ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        results.forEach((name, e) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", e.getCount());
+            values.put("errors", e.getErrors());
+            values.put("shed", e.getShed());
+            values.put("errorRate", e.getErrorRate());
+            values.put("p50Ms", e.getP50Ms());
+            values.put("p99Ms", e.getP99Ms());
+            values.put("p999Ms", e.getP999Ms());
+            values.put("maxMs", e.getMaxMs());
+            endpoints.put(name, values);
+        });
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("recordedAt", Instant.now().toString());
+        root.put("profile", profileName);
+        root.put("javaVersion", System.getProperty("java.version"));
+        root.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        root.put("endpoints", endpoints);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(root));
+    }
+
+    /**
+     * 기준선 대비 회귀 목록 (비어 있으면 통과)
+     */
+    public static List<String> compare(Map<String, Entry> current, Map<String, Entry> baseline, SpikeProfile profile) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((name, now) -> {
+            Entry before = baseline.get(name);
+            if (before == null) {
+                return; // 새로 추가된 엔드포인트는 기준선 갱신 전까지 비교하지 않는다
+            }
+            double p99Limit = before.getP99Ms() * profile.getP99Ratio() + profile.getP99SlackMs();
+            if (now.getP99Ms() > p99Limit) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.1fms > 허용 %.1fms (기준선 %.1fms)",
+                        name, now.getP99Ms(), p99Limit, before.getP99Ms()));
+            }
+            double errorLimit = before.getErrorRate() + profile.getErrorRateSlack();
+            if (now.getErrorRate() > errorLimit) {
+                regressions.add(String.format(Locale.ROOT, "%s 오류율 %.3f%% > 허용 %.3f%% (기준선 %.3f%%)",
+                        name, now.getErrorRate() * 100, errorLimit * 100, before.getErrorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,203 @@
+// src/loadTest/java/com/example/warning/loadtest/SpikeProfile.java
+package com.example.warning.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경보 급증 부하 프로파일 (alert-spike-profile.json).
+ *
+ *  - dataset     : 합성 대피소 개수, 또는 로컬 스냅샷 파일 경로 (ShelterSnapshotFile 형식)
+ *  - phases      : 구간별 지속 시간과 초당 요청 수 (nearest-shelters / search)
+ *  - regions     : 요청 위치 분포 (해안 도시 중심 + 가우시안 반경, 가중치)
+ *  - clients     : 요청을 나눠 보내는 가상 사용자 수 (X-Forwarded-For 로 구분, 클라이언트별 속도 제한은 운영 설정 그대로)
+ *  - budgets     : 엔드포인트별 목표치 (p99Ms, errorRate). 측정값이 아니라 정해둔 한도라서 기준선과 따로 둔다.
+ *  - regression  : 기록된 기준선 대비 허용 범위
+ */
+public class SpikeProfile {
+
+    private final long seed;
+    private final int syntheticShelters;
+    private final Path snapshot;
+    private final int maxInFlight;
+    private final long requestTimeoutMs;
+    private final int nearestLimit;
+    private final int clients;
+    private final List<Phase> phases;
+    private final List<String> measuredPhases;
+    private final List<Region> regions;
+    private final List<String> searchKeywords;
+    private final Map<String, String> appProperties;
+    private final Map<String, Budget> budgets;
+    private final double p99Ratio;
+    private final double p99SlackMs;
+    private final double errorRateSlack;
+
+    private SpikeProfile(JsonNode root) {
+        this.seed = root.path("seed").asLong(1);
+        JsonNode dataset = root.path("dataset");
+        this.syntheticShelters = dataset.path("syntheticShelters").asInt(10_000);
+        String snapshotPath = dataset.path("snapshot").asText("");
+        this.snapshot = snapshotPath.isBlank() || "null".equals(snapshotPath) ? null : Path.of(snapshotPath);
+        this.maxInFlight = root.path("maxInFlight").asInt(512);
+        this.requestTimeoutMs = root.path("requestTimeoutMs").asLong(10_000);
+        this.nearestLimit = root.path("nearestLimit").asInt(10);
+        this.clients = root.path("clients").asInt(20_000);
+        if (clients <= 0) {
+            throw new IllegalArgumentException("clients 는 1 이상이어야 합니다.");
+        }
+
+        List<Phase> phases = new ArrayList<>();
+        for (JsonNode phase : root.path("phases")) {
+            phases.add(new Phase(phase.path("name").asText(),
+                    phase.path("seconds").asInt(),
+                    phase.path("nearestRps").asDouble(),
+                    phase.path("searchRps").asDouble()));
+        }
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("프로파일에 phases 가 없습니다.");
+        }
+        this.phases = Collections.unmodifiableList(phases);
+
+        List<String> measured = new ArrayList<>();
+        for (JsonNode name : root.path("measuredPhases")) {
+            measured.add(name.asText());
+        }
+        if (measured.isEmpty()) {
+            phases.forEach(p -> measured.add(p.getName()));
+        }
+        this.measuredPhases = Collections.unmodifiableList(measured);
+
+        List<Region> regions = new ArrayList<>();
+        for (JsonNode region : root.path("regions")) {
+            regions.add(new Region(region.path("name").asText(),
+                    region.path("lat").asDouble(),
+                    region.path("lng").asDouble(),
+                    region.path("sigmaKm").asDouble(5),
+                    region.path("weight").asDouble(1)));
+        }
+        if (regions.isEmpty()) {
+            throw new IllegalArgumentException("프로파일에 regions 가 없습니다.");
+        }
+        this.regions = Collections.unmodifiableList(regions);
+
+        List<String> keywords = new ArrayList<>();
+        for (JsonNode keyword : root.path("searchKeywords")) {
+            keywords.add(keyword.asText());
+        }
+        this.searchKeywords = Collections.unmodifiableList(keywords);
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        JsonNode appProperties = root.path("appProperties");
+        appProperties.fieldNames().forEachRemaining(name -> properties.put(name, appProperties.get(name).asText()));
+        this.appProperties = Collections.unmodifiableMap(properties);
+
+        Map<String, Budget> budgets = new LinkedHashMap<>();
+        JsonNode budgetNodes = root.path("budgets");
+        budgetNodes.fieldNames().forEachRemaining(name -> {
+            JsonNode budget = budgetNodes.get(name);
+            budgets.put(name, new Budget(budget.path("p99Ms").asDouble(Double.NaN),
+                    budget.path("errorRate").asDouble(Double.NaN)));
+        });
+        this.budgets = Collections.unmodifiableMap(budgets);
+
+        JsonNode regression = root.path("regression");
+        this.p99Ratio = regression.path("p99Ratio").asDouble(1.3);
+        this.p99SlackMs = regression.path("p99SlackMs").asDouble(5);
+        this.errorRateSlack = regression.path("errorRateSlack").asDouble(0.001);
+    }
+
+    public static SpikeProfile read(Path path, ObjectMapper objectMapper) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return new SpikeProfile(objectMapper.readTree(in));
+        }
+    }
+
+    // =========================================================
+    // Getter
+    // =========================================================
+
+    public long getSeed() { return seed; }
+    public int getSyntheticShelters() { return syntheticShelters; }
+    public Path getSnapshot() { return snapshot; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public long getRequestTimeoutMs() { return requestTimeoutMs; }
+    public int getNearestLimit() { return nearestLimit; }
+    public int getClients() { return clients; }
+    public List<Phase> getPhases() { return phases; }
+    public List<String> getMeasuredPhases() { return measuredPhases; }
+    public List<Region> getRegions() { return regions; }
+    public List<String> getSearchKeywords() { return searchKeywords; }
+    public Map<String, String> getAppProperties() { return appProperties; }
+    public Map<String, Budget> getBudgets() { return budgets; }
+    public double getP99Ratio() { return p99Ratio; }
+    public double getP99SlackMs() { return p99SlackMs; }
+    public double getErrorRateSlack() { return errorRateSlack; }
+
+    public static final class Phase {
+        private final String name;
+        private final int seconds;
+        private final double nearestRps;
+        private final double searchRps;
+
+        private Phase(String name, int seconds, double nearestRps, double searchRps) {
+            this.name = name;
+            this.seconds = seconds;
+            this.nearestRps = nearestRps;
+            this.searchRps = searchRps;
+        }
+
+        public String getName() { return name; }
+        public int getSeconds() { return seconds; }
+        public double getNearestRps() { return nearestRps; }
+        public double getSearchRps() { return searchRps; }
+    }
+
+    /**
+     * 엔드포인트 하나의 목표치 (값이 없으면 NaN = 확인하지 않음)
+     */
+    public static final class Budget {
+        private final double p99Ms;
+        private final double errorRate;
+
+        private Budget(double p99Ms, double errorRate) {
+            this.p99Ms = p99Ms;
+            this.errorRate = errorRate;
+        }
+
+        public double getP99Ms() { return p99Ms; }
+        public double getErrorRate() { return errorRate; }
+    }
+
+    public static final class Region {
+        private final String name;
+        private final double lat;
+        private final double lng;
+        private final double sigmaKm;
+        private final double weight;
+
+        private Region(String name, double lat, double lng, double sigmaKm, double weight) {
+            this.name = name;
+            this.lat = lat;
+            this.lng = lng;
+            this.sigmaKm = sigmaKm;
+            this.weight = weight;
+        }
+
+        public String getName() { return name; }
+        public double getLat() { return lat; }
+        public double getLng() { return lng; }
+        public double getSigmaKm() { return sigmaKm; }
+        public double getWeight() { return weight; }
+    }
+}
@@ -3,8 +3,10 @@ package com.example.warning;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WarningApplication {
     public static void main(String[] args) {
         SpringApplication.run(WarningApplication.class, args);
@@ -0,0 +1,211 @@
+// src/main/java/com/example/warning/config/AdmissionControlFilter.java
+package com.example.warning.config;
+
+import com.example.warning.util.AdaptiveConcurrencyLimiter;
+import com.example.warning.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 우선순위 기반 입장 제어(admission control) + 과부하 시 부하 차단(load shedding) 필터.
+ *
+ * 경보 발령 직후에는 검색 자동완성(/api/search), 데이터 초기화(/admin/initialize)가
+ * 생명과 직결된 가까운 대피소 조회(/api/nearest-shelters)와 같은 톰캣 스레드/DB 커넥션을 두고 경쟁한다.
+ * 그래서 요청을 우선순위로 나누고 낮은 우선순위부터 버린다.
+ *
+ *  - CRITICAL : /api/nearest-shelters
+ *  - NORMAL   : 그 밖의 /api/** (export 등)
+ *  - LOW      : /api/search
+ *  - ALERT    : /admin/alerts (경보 발령. 운영자 요청이지만 부하가 몰릴 때일수록 나가야 하므로 차단하지 않는다)
+ *  - ADMIN    : 그 밖의 /admin/**
+ *
+ * 처리 순서:
+ *  1) 클라이언트(IP)별 토큰 버킷 → 초과 시 429
+ *  2) CRITICAL 사용률이 shed-threshold 이상이면 LOW / ADMIN 은 바로 503
+ *  3) 우선순위별 동시 처리 한도(지연시간 기반 자동 조절) → 초과 시 503
+ *
+ * ALERT 는 1), 2) 를 거치지 않고, ADMIN 과 따로 둔 고정 한도(app.admission.alert.max-concurrency)만 적용한다.
+ * (몇 분씩 걸리는 데이터 초기화가 한도 1 을 잡고 있어도 경보 발령은 막히지 않는다)
+ *
+ * CRITICAL 은 1), 3) 에서 거절하지 않고 "degraded" 표시를 붙여 통과시킨다.
+ * 컨트롤러는 이 표시가 있으면 DB 를 건드리지 않고 메모리 인덱스(격자/스냅샷)로만 응답한다.
+ * (통신사 NAT, 공용 Wi-Fi 처럼 많은 사용자가 IP 하나를 같이 쓰는 경우에도 대피소 조회는 막지 않는다)
+ *
+ * 클라이언트 IP 는 request.getRemoteAddr() 를 쓴다. 로드밸런서 뒤에서는 server.forward-headers-strategy=native 로
+ * 신뢰하는 프록시(server.tomcat.remoteip.internal-proxies)가 붙인 X-Forwarded-For 의 실제 클라이언트 주소가 들어온다.
+ * 버킷은 우선순위별로 최대 max-tracked-clients 개까지 두고, 넘치면 가장 오래 안 쓴 클라이언트부터 버린다.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    /** CRITICAL 요청이 한도를 넘어 메모리 인덱스만으로 응답해야 할 때 붙는 request attribute */
+    public static final String DEGRADED_ATTRIBUTE = "admissionControl.degraded";
+
+    public enum Priority { CRITICAL, NORMAL, LOW, ALERT, ADMIN }
+
+    private final boolean enabled;
+    private final double shedThreshold;
+    private final Map<Priority, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Priority.class);
+    private final Map<Priority, double[]> clientRates = new EnumMap<>(Priority.class);
+    private final Map<Priority, Map<String, TokenBucket>> buckets = new EnumMap<>(Priority.class);
+
+    public AdmissionControlFilter(
+            @Value("${app.admission.enabled:true}") boolean enabled,
+            @Value("${app.admission.shed-threshold:0.8}") double shedThreshold,
+            @Value("${app.admission.critical.max-concurrency:64}") int criticalMax,
+            @Value("${app.admission.critical.target-latency-ms:100}") long criticalTarget,
+            @Value("${app.admission.critical.client-rate:20}") double criticalRate,
+            @Value("${app.admission.critical.client-burst:50}") double criticalBurst,
+            @Value("${app.admission.normal.max-concurrency:32}") int normalMax,
+            @Value("${app.admission.normal.target-latency-ms:200}") long normalTarget,
+            @Value("${app.admission.normal.client-rate:5}") double normalRate,
+            @Value("${app.admission.normal.client-burst:10}") double normalBurst,
+            @Value("${app.admission.low.max-concurrency:16}") int lowMax,
+            @Value("${app.admission.low.target-latency-ms:100}") long lowTarget,
+            @Value("${app.admission.low.client-rate:10}") double lowRate,
+            @Value("${app.admission.low.client-burst:20}") double lowBurst,
+            @Value("${app.admission.admin.max-concurrency:1}") int adminMax,
+            @Value("${app.admission.alert.max-concurrency:4}") int alertMax,
+            @Value("${app.admission.max-tracked-clients:100000}") int maxTrackedClients
+    ) {
+        this.enabled = enabled;
+        this.shedThreshold = shedThreshold;
+
+        limiters.put(Priority.CRITICAL, new AdaptiveConcurrencyLimiter(Math.max(1, criticalMax / 4), criticalMax, criticalTarget, true));
+        limiters.put(Priority.NORMAL, new AdaptiveConcurrencyLimiter(Math.max(1, normalMax / 4), normalMax, normalTarget, true));
+        limiters.put(Priority.LOW, new AdaptiveConcurrencyLimiter(1, lowMax, lowTarget, true));
+        // 초기화는 몇 분씩 걸리는 작업이라 지연시간으로 조절하지 않고 고정 한도만 둔다
+        limiters.put(Priority.ADMIN, new AdaptiveConcurrencyLimiter(adminMax, adminMax, Long.MAX_VALUE / 1_000_000L, false));
+        limiters.put(Priority.ALERT, new AdaptiveConcurrencyLimiter(alertMax, alertMax, Long.MAX_VALUE / 1_000_000L, false));
+
+        clientRates.put(Priority.CRITICAL, new double[] {criticalRate, criticalBurst});
+        clientRates.put(Priority.NORMAL, new double[] {normalRate, normalBurst});
+        clientRates.put(Priority.LOW, new double[] {lowRate, lowBurst});
+        for (Priority priority : Priority.values()) {
+            buckets.put(priority, lruBuckets(maxTrackedClients));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Priority priority = classify(request.getRequestURI());
+
+        // 1) 클라이언트별 속도 제한 (CRITICAL 은 거절 대신 메모리 인덱스로)
+        if (!tryConsumeClientToken(priority, request.getRemoteAddr())) {
+            if (priority == Priority.CRITICAL) {
+                request.setAttribute(DEGRADED_ATTRIBUTE, Boolean.TRUE);
+                chain.doFilter(request, response);
+                return;
+            }
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, priority, "rate limited");
+            return;
+        }
+
+        // 2) 생명 안전 요청이 몰리는 중이면 낮은 우선순위부터 차단
+        AdaptiveConcurrencyLimiter critical = limiters.get(Priority.CRITICAL);
+        if ((priority == Priority.LOW || priority == Priority.ADMIN) && critical.utilization() >= shedThreshold) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, priority, "shed for critical traffic");
+            return;
+        }
+
+        // 3) 우선순위별 동시 처리 한도
+        AdaptiveConcurrencyLimiter limiter = limiters.get(priority);
+        if (!limiter.tryAcquire()) {
+            if (priority == Priority.CRITICAL) {
+                request.setAttribute(DEGRADED_ATTRIBUTE, Boolean.TRUE);
+                chain.doFilter(request, response);
+                return;
+            }
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, priority, "concurrency limit");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 요청 경로 → 우선순위 (제어 대상이 아니면 null)
+     */
+    static Priority classify(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        if (uri.equals("/api/nearest-shelters")) {
+            return Priority.CRITICAL;
+        }
+        if (uri.equals("/api/search")) {
+            return Priority.LOW;
+        }
+        if (uri.equals("/admin/alerts")) {
+            return Priority.ALERT;
+        }
+        if (uri.startsWith("/admin/")) {
+            return Priority.ADMIN;
+        }
+        if (uri.startsWith("/api/")) {
+            return Priority.NORMAL;
+        }
+        return null;
+    }
+
+    private boolean tryConsumeClientToken(Priority priority, String client) {
+        double[] rate = clientRates.get(priority);
+        if (rate == null) {
+            return true; // ALERT / ADMIN 은 동시 처리 한도만 적용
+        }
+        Map<String, TokenBucket> clientBuckets = buckets.get(priority);
+        TokenBucket bucket;
+        synchronized (clientBuckets) {
+            bucket = clientBuckets.computeIfAbsent(client, key -> new TokenBucket(rate[0], rate[1]));
+        }
+        return bucket.tryConsume();
+    }
+
+    // 접근 순서 LinkedHashMap: 한도를 넘으면 가장 오래 안 쓴 클라이언트의 버킷부터 버린다 (접근은 synchronized)
+    private static Map<String, TokenBucket> lruBuckets(int maxTrackedClients) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedClients;
+            }
+        };
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Priority priority, String reason)
+            throws IOException {
+        logger.debug("요청 거절: priority={}, status={}, reason={}", priority, status.value(), reason);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("요청이 많아 잠시 후 다시 시도해주세요.");
+    }
+
+}
@@ -1,16 +1,31 @@
 // src/main/java/com/example/warning/controller/ShelterController.java
 package com.example.warning.controller;
 
+import com.example.warning.config.AdmissionControlFilter;
+import com.example.warning.dto.AlertFanoutResult;
+import com.example.warning.dto.AlertSubscription;
+import com.example.warning.dto.ShelterViewport;
 import com.example.warning.model.TsunamiShelter;
+import com.example.warning.service.AlertFanoutService;
+import com.example.warning.service.ShelterCacheService;
+import com.example.warning.service.ShelterExportService;
 import com.example.warning.service.ShelterService;
+import com.example.warning.service.ViewportClusterService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,7 +41,21 @@ import java.util.Optional;
  *  - POST /api/nearest-shelters
  *  - GET  /api/search
  *
- * 그 외 엔드포인트(/shelters, /api/shelter/{id}, /api/shelters-in-radius)는
+ * 클라이언트가 전체 데이터를 받아 로컬에서 조회할 수 있도록 다음 엔드포인트도 제공한다.
+ *  - GET  /api/shelters/export
+ *
+ * 지도에 "전체 보기"를 할 때는 화면 범위/줌에 맞게 묶은 클러스터를 내려준다.
+ *  - GET  /api/shelters/viewport
+ *
+ * 반경 내 대피소 조회(POST /api/shelters-in-radius)도 다시 활성화했다. (침수 예상 구역 반영)
+ *
+ * 경보 알림 구독 / 발령 (AlertFanoutService):
+ *  - POST   /api/alerts/subscriptions  (위치 하나 또는 집/직장, subscriberId + 토큰 발급)
+ *  - PUT    /api/alerts/subscriptions  (X-Subscription-Token 헤더 필요)
+ *  - DELETE /api/alerts/subscriptions  (X-Subscription-Token 헤더 필요)
+ *  - POST   /admin/alerts              (GeoJSON 경보 구역)
+ *
+ * 그 외 엔드포인트(/shelters, /api/shelter/{id})는
  *  나중에 쓸 수 있도록 코드 안에 남겨두되, 현재는 주석 처리해서 비활성화한다.
  */
 @Controller
@@ -34,9 +63,27 @@ public class ShelterController {
 
     private static final Logger logger = LoggerFactory.getLogger(ShelterController.class);
 
+    // 사용자 위치가 침수 예상 구역 안인지 알려주는 응답 헤더
+    static final String INUNDATION_ZONE_HEADER = "X-Inundation-Zone";
+
+    // 구독 변경/해지 때 등록 시 받은 토큰을 보내는 요청 헤더
+    static final String SUBSCRIPTION_TOKEN_HEADER = "X-Subscription-Token";
+
     @Autowired
     private ShelterService shelterService;
 
+    @Autowired
+    private ShelterExportService shelterExportService;
+
+    @Autowired
+    private ViewportClusterService viewportClusterService;
+
+    @Autowired
+    private ShelterCacheService shelterCacheService;
+
+    @Autowired
+    private AlertFanoutService alertFanoutService;
+
     // =========================================
     // 1. 화면(View) 관련 엔드포인트
     // =========================================
@@ -105,6 +152,38 @@ public class ShelterController {
         }
     }
 
+    /**
+     * 2차 캐시 통계 (관리자용)
+     *
+     * - 엔티티/쿼리 결과 캐시의 hit/miss, 실제 DB 왕복 수(prepareStatementCount) 등을 JSON 으로 내려준다.
+     */
+    @GetMapping("/admin/cache-stats")
+    @ResponseBody
+    public Map<String, Object> cacheStats() {
+        return shelterCacheService.getStatistics();
+    }
+
+    /**
+     * 지진해일 경보 발령 (관리자용)
+     *
+     * - 요청 본문: 경보 구역 GeoJSON (FeatureCollection / Feature / Polygon / MultiPolygon)
+     * - 구역 안 구독자를 찾아 가까운 대피소를 붙인 알림을 발송 대기열에 넣고, 찾은 결과 요약을 반환한다.
+     *   (발송은 비동기지만, 대기열이 가득 차면 넘친 묶음은 이 요청 스레드가 직접 보낸 뒤 응답한다)
+     * - 폴리곤이 없거나 올바르지 않으면 400
+     */
+    @PostMapping("/admin/alerts")
+    @ResponseBody
+    public ResponseEntity<AlertFanoutResult> broadcastAlert(
+            @RequestBody JsonNode geoJson,
+            @RequestParam(value = "message", defaultValue = "지진해일 경보가 발령되었습니다. 가까운 대피소로 대피하세요.") String message) {
+        try {
+            return ResponseEntity.ok(alertFanoutService.broadcast(geoJson, message));
+        } catch (IllegalArgumentException e) {
+            logger.warn("경보 발령 요청 거부: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // =========================================
     // 3. 프론트에서 사용하는 AJAX API
     // =========================================
@@ -119,17 +198,139 @@ public class ShelterController {
      *    1) 요청으로 받은 위도/경도 기준으로
      *       ShelterService.findNearestShelters(...) 호출
      *    2) 서비스에서 거리 계산 및 정렬까지 끝낸 List<TsunamiShelter> 를 그대로 JSON으로 반환
+     *
+     * - mode=walking 이면 도로망 기준 도보 시간 순으로 정렬한다. (그래프가 없으면 직선거리 순)
+     * - 사용자 위치가 침수 예상 구역 안이면 X-Inundation-Zone: true 헤더를 붙인다. (프론트에서 긴급 안내)
+     * - 과부하 상황(AdmissionControlFilter 가 degraded 표시)에서는 DB 없이 메모리 인덱스로만 응답하고,
+     *   메모리에 데이터가 없으면 503 을 반환한다.
      */
     @PostMapping("/api/nearest-shelters")
     @ResponseBody
-    public List<TsunamiShelter> findNearestShelters(
+    public ResponseEntity<List<TsunamiShelter>> findNearestShelters(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "mode", defaultValue = "straight") String mode,
+            @RequestAttribute(value = AdmissionControlFilter.DEGRADED_ATTRIBUTE, required = false) Boolean degraded) {
+
+        logger.info("가장 가까운 대피소 요청: lat={}, lng={}, limit={}, mode={}", latitude, longitude, limit, mode);
+
+        if (Boolean.TRUE.equals(degraded)) {
+            List<TsunamiShelter> inMemory = shelterService.findNearestSheltersInMemory(latitude, longitude, limit);
+            if (inMemory == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build();
+            }
+            return withInundationHeader(latitude, longitude, inMemory);
+        }
+
+        if ("walking".equalsIgnoreCase(mode)) {
+            return withInundationHeader(latitude, longitude,
+                    shelterService.findNearestSheltersByWalkingTime(latitude, longitude, limit));
+        }
+        return withInundationHeader(latitude, longitude,
+                shelterService.findNearestShelters(latitude, longitude, limit));
+    }
+
+    /**
+     * 반경 내 대피소 찾기 (AJAX)
+     *
+     * - radius(반경 km) 파라미터를 받아 해당 거리 이내의 대피소만 필터링해서 반환한다.
+     * - "내 주변 3km 이내 대피소만 보기" 같은 기능에서 사용.
+     * - 침수 예상 구역 처리(결과 태그, 사용자 위치 헤더)는 가까운 대피소 찾기와 같다.
+     */
+    @PostMapping("/api/shelters-in-radius")
+    @ResponseBody
+    public ResponseEntity<List<TsunamiShelter>> findSheltersInRadius(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam("radius") double radius) {
+
+        logger.info("반경 내 대피소 요청: lat={}, lng={}, radius={}km", latitude, longitude, radius);
+
+        return withInundationHeader(latitude, longitude,
+                shelterService.findSheltersWithinRadius(latitude, longitude, radius));
+    }
+
+    /**
+     * 경보 알림 구독 (AJAX)
+     *
+     * - latitude/longitude: 알림을 받을 위치 (집), workLatitude/workLongitude: 직장 (선택)
+     * - channel: 알림을 받을 곳 (푸시 토큰 등, NotificationSink 가 해석)
+     * - 201 + { subscriberId, token }. 토큰은 이때만 내려주므로 클라이언트가 보관해야 한다.
+     * - 값이 올바르지 않으면 400, 구독자 수 한도를 넘거나 저장하지 못하면 503
+     */
+    @PostMapping("/api/alerts/subscriptions")
+    @ResponseBody
+    public ResponseEntity<?> subscribeAlerts(
+            @RequestParam(value = "channel", required = false) String channel,
             @RequestParam("latitude") double latitude,
             @RequestParam("longitude") double longitude,
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+            @RequestParam(value = "workLatitude", required = false) Double workLatitude,
+            @RequestParam(value = "workLongitude", required = false) Double workLongitude) {
+        try {
+            AlertSubscription subscription =
+                    alertFanoutService.subscribe(channel, latitude, longitude, workLatitude, workLongitude);
+            return ResponseEntity.status(HttpStatus.CREATED).body(subscription);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
 
-        logger.info("가장 가까운 대피소 요청: lat={}, lng={}, limit={}", latitude, longitude, limit);
+    /**
+     * 경보 알림 구독 변경 (AJAX) - 위치/채널을 덮어쓴다
+     *
+     * - 등록 때 받은 토큰을 X-Subscription-Token 헤더로 보내야 한다.
+     * - 구독이 없거나 토큰이 틀리면 404 (어느 쪽인지 알려주지 않는다)
+     */
+    @PutMapping("/api/alerts/subscriptions")
+    @ResponseBody
+    public ResponseEntity<String> updateAlertSubscription(
+            @RequestParam("subscriberId") String subscriberId,
+            @RequestHeader(value = SUBSCRIPTION_TOKEN_HEADER, required = false) String token,
+            @RequestParam(value = "channel", required = false) String channel,
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "workLatitude", required = false) Double workLatitude,
+            @RequestParam(value = "workLongitude", required = false) Double workLongitude) {
+        try {
+            return alertFanoutService.updateSubscription(subscriberId, token, channel,
+                    latitude, longitude, workLatitude, workLongitude)
+                    ? ResponseEntity.ok("구독 변경 완료")
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
 
-        return shelterService.findNearestShelters(latitude, longitude, limit);
+    /**
+     * 경보 알림 구독 해지 (AJAX) - X-Subscription-Token 필요, 구독이 없거나 토큰이 틀리면 404
+     */
+    @DeleteMapping("/api/alerts/subscriptions")
+    @ResponseBody
+    public ResponseEntity<Void> unsubscribeAlerts(
+            @RequestParam("subscriberId") String subscriberId,
+            @RequestHeader(value = SUBSCRIPTION_TOKEN_HEADER, required = false) String token) {
+        try {
+            return alertFanoutService.unsubscribe(subscriberId, token)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // 사용자 위치가 침수 예상 구역 안인지 응답 헤더로 알려준다
+    private ResponseEntity<List<TsunamiShelter>> withInundationHeader(double latitude, double longitude,
+                                                                      List<TsunamiShelter> shelters) {
+        return ResponseEntity.ok()
+                .header(INUNDATION_ZONE_HEADER, Boolean.toString(shelterService.isInInundationZone(latitude, longitude)))
+                .body(shelters);
     }
 
     /**
@@ -155,30 +356,94 @@ public class ShelterController {
         return shelterService.search(type, keyword);
     }
 
-    // =========================================
-    // 4. 지금은 안 쓰지만, 나중에 쓸 수 있는 API들 (주석으로 보존)
-    // =========================================
+    /**
+     * 전체 대피소 데이터 내보내기
+     *
+     * - 클라이언트가 전체 데이터를 한 번 받아두고 로컬에서 거리 계산/검색을 할 수 있게 한다.
+     * - 데이터 세대마다 미리 만들어 둔 JSON(및 gzip) 바이트를 그대로 내려준다.
+     * - ETag = 데이터 세대. If-None-Match 가 같으면 본문 없이 304 Not Modified.
+     * - Accept-Encoding 에서 gzip 의 q 값이 0 보다 클 때만 gzip 본문. (공유 캐시용 Vary: Accept-Encoding)
+     * - 아직 데이터가 없으면 503.
+     */
+    @GetMapping("/api/shelters/export")
+    @ResponseBody
+    public ResponseEntity<byte[]> exportShelters(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-    /*
-     * [현재 미사용] 반경 내 대피소 찾기 (AJAX)
+        ShelterExportService.Export export = shelterExportService.getExport();
+        if (export == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(export.getEtag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (export.matches(ifNoneMatch)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = export.getJson();
+        if (ShelterExportService.acceptsGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = export.getGzip();
+        }
+        headers.setContentLength(body.length);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * 지도 화면 범위 안의 대피소 (줌 레벨별 클러스터)
      *
-     * - radius(반경 km) 파라미터를 받아 해당 거리 이내의 대피소만 필터링해서 반환하는 용도.
-     * - 현재 프론트에서는 사용하지 않지만,
-     *   "내 주변 3km 이내 대피소만 보기" 같은 기능이 필요해지면 살려서 사용하면 된다.
+     * - bbox = 경도최소,위도최소,경도최대,위도최대 (화면 남서쪽 ~ 북동쪽, 날짜변경선을 넘으면 경도최소 > 경도최대)
+     * - zoom = 웹 지도 줌 레벨 (0 = 전 세계, 클수록 확대)
+     * - 낮은 줌에서는 클러스터(개수, 수용인원 합, 풀리는 줌)를, 높은 줌에서는 개별 대피소를 반환한다.
+     * - 항목 수는 app.viewport.max-items 이하로 제한된다.
+     * - bbox 형식이 잘못되면 400, 아직 데이터가 없으면 503.
      */
-    /*
-    @PostMapping("/api/shelters-in-radius")
+    @GetMapping("/api/shelters/viewport")
     @ResponseBody
-    public List<TsunamiShelter> findSheltersInRadius(
-            @RequestParam("latitude") double latitude,
-            @RequestParam("longitude") double longitude,
-            @RequestParam("radius") double radius) {
+    public ResponseEntity<ShelterViewport> findSheltersInViewport(
+            @RequestParam("bbox") String bbox,
+            @RequestParam("zoom") int zoom) {
 
-        logger.info("반경 내 대피소 요청: lat={}, lng={}, radius={}km", latitude, longitude, radius);
+        double[] bounds = parseBbox(bbox);
+        if (bounds == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ShelterViewport viewport = viewportClusterService.findInViewport(bounds[1], bounds[0], bounds[3], bounds[2], zoom);
+        if (viewport == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(viewport);
+    }
 
-        return shelterService.findSheltersWithinRadius(latitude, longitude, radius);
+    // "minLng,minLat,maxLng,maxLat" → double[4] (형식이 잘못되면 null)
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            return null;
+        }
+        double[] bounds = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                bounds[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // 경도는 지도를 옆으로 돌린 값(±180 밖)이나 날짜변경선을 넘는 범위(최소 > 최대)도 받는다 → ViewportClusterIndex 가 감아서 처리
+        boolean valid = Double.isFinite(bounds[0]) && Double.isFinite(bounds[2])
+                && bounds[1] <= bounds[3] && bounds[1] >= -90 && bounds[3] <= 90;
+        return valid ? bounds : null;
     }
-    */
+
+    // =========================================
+    // 4. 지금은 안 쓰지만, 나중에 쓸 수 있는 API들 (주석으로 보존)
+    // =========================================
 
     /*
      * [현재 미사용] 대피소 단건 상세 정보 (AJAX)
@@ -0,0 +1,50 @@
+package com.example.warning.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * POST /admin/alerts 응답 (경보 구역 안 구독자 찾기 + 알림 발송 대기열 등록 결과)
+ *
+ * - 알림 발송은 비동기로 진행되므로, 여기 숫자는 "대기열에 넣은" 기준이다.
+ *   (대기열이 넘쳐 요청 스레드가 직접 보낸 묶음도 있을 수 있지만, 성공/실패는 여기 담지 않고 로그로만 남는다)
+ */
+@Data
+public class AlertFanoutResult {
+
+    @JsonProperty("alertId")
+    private String alertId;
+
+    @JsonProperty("polygonCount") // 경보 구역 폴리곤 수
+    private int polygonCount;
+
+    @JsonProperty("subscriberCount") // 전체 구독자 수
+    private int subscriberCount;
+
+    @JsonProperty("matchedSubscribers") // 경보 구역 안 구독자 수 (= 알림 수)
+    private int matchedSubscribers;
+
+    @JsonProperty("matchedLocations") // 경보 구역 안 위치 수 (집/직장 따로)
+    private int matchedLocations;
+
+    @JsonProperty("fullCells") // 통째로 구역 안이라 점 판정 없이 포함한 격자 셀 수
+    private int fullCells;
+
+    @JsonProperty("boundaryCells") // 구역 경계에 걸쳐 점 판정한 격자 셀 수
+    private int boundaryCells;
+
+    @JsonProperty("pointTests") // point-in-polygon 판정 횟수
+    private long pointTests;
+
+    @JsonProperty("shelterGeneration") // 가까운 대피소를 붙일 때 쓴 데이터 세대 (데이터가 없으면 null)
+    private Long shelterGeneration;
+
+    @JsonProperty("batches") // 발송 대기열에 넣은 묶음 수
+    private int batches;
+
+    @JsonProperty("resolveMillis") // 구독자 찾기 (격자 + 점 판정)
+    private long resolveMillis;
+
+    @JsonProperty("joinMillis") // 가까운 대피소 붙이기
+    private long joinMillis;
+}
@@ -0,0 +1,74 @@
+package com.example.warning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 경보 알림 한 건 (구독자 한 명 = 한 건)
+ *
+ * - 집/직장이 모두 경보 구역 안이면 위치 두 개를 한 알림에 담는다.
+ * - 위치마다 가까운 대피소 몇 곳(직선거리 순)을 붙인다. 대피소 데이터가 아직 없으면 빈 목록.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlertNotification {
+
+    @JsonProperty("alertId")
+    private String alertId;
+
+    @JsonProperty("subscriberId")
+    private String subscriberId;
+
+    @JsonProperty("channel") // 알림을 받을 곳 (푸시 토큰 등, 구독할 때 받은 값 그대로)
+    private String channel;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("issuedAt") // 경보 발령 시각 (ISO-8601)
+    private String issuedAt;
+
+    @JsonProperty("locations")
+    private List<Location> locations;
+
+    @Data
+    public static class Location {
+
+        @JsonProperty("kind") // "home" 또는 "work"
+        private String kind;
+
+        @JsonProperty("latitude")
+        private double latitude;
+
+        @JsonProperty("longitude")
+        private double longitude;
+
+        @JsonProperty("shelters")
+        private List<Shelter> shelters;
+    }
+
+    @Data
+    public static class Shelter {
+
+        @JsonProperty("id")
+        private Long id;
+
+        @JsonProperty("shelterName")
+        private String shelterName;
+
+        @JsonProperty("address")
+        private String address;
+
+        @JsonProperty("latitude")
+        private Double latitude;
+
+        @JsonProperty("longitude")
+        private Double longitude;
+
+        @JsonProperty("distanceKm")
+        private double distanceKm;
+    }
+}
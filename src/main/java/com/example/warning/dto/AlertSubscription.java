@@ -0,0 +1,20 @@
+package com.example.warning.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * POST /api/alerts/subscriptions 응답 (새 구독)
+ *
+ * - subscriberId 는 서버가 만든다.
+ * - token 은 이때 한 번만 내려준다. 구독 변경/해지 때 X-Subscription-Token 헤더로 보내야 한다. (서버는 해시만 저장)
+ */
+@Data
+public class AlertSubscription {
+
+    @JsonProperty("subscriberId")
+    private String subscriberId;
+
+    @JsonProperty("token")
+    private String token;
+}
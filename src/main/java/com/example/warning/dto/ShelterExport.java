@@ -0,0 +1,47 @@
+package com.example.warning.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * /api/shelters/export 로 내려주는 전체 데이터 스냅샷 (클라이언트 로컬 조회용)
+ *
+ * - 필드 이름은 TsunamiShelter JSON 과 같게 맞춰서, 프론트에서 그대로 목록/지도 표시에 쓸 수 있게 했다.
+ * - 관리기관/연락처 등 상세 필드는 빼고 조회에 필요한 값만 담는다.
+ */
+@Data
+public class ShelterExport {
+
+    @JsonProperty("generation") // 데이터 세대 (ETag 와 같은 값)
+    private long generation;
+
+    @JsonProperty("count")
+    private int count;
+
+    @JsonProperty("shelters")
+    private List<Item> shelters;
+
+    @Data
+    public static class Item {
+
+        @JsonProperty("id")
+        private Long id;
+
+        @JsonProperty("shelterName")
+        private String shelterName;
+
+        @JsonProperty("address")
+        private String address;
+
+        @JsonProperty("latitude")
+        private Double latitude;
+
+        @JsonProperty("longitude")
+        private Double longitude;
+
+        @JsonProperty("accommodationCapacity")
+        private Integer accommodationCapacity;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.warning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * /api/shelters/viewport 응답 (지도 화면 범위 안의 클러스터 / 개별 대피소)
+ *
+ * - 낮은 줌에서는 클러스터(개수, 수용인원 합)를, 높은 줌에서는 개별 대피소를 내려준다.
+ * - 개별 대피소 필드 이름은 TsunamiShelter JSON 과 같게 맞춰서 프론트에서 그대로 쓸 수 있게 했다.
+ */
+@Data
+public class ShelterViewport {
+
+    @JsonProperty("generation") // 데이터 세대
+    private long generation;
+
+    @JsonProperty("zoom") // 실제로 사용한 줌 (항목이 너무 많으면 요청보다 낮아질 수 있음)
+    private int zoom;
+
+    @JsonProperty("truncated") // 가장 낮은 줌에서도 최대 개수를 넘어서 잘렸는지
+    private boolean truncated;
+
+    @JsonProperty("items")
+    private List<Item> items;
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+
+        @JsonProperty("type") // "cluster" 또는 "shelter"
+        private String type;
+
+        @JsonProperty("latitude")
+        private double latitude;
+
+        @JsonProperty("longitude")
+        private double longitude;
+
+        @JsonProperty("count") // 묶인 대피소 수 (개별 대피소는 1)
+        private int count;
+
+        @JsonProperty("capacity") // 묶인 대피소 수용인원 합
+        private long capacity;
+
+        @JsonProperty("expansionZoom") // 이 줌부터 클러스터가 풀린다 (클러스터만)
+        private Integer expansionZoom;
+
+        @JsonProperty("id")
+        private Long id;
+
+        @JsonProperty("shelterName")
+        private String shelterName;
+
+        @JsonProperty("address")
+        private String address;
+
+        @JsonProperty("accommodationCapacity")
+        private Integer accommodationCapacity;
+    }
+}
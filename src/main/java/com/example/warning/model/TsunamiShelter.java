@@ -2,10 +2,19 @@
 package com.example.warning.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// 대피소 데이터는 다시 불러오기(/admin/initialize) 전까지 바뀌지 않으므로 읽기 전용 2차 캐시에 둔다
 @Entity
 @Table(name = "tsunami_shelter")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = TsunamiShelter.CACHE_REGION)
 public class TsunamiShelter {
+
+    // 2차 캐시 영역 이름 (영역별 크기는 resources/application.conf)
+    public static final String CACHE_REGION = "tsunami_shelter";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -42,9 +51,37 @@ public class TsunamiShelter {
     @Transient
     private Double distanceFromUser;
 
+    // 도보 소요 시간 (분, 도로망 기준 / walking 모드에서만 채워짐, 데이터베이스에 저장되지 않음)
+    @Transient
+    private Double walkingMinutes;
+
+    // 침수 예상 구역 안에 있는지 (침수 구역 데이터가 있을 때만 채워짐, 데이터베이스에 저장되지 않음)
+    @Transient
+    private Boolean inInundationZone;
+
     // 기본 생성자
     public TsunamiShelter() {}
 
+    /**
+     * 응답용 복사본 생성.
+     * - 메모리 인덱스(ShelterDataset)가 들고 있는 원본 객체는 여러 요청이 공유하므로,
+     *   distanceFromUser 처럼 요청마다 달라지는 값은 복사본에만 채운다.
+     */
+    public TsunamiShelter copy() {
+        TsunamiShelter copy = new TsunamiShelter();
+        copy.id = id;
+        copy.shelterName = shelterName;
+        copy.address = address;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.facilityArea = facilityArea;
+        copy.accommodationCapacity = accommodationCapacity;
+        copy.managementAgency = managementAgency;
+        copy.contactNumber = contactNumber;
+        copy.designationDate = designationDate;
+        return copy;
+    }
+
     // Getter, Setter 메서드들
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -80,4 +117,10 @@ public class TsunamiShelter {
 
     public Double getDistanceFromUser() { return distanceFromUser; }
     public void setDistanceFromUser(Double distanceFromUser) { this.distanceFromUser = distanceFromUser; }
+
+    public Double getWalkingMinutes() { return walkingMinutes; }
+    public void setWalkingMinutes(Double walkingMinutes) { this.walkingMinutes = walkingMinutes; }
+
+    public Boolean getInInundationZone() { return inInundationZone; }
+    public void setInInundationZone(Boolean inInundationZone) { this.inInundationZone = inInundationZone; }
 }
\ No newline at end of file
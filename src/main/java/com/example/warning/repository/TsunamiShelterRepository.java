@@ -2,8 +2,11 @@
 package com.example.warning.repository;
 
 import com.example.warning.model.TsunamiShelter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,9 @@ import java.util.List;
 @Repository
 public interface TsunamiShelterRepository extends JpaRepository<TsunamiShelter, Long> {
 
+    // 쿼리 결과 캐시 영역 이름 (테이블이 바뀌면 Hibernate 가 자동 무효화, 데이터 세대가 바뀌면 ShelterCacheService 가 비움)
+    String QUERY_CACHE_REGION = "tsunami_shelter_query";
+
     // 위도, 경도 범위로 대피소 검색 (성능 최적화를 위한 사전 필터링)
     @Query("SELECT s FROM TsunamiShelter s WHERE " +
             "s.latitude BETWEEN :minLat AND :maxLat AND " +
@@ -23,9 +29,25 @@ public interface TsunamiShelterRepository extends JpaRepository<TsunamiShelter,
             @Param("maxLng") Double maxLng
     );
 
-    // 지역명으로 검색
+    // 전체 개수 (메인 페이지용, 쿼리 결과 캐시)
+    @Query("SELECT COUNT(s) FROM TsunamiShelter s")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    long countCached();
+
+    // 지역명으로 검색 (쿼리 결과 캐시: id 목록만 저장하고 엔티티는 2차 캐시에서 꺼낸다)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<TsunamiShelter> findByAddressContaining(String address);
 
-    // 대피소명으로 검색
+    // 대피소명으로 검색 (쿼리 결과 캐시)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<TsunamiShelter> findByShelterNameContaining(String shelterName);
 }
\ No newline at end of file
@@ -0,0 +1,527 @@
+// src/main/java/com/example/warning/service/AlertFanoutService.java
+package com.example.warning.service;
+
+import com.example.warning.dto.AlertFanoutResult;
+import com.example.warning.dto.AlertNotification;
+import com.example.warning.dto.AlertSubscription;
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.DistanceCalculator;
+import com.example.warning.util.GeoJsonPolygons;
+import com.example.warning.util.SpatialGridIndex;
+import com.example.warning.util.SubscriberLocationStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 지진해일 경보 알림 발송 (구역 안 구독자 찾기 → 가까운 대피소 붙이기 → 묶음 발송).
+ *
+ * 구독:
+ *  - 구독자는 위치 하나(집) 또는 집/직장 두 곳을 등록한다. SubscriberLocationStore 에 열 지향 배열 + 격자로 저장.
+ *  - subscriberId 와 비밀 토큰은 서버가 만들어 등록 때 한 번만 돌려준다. 변경/해지는 토큰이 맞을 때만 된다.
+ *    (저장소에는 토큰의 SHA-256 앞 8바이트만 둔다)
+ *  - 구독/해지는 app.alerts.journal-path 파일(AlertSubscriptionJournal)에 먼저 남기고 저장소에 반영한다.
+ *    시작할 때 이 파일로 구독을 다시 채운다. (비워두면 메모리에만 둔다)
+ *
+ * 경보 발령(broadcast):
+ *  1) GeoJSON 경보 구역 폴리곤을 합쳐서(union) 하나의 면으로 만든다
+ *  2) 격자로 구역 안 구독자 위치를 찾는다 (구역 안 셀은 통째로, 경계 셀만 점 판정)
+ *  3) 가까운 대피소를 구독자 격자 셀 단위로 한꺼번에 붙인다
+ *     - 셀 중심에서 k 번째 대피소 거리 + 셀 반대각선 x 2 이내 대피소만 후보로 뽑으면
+ *       셀 안 어느 점이든 가까운 k 곳이 후보 안에 있다 (삼각 부등식). 셀마다 후보를 한 번만 구한다.
+ *     - 최근접 사전 계산 격자(k=20 후보)를 점마다 푸는 것보다 후보가 적어서 더 빠르다.
+ *  4) 알림을 app.alerts.batch-size 개씩 묶어 발송 스레드 풀에 넣고, NotificationSink 로 내보낸다
+ *     - 대기열이 가득 차면 호출한 스레드가 직접 발송한다 (CallerRunsPolicy, 메모리에 알림이 무한정 쌓이지 않도록)
+ *
+ * 구독자 찾기 / 대피소 붙이기는 요청 스레드에서 끝낸다.
+ * 발송은 묶음이 dispatch-threads + queue-capacity 개(기본 4 + 256 = 260 묶음, 26만 건)까지만 비동기이고,
+ * 그보다 많으면 넘친 묶음을 요청 스레드가 직접 보내므로 broadcast() 가 그만큼 늦게 끝난다.
+ * (다른 경보가 발송 중이면 남은 자리가 줄어서 더 일찍 요청 스레드가 보내기 시작한다)
+ */
+@Service
+public class AlertFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertFanoutService.class);
+
+    // 가까운 대피소 붙이기 병렬 작업 하나가 맡는 항목 수
+    private static final int JOIN_CHUNK = 2048;
+    private static final int MAX_CHANNEL_LENGTH = 512;
+    private static final int TOKEN_BYTES = 32;
+    // 저장 파일 정리 기준: 레코드 수가 max(이 값, 구독자 수 x 2) 를 넘으면 다시 쓴다
+    private static final long MIN_COMPACT_RECORDS = 10_000;
+
+    private final ShelterCatalog shelterCatalog;
+    private final NotificationSink sink;
+    private final SubscriberLocationStore store;
+    private final int maxSubscribers;
+    private final int sheltersPerLocation;
+    private final int batchSize;
+    private final ThreadPoolExecutor dispatcher;
+    private final Path journalPath;
+    private final SecureRandom random = new SecureRandom();
+    private AlertSubscriptionJournal journal; // 구독 변경 메서드(synchronized) 안에서만 쓴다
+
+    public AlertFanoutService(
+            ShelterCatalog shelterCatalog,
+            List<NotificationSink> sinks,
+            @Value("${app.alerts.sink:log}") String sinkName,
+            @Value("${app.alerts.grid.min-lat:33.0}") double minLat,
+            @Value("${app.alerts.grid.max-lat:38.7}") double maxLat,
+            @Value("${app.alerts.grid.min-lng:124.5}") double minLng,
+            @Value("${app.alerts.grid.max-lng:132.0}") double maxLng,
+            @Value("${app.alerts.grid.cell-deg:0.01}") double cellDeg,
+            @Value("${app.alerts.max-subscribers:2000000}") int maxSubscribers,
+            @Value("${app.alerts.shelters-per-location:3}") int sheltersPerLocation,
+            @Value("${app.alerts.batch-size:1000}") int batchSize,
+            @Value("${app.alerts.dispatch-threads:4}") int dispatchThreads,
+            @Value("${app.alerts.queue-capacity:256}") int queueCapacity,
+            @Value("${app.alerts.journal-path:}") String journalPath
+    ) {
+        this.shelterCatalog = shelterCatalog;
+        this.sink = sinks.stream()
+                .filter(candidate -> candidate.getName().equalsIgnoreCase(sinkName.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("알 수 없는 알림 sink: " + sinkName));
+        this.store = new SubscriberLocationStore(minLat, maxLat, minLng, maxLng, cellDeg);
+        this.maxSubscribers = maxSubscribers;
+        this.sheltersPerLocation = sheltersPerLocation;
+        this.batchSize = batchSize;
+        this.journalPath = journalPath.isBlank() ? null : Paths.get(journalPath);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "alert-dispatch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // =========================================================
+    // 1. 구독
+    // =========================================================
+
+    /**
+     * 저장 파일의 구독을 다시 불러오고, 살아 있는 구독만 남겨 파일을 정리한다.
+     * 파일이 깨졌으면 구독을 잃은 채로 뜨지 않도록 시작을 멈춘다.
+     */
+    @PostConstruct
+    public synchronized void loadSubscriptions() {
+        if (journalPath == null) {
+            logger.warn("app.alerts.journal-path 가 비어 있어 구독을 메모리에만 둡니다. (재시작하면 사라짐)");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            journal = AlertSubscriptionJournal.open(journalPath, store);
+            long records = journal.getRecordCount();
+            journal.rewrite(store);
+            logger.info("경보 구독 불러오기 완료: 구독자={}명, 레코드 {} -> {}, {}ms",
+                    store.size(), records, journal.getRecordCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new IllegalStateException("구독 저장 파일을 읽지 못했습니다: " + journalPath, e);
+        }
+    }
+
+    /**
+     * 새 구독 등록. subscriberId 와 토큰은 서버가 만든다.
+     *
+     * @param workLat 직장 위도 (없으면 null, workLng 와 같이 줘야 함)
+     * @return subscriberId + 토큰 (토큰은 이때만 알려준다)
+     * @throws IllegalArgumentException 값이 올바르지 않을 때
+     * @throws IllegalStateException    구독자 수 한도(app.alerts.max-subscribers)를 넘거나, 저장 파일에 쓰지 못했을 때
+     */
+    public synchronized AlertSubscription subscribe(String channel, double lat, double lng, Double workLat, Double workLng) {
+        checkSubscription(channel, lat, lng, workLat, workLng);
+        if (store.size() >= maxSubscribers) {
+            throw new IllegalStateException("구독자 수 한도를 넘었습니다: " + maxSubscribers);
+        }
+        byte[] secret = new byte[TOKEN_BYTES];
+        random.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        String subscriberId = UUID.randomUUID().toString();
+        save(subscriberId, channel, tokenHash(token), lat, lng, workLat, workLng);
+
+        AlertSubscription subscription = new AlertSubscription();
+        subscription.setSubscriberId(subscriberId);
+        subscription.setToken(token);
+        return subscription;
+    }
+
+    /**
+     * 구독 위치/채널 변경 (덮어쓴다)
+     *
+     * @return 구독이 있고 토큰이 맞아서 바꿨으면 true (없는 구독과 토큰이 틀린 경우를 구분하지 않는다)
+     * @throws IllegalArgumentException 값이 올바르지 않을 때
+     * @throws IllegalStateException    저장 파일에 쓰지 못했을 때
+     */
+    public synchronized boolean updateSubscription(String subscriberId, String token, String channel,
+                                                   double lat, double lng, Double workLat, Double workLng) {
+        checkSubscription(channel, lat, lng, workLat, workLng);
+        if (!isOwner(subscriberId, token)) {
+            return false;
+        }
+        save(subscriberId, channel, tokenHash(token), lat, lng, workLat, workLng);
+        return true;
+    }
+
+    /**
+     * 구독 해지
+     *
+     * @return 구독이 있고 토큰이 맞아서 해지했으면 true
+     * @throws IllegalStateException 저장 파일에 쓰지 못했을 때
+     */
+    public synchronized boolean unsubscribe(String subscriberId, String token) {
+        if (!isOwner(subscriberId, token)) {
+            return false;
+        }
+        if (journal != null) {
+            try {
+                journal.remove(subscriberId);
+            } catch (IOException e) {
+                throw new IllegalStateException("구독 해지를 저장하지 못했습니다.", e);
+            }
+        }
+        store.remove(subscriberId);
+        compactJournalIfNeeded();
+        return true;
+    }
+
+    public int getSubscriberCount() {
+        return store.size();
+    }
+
+    private static void checkSubscription(String channel, double lat, double lng, Double workLat, Double workLng) {
+        if (channel != null && channel.length() > MAX_CHANNEL_LENGTH) {
+            throw new IllegalArgumentException("channel 은 " + MAX_CHANNEL_LENGTH + "자 이하여야 합니다.");
+        }
+        if ((workLat == null) != (workLng == null)) {
+            throw new IllegalArgumentException("직장 위치는 위도/경도를 함께 줘야 합니다.");
+        }
+        checkCoordinate(lat, lng);
+        if (workLat != null) {
+            checkCoordinate(workLat, workLng);
+        }
+    }
+
+    private static void checkCoordinate(double lat, double lng) {
+        if (!(lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("좌표 범위가 올바르지 않습니다: " + lat + ", " + lng);
+        }
+    }
+
+    private boolean isOwner(String subscriberId, String token) {
+        return subscriberId != null && token != null && store.hasToken(subscriberId, tokenHash(token));
+    }
+
+    // 저장 파일에 먼저 남기고 저장소에 반영한다 (파일에 못 쓰면 저장소도 그대로)
+    private void save(String subscriberId, String channel, long tokenHash,
+                      double lat, double lng, Double workLat, Double workLng) {
+        double wLat = workLat != null ? workLat : Double.NaN;
+        double wLng = workLng != null ? workLng : Double.NaN;
+        if (journal != null) {
+            try {
+                journal.put(subscriberId, channel, tokenHash, lat, lng, wLat, wLng);
+            } catch (IOException e) {
+                throw new IllegalStateException("구독 정보를 저장하지 못했습니다.", e);
+            }
+        }
+        store.put(subscriberId, channel, tokenHash, lat, lng, wLat, wLng);
+        compactJournalIfNeeded();
+    }
+
+    // 덮어쓰기/해지 레코드가 쌓이면 살아 있는 구독만 남겨 다시 쓴다 (구독자 수의 2배 기준이라 비용은 나눠 보면 건당 상수)
+    private void compactJournalIfNeeded() {
+        if (journal == null || journal.getRecordCount() <= Math.max(MIN_COMPACT_RECORDS, 2L * store.size())) {
+            return;
+        }
+        try {
+            journal.rewrite(store);
+        } catch (IOException e) {
+            logger.warn("구독 저장 파일 정리 실패, 기존 파일에 계속 이어 씁니다: {}", journalPath, e);
+        }
+    }
+
+    private static long tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // =========================================================
+    // 2. 경보 발령
+    // =========================================================
+
+    /**
+     * 경보 구역(GeoJSON) 안 구독자를 찾아 가까운 대피소를 붙인 알림을 발송 대기열에 넣는다.
+     * 대기열이 가득 차면 넘친 묶음은 이 메서드를 부른 스레드에서 발송까지 하고 돌아온다.
+     *
+     * @throws IllegalArgumentException 경보 구역 폴리곤이 없거나 올바르지 않을 때
+     */
+    public AlertFanoutResult broadcast(JsonNode geoJson, String message) {
+        GeometryFactory factory = new GeometryFactory();
+        List<Polygon> polygons = GeoJsonPolygons.read(geoJson, factory);
+        if (polygons.isEmpty()) {
+            throw new IllegalArgumentException("경보 구역 폴리곤이 없습니다.");
+        }
+        Geometry area;
+        try {
+            area = factory.buildGeometry(polygons).union(); // 겹치는 폴리곤을 합쳐서 점 판정이 어긋나지 않게
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("경보 구역 폴리곤이 올바르지 않습니다: " + e.getMessage(), e);
+        }
+
+        String alertId = UUID.randomUUID().toString();
+        String issuedAt = Instant.now().toString();
+
+        long start = System.nanoTime();
+        SubscriberLocationStore.Match match = store.match(area);
+        long resolved = System.nanoTime();
+
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        int[] nearest = dataset != null ? joinNearestShelters(match, dataset.getSpatialIndex()) : null;
+        long joined = System.nanoTime();
+
+        int batches = dispatch(alertId, issuedAt, message, match, dataset, nearest);
+
+        AlertFanoutResult result = new AlertFanoutResult();
+        result.setAlertId(alertId);
+        result.setPolygonCount(polygons.size());
+        result.setSubscriberCount(store.size());
+        result.setMatchedSubscribers(match.getSubscriberCount());
+        result.setMatchedLocations(match.size());
+        result.setFullCells(match.getFullCells());
+        result.setBoundaryCells(match.getBoundaryCells());
+        result.setPointTests(match.getPointTests());
+        result.setShelterGeneration(dataset != null ? dataset.getGeneration() : null);
+        result.setBatches(batches);
+        result.setResolveMillis((resolved - start) / 1_000_000);
+        result.setJoinMillis((joined - resolved) / 1_000_000);
+
+        logger.info("경보 발령: alertId={}, 폴리곤={}, 구독자 {}/{}명, 위치={}, 셀(전체/경계)={}/{}, 점 판정={}, 찾기={}ms, 대피소={}ms, 묶음={}",
+                alertId, polygons.size(), result.getMatchedSubscribers(), result.getSubscriberCount(), match.size(),
+                match.getFullCells(), match.getBoundaryCells(), match.getPointTests(),
+                result.getResolveMillis(), result.getJoinMillis(), batches);
+        return result;
+    }
+
+    // =========================================================
+    // 3. 가까운 대피소 붙이기 (일괄 처리)
+    // =========================================================
+
+    // 항목 i 의 가까운 대피소 id = result[i * k .. i * k + k) (거리 오름차순, 없으면 -1)
+    private int[] joinNearestShelters(SubscriberLocationStore.Match match, SpatialGridIndex index) {
+        int k = sheltersPerLocation;
+        int size = match.size();
+        int[] result = new int[size * k];
+        Arrays.fill(result, -1);
+        if (k <= 0 || index.size() == 0) {
+            return result;
+        }
+
+        IntStream.range(0, (size + JOIN_CHUNK - 1) / JOIN_CHUNK).parallel().forEach(chunk -> {
+            int to = Math.min(size, (chunk + 1) * JOIN_CHUNK);
+            int i = chunk * JOIN_CHUNK;
+            while (i < to) {
+                // 결과가 셀 순서라서 같은 셀 항목은 붙어 있다
+                int cell = match.getCell(i);
+                int end = i + 1;
+                while (end < to && match.getCell(end) == cell) {
+                    end++;
+                }
+                int[] candidates = cell >= 0 ? candidatesForCell(index, cell, k) : null;
+                for (int j = i; j < end; j++) {
+                    // 서비스 영역 밖 위치는 하나씩 공간 인덱스로
+                    int[] ids = candidates != null
+                            ? nearestAmong(index, candidates, match.getLat(j), match.getLng(j), k)
+                            : index.nearest(match.getLat(j), match.getLng(j), k);
+                    System.arraycopy(ids, 0, result, j * k, ids.length);
+                }
+                i = end;
+            }
+        });
+        return result;
+    }
+
+    // 셀 안 어느 점에서든 가까운 k 곳이 반드시 들어 있는 후보 대피소
+    private int[] candidatesForCell(SpatialGridIndex index, int cell, int k) {
+        double lat = store.cellCenterLat(cell);
+        double lng = store.cellCenterLng(cell);
+        int[] nearest = index.nearest(lat, lng, k);
+        if (nearest.length < k) {
+            return nearest; // 대피소가 k 곳보다 적으면 전부
+        }
+        double half = store.getCellDeg() / 2;
+        double halfDiagonalKm = Math.max(
+                DistanceCalculator.calculateDistance(lat, lng, lat + half, lng + half),
+                DistanceCalculator.calculateDistance(lat, lng, lat - half, lng + half));
+        double kthKm = index.distanceTo(nearest[k - 1], lat, lng);
+        return index.withinRadius(lat, lng, kthKm + 2 * halfDiagonalKm + 1e-6);
+    }
+
+    // 후보 중 (lat, lng) 에서 가까운 k 곳 (k 가 작으므로 삽입 정렬)
+    private static int[] nearestAmong(SpatialGridIndex index, int[] candidates, double lat, double lng, int k) {
+        int[] ids = new int[Math.min(k, candidates.length)];
+        if (ids.length == 0) {
+            return ids;
+        }
+        double[] dists = new double[ids.length];
+        int count = 0;
+        for (int id : candidates) {
+            double dist = index.distanceTo(id, lat, lng);
+            if (count == ids.length && dist >= dists[count - 1]) {
+                continue;
+            }
+            int pos = count == ids.length ? count - 1 : count++;
+            while (pos > 0 && dists[pos - 1] > dist) {
+                ids[pos] = ids[pos - 1];
+                dists[pos] = dists[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+            dists[pos] = dist;
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    // =========================================================
+    // 4. 묶음 발송
+    // =========================================================
+
+    // 항목 범위를 batch-size 단위로 나눠 발송 대기열에 넣는다. 알림 객체는 발송 스레드에서 만든다.
+    private int dispatch(String alertId, String issuedAt, String message, SubscriberLocationStore.Match match,
+                         ShelterDataset dataset, int[] nearest) {
+        int size = match.size();
+        int batches = (size + batchSize - 1) / batchSize;
+        if (batches == 0) {
+            return 0;
+        }
+        AtomicInteger remaining = new AtomicInteger(batches);
+        AtomicLong delivered = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+
+        for (int b = 0; b < batches; b++) {
+            int from = b * batchSize;
+            int to = Math.min(size, from + batchSize);
+            dispatcher.execute(() -> {
+                List<AlertNotification> batch = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    // 집/직장이 모두 구역 안이면 집 항목에서 한 알림으로 합친다
+                    if (match.getKind(i) == SubscriberLocationStore.WORK && match.getPartner(i) >= 0) {
+                        continue;
+                    }
+                    batch.add(toNotification(alertId, issuedAt, message, match, i, dataset, nearest));
+                }
+                try {
+                    sink.deliver(batch);
+                    delivered.addAndGet(batch.size());
+                } catch (Exception e) {
+                    failed.addAndGet(batch.size());
+                    logger.error("경보 알림 발송 실패: alertId={}, {}건", alertId, batch.size(), e);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        logger.info("경보 알림 발송 완료: alertId={}, 성공={}건, 실패={}건, {}ms",
+                                alertId, delivered.get(), failed.get(), (System.nanoTime() - start) / 1_000_000);
+                    }
+                }
+            });
+        }
+        return batches;
+    }
+
+    private AlertNotification toNotification(String alertId, String issuedAt, String message,
+                                             SubscriberLocationStore.Match match, int i,
+                                             ShelterDataset dataset, int[] nearest) {
+        List<AlertNotification.Location> locations = new ArrayList<>(2);
+        locations.add(toLocation(match, i, dataset, nearest));
+        if (match.getPartner(i) >= 0) {
+            locations.add(toLocation(match, match.getPartner(i), dataset, nearest));
+        }
+
+        AlertNotification notification = new AlertNotification();
+        notification.setAlertId(alertId);
+        notification.setSubscriberId(match.getId(i));
+        notification.setChannel(match.getChannel(i));
+        notification.setMessage(message);
+        notification.setIssuedAt(issuedAt);
+        notification.setLocations(locations);
+        return notification;
+    }
+
+    private AlertNotification.Location toLocation(SubscriberLocationStore.Match match, int i,
+                                                  ShelterDataset dataset, int[] nearest) {
+        double lat = match.getLat(i);
+        double lng = match.getLng(i);
+        List<AlertNotification.Shelter> shelters = new ArrayList<>(sheltersPerLocation);
+        if (nearest != null) {
+            SpatialGridIndex index = dataset.getSpatialIndex();
+            for (int j = i * sheltersPerLocation; j < (i + 1) * sheltersPerLocation && nearest[j] >= 0; j++) {
+                TsunamiShelter source = dataset.getShelters().get(nearest[j]);
+                AlertNotification.Shelter shelter = new AlertNotification.Shelter();
+                shelter.setId(source.getId());
+                shelter.setShelterName(source.getShelterName());
+                shelter.setAddress(source.getAddress());
+                shelter.setLatitude(source.getLatitude());
+                shelter.setLongitude(source.getLongitude());
+                shelter.setDistanceKm(index.distanceTo(nearest[j], lat, lng));
+                shelters.add(shelter);
+            }
+        }
+
+        AlertNotification.Location location = new AlertNotification.Location();
+        location.setKind(match.getKind(i) == SubscriberLocationStore.HOME ? "home" : "work");
+        location.setLatitude(lat);
+        location.setLongitude(lng);
+        location.setShelters(shelters);
+        return location;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        synchronized (this) {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    logger.warn("구독 저장 파일을 닫지 못했습니다: {}", journalPath, e);
+                }
+                journal = null;
+            }
+        }
+    }
+}
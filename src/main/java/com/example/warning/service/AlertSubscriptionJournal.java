@@ -0,0 +1,289 @@
+// src/main/java/com/example/warning/service/AlertSubscriptionJournal.java
+package com.example.warning.service;
+
+import com.example.warning.util.SubscriberLocationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 경보 알림 구독 저장 파일 (추가 전용 journal).
+ *
+ * DB(H2 메모리, create-drop)는 재시작하면 비워지므로 구독은 파일에 따로 남긴다.
+ *
+ * 파일 구조 (big-endian):
+ *  - 헤더: magic(int) | format version(int)
+ *  - 레코드: body 길이(int) | body CRC32(int) | body
+ *     - PUT    : 종류(byte 1) | id | channel | tokenHash(long) | 집 위도/경도 | 직장 위도/경도 (double, 없으면 NaN)
+ *     - REMOVE : 종류(byte 2) | id
+ *
+ * 구독/해지 때마다 레코드를 하나 덧붙인다. (프로세스가 죽어도 남고, fsync 는 하지 않으므로 OS 가 죽으면 마지막 몇 건은 잃을 수 있다)
+ * 시작할 때 레코드를 처음부터 다시 적용해서 SubscriberLocationStore 를 채운다.
+ *  - 쓰다가 죽어서 마지막 레코드가 잘렸으면 그 레코드만 버리고 잘라낸다.
+ *  - 그 밖에 형식/체크섬이 맞지 않으면 IOException (구독을 조용히 잃지 않도록 시작을 멈춘다)
+ * 덮어쓰기/해지로 쌓인 레코드는 rewrite() 로 살아 있는 구독만 남겨 정리한다. (임시 파일 → rename)
+ */
+public final class AlertSubscriptionJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertSubscriptionJournal.class);
+
+    public static final int MAGIC = 0x414c534a; // "ALSJ"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 4;
+    private static final int RECORD_HEADER_SIZE = 4 + 4;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path path;
+    private FileChannel channel;
+    private long recordCount;
+
+    private AlertSubscriptionJournal(Path path, FileChannel channel, long recordCount) {
+        this.path = path;
+        this.channel = channel;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * 파일의 레코드를 store 에 다시 적용하고, 이어 쓰도록 연다. (파일이 없으면 새로 만든다)
+     *
+     * @throws IOException 파일을 읽을 수 없거나, 잘린 마지막 레코드 말고 형식/체크섬이 맞지 않을 때
+     */
+    public static AlertSubscriptionJournal open(Path path, SubscriberLocationStore store) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                writeHeader(channel);
+                return new AlertSubscriptionJournal(path, channel, 0);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 끝까지 읽는다
+            }
+            buffer.flip();
+            long records = replay(buffer, store);
+            if (buffer.position() < size) {
+                logger.warn("구독 저장 파일 끝의 잘린 레코드를 버립니다: {} ({} bytes)", path, size - buffer.position());
+                channel.truncate(buffer.position());
+            }
+            channel.position(channel.size());
+            return new AlertSubscriptionJournal(path, channel, records);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // 헤더 확인 후 레코드를 순서대로 적용한다. 끝나면 buffer.position() = 마지막으로 온전한 레코드의 끝
+    private static long replay(ByteBuffer buffer, SubscriberLocationStore store) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("구독 저장 파일이 너무 짧습니다.");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("구독 저장 파일 형식이 아닙니다.");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 구독 저장 파일 버전입니다: " + version);
+        }
+
+        long records = 0;
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                buffer.position(start); // 쓰다가 잘린 마지막 레코드
+                break;
+            }
+            ByteBuffer body = buffer.slice(buffer.position(), length);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                if (buffer.position() + length == buffer.limit()) {
+                    buffer.position(start); // 마지막 레코드가 덜 써졌다
+                    break;
+                }
+                throw new IOException("구독 저장 파일 체크섬이 맞지 않습니다: offset=" + start);
+            }
+            try {
+                apply(body, store);
+            } catch (RuntimeException e) {
+                throw new IOException("구독 저장 파일 레코드를 읽지 못했습니다: offset=" + start, e);
+            }
+            buffer.position(buffer.position() + length);
+            records++;
+        }
+        return records; // 남은 바이트가 레코드 헤더보다 짧으면 그것도 잘린 레코드
+    }
+
+    private static void apply(ByteBuffer body, SubscriberLocationStore store) {
+        byte type = body.get();
+        String id = readString(body);
+        if (type == PUT) {
+            String channel = readString(body);
+            long tokenHash = body.getLong();
+            store.put(id, channel, tokenHash, body.getDouble(), body.getDouble(), body.getDouble(), body.getDouble());
+        } else if (type == REMOVE) {
+            store.remove(id);
+        } else {
+            throw new IllegalArgumentException("알 수 없는 레코드 종류: " + type);
+        }
+    }
+
+    // =========================================================
+    // 쓰기
+    // =========================================================
+
+    public void put(String id, String channel, long tokenHash,
+                    double homeLat, double homeLng, double workLat, double workLng) throws IOException {
+        append(encodePut(id, channel, tokenHash, homeLat, homeLng, workLat, workLng));
+    }
+
+    public void remove(String id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(REMOVE);
+        writeString(out, id);
+        out.flush();
+        append(bytes.toByteArray());
+    }
+
+    /**
+     * store 의 살아 있는 구독만 남겨 파일을 다시 쓴다. (임시 파일 → rename, 이후 새 파일에 이어 쓴다)
+     * store 는 호출하는 동안 바뀌지 않아야 한다.
+     */
+    public void rewrite(SubscriberLocationStore store) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        long[] records = new long[1];
+        try {
+            try (OutputStream file = Files.newOutputStream(tmp, StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                store.forEach((id, channel, tokenHash, homeLat, homeLng, workLat, workLng) -> {
+                    try {
+                        writeRecord(out, encodePut(id, channel, tokenHash, homeLat, homeLng, workLat, workLng));
+                        records[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            channel.close();
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                recordCount = records[0];
+            } finally {
+                // rename 에 실패해도 기존 파일에 계속 이어 쓴다
+                channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 파일에 쌓인 레코드 수 (덮어쓰기/해지 포함, rewrite 시점 판단용)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + body.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeRecord(out, body);
+        out.flush();
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        recordCount++;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        out.writeInt(body.length);
+        out.writeInt((int) crc.getValue());
+        out.write(body);
+    }
+
+    private static byte[] encodePut(String id, String channel, long tokenHash,
+                                    double homeLat, double homeLng, double workLat, double workLng) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(PUT);
+        writeString(out, id);
+        writeString(out, channel);
+        out.writeLong(tokenHash);
+        out.writeDouble(homeLat);
+        out.writeDouble(homeLng);
+        out.writeDouble(workLat);
+        out.writeDouble(workLng);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -1,124 +1,92 @@
 package com.example.warning.service;
 
-import com.example.warning.dto.DsspResponse;
 import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.ShelterDeduplicator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * safetydata DSSP-IF-10944 API 파싱 + TsunamiShelter 변환 서비스
+ * 공공데이터 API 연동 창구 (여러 데이터 소스 → TsunamiShelter 목록)
+ *
+ * 동작:
+ *  1) 켜져 있는 ShelterSource(DSSP, data.go.kr ...)를 모두 동시에 호출
+ *  2) 소스별 결과를 ShelterDeduplicator 로 합친다
+ *     - 서로 다른 소스 + 좌표가 app.sources.match-meters 이내 + 이름 유사도 app.sources.name-similarity 이상이면 같은 대피소
+ *     - 우선순위가 높은 소스(@Order) 값을 기준으로, 비어 있는 필드만 다른 소스 값으로 채움
+ *
+ * 한 소스가 실패해도 나머지 소스 결과로 계속 진행한다.
  */
 @Service
 public class ApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(ApiService.class);
 
-    private final String serviceKey;
-    private final String endpoint;
-    private final WebClient webClient;
+    private final List<ShelterSource> sources;
+    private final double matchMeters;
+    private final double nameSimilarity;
 
     public ApiService(
-            @Value("${api.data.go.kr.base-url}") String baseUrl,
-            @Value("${api.data.go.kr.service-key}") String serviceKey,
-            @Value("${api.data.go.kr.endpoint}") String endpoint
+            List<ShelterSource> sources,
+            @Value("${app.sources.match-meters:30}") double matchMeters,
+            @Value("${app.sources.name-similarity:0.5}") double nameSimilarity
     ) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .build();
-        this.serviceKey = serviceKey;
-        this.endpoint = endpoint;
+        this.sources = sources;
+        this.matchMeters = matchMeters;
+        this.nameSimilarity = nameSimilarity;
     }
 
     /**
-     * DSSP-IF-10944 전체 페이지를 돌면서
-     * 모든 대피소 데이터를 TsunamiShelter 리스트로 변환해서 반환.
+     * 모든 소스의 대피소 데이터를 받아서 중복을 합친 TsunamiShelter 리스트로 반환.
      */
     public List<TsunamiShelter> fetchAllShelterData() {
+        List<ShelterSource> enabled = sources.stream().filter(ShelterSource::isEnabled).toList();
+        if (enabled.isEmpty()) {
+            logger.warn("사용 가능한 대피소 데이터 소스가 없습니다.");
+            return List.of();
+        }
 
-        List<TsunamiShelter> result = new ArrayList<>();
-
-        int pageNo = 1;
-        int numOfRows = 10; // 1페이지당 개수
-        int totalCount = -1;
-
-        while (true) {
-            try {
-                int finalPageNo = pageNo;
-                DsspResponse response = webClient.get()
-                        .uri(uriBuilder -> uriBuilder
-                                .path(endpoint)
-                                .queryParam("serviceKey", serviceKey)
-                                .queryParam("pageNo", finalPageNo)
-                                .queryParam("numOfRows", numOfRows)
-                                .build()
-                        )
-                        .retrieve()
-                        .bodyToMono(DsspResponse.class)
-                        .block();
-
-                if (response == null || response.getBody() == null) {
-                    logger.warn("DSSP 응답이 null 또는 body가 비어있음 (pageNo={})", pageNo);
-                    break;
-                }
-
-                if (totalCount == -1) {
-                    totalCount = response.getTotalCount();
-                    logger.info("총 개수: {}", totalCount);
-                }
-
-                // 여기에서 this::convertToEntity 를 씀
-                List<TsunamiShelter> pageList = response.getBody().stream()
-                        .map(this::convertToEntity)
-                        .collect(Collectors.toList());
-
-                result.addAll(pageList);
-
-                logger.info("{}페이지 처리: {}개 추가됨 (현재 총 {}개)",
-                        pageNo, pageList.size(), result.size());
-
-                if (result.size() >= totalCount) {
-                    break;
-                }
-
-                pageNo++;
+        ExecutorService executor = Executors.newFixedThreadPool(enabled.size());
+        try {
+            List<CompletableFuture<List<TsunamiShelter>>> futures = new ArrayList<>();
+            for (ShelterSource source : enabled) {
+                futures.add(CompletableFuture.supplyAsync(() -> fetch(source), executor));
+            }
 
-            } catch (Exception e) {
-                logger.error("페이지 {} 조회 중 오류 발생", pageNo, e);
-                break;
+            List<List<TsunamiShelter>> results = new ArrayList<>();
+            int total = 0;
+            for (CompletableFuture<List<TsunamiShelter>> future : futures) {
+                List<TsunamiShelter> shelters = future.join();
+                results.add(shelters);
+                total += shelters.size();
             }
-        }
 
-        logger.info("최종 모은 데이터 개수 = {}", result.size());
-        return result;
+            long start = System.nanoTime();
+            List<TsunamiShelter> merged = ShelterDeduplicator.merge(results, matchMeters, nameSimilarity);
+            logger.info("데이터 소스 병합: 소스={}, 전체={}개 → 중복 제거 후 {}개, {}ms",
+                    enabled.size(), total, merged.size(), (System.nanoTime() - start) / 1_000_000);
+            return merged;
+        } finally {
+            executor.shutdown();
+        }
     }
 
-    /**
-     * DSSP 응답(DsspItem) → DB 엔티티(TsunamiShelter)로 변환
-     */
-    private TsunamiShelter convertToEntity(DsspResponse.DsspItem item) {
-
-        TsunamiShelter shelter = new TsunamiShelter();
-
-        // DsspItem 필드 → TsunamiShelter 필드 매핑
-        shelter.setShelterName(item.getShelterName());              // SHNT_PLACE_NM
-        shelter.setAddress(item.getAddress());                      // SHNT_PLACE_DTL_POSITION
-        shelter.setLatitude(item.getLatitude());                    // LA
-        shelter.setLongitude(item.getLongitude());                  // LO
-        shelter.setAccommodationCapacity(item.getCapacity());       // PSBL_NMPR
-
-        // API에서 안 주는 값은 일단 임시 값으로 채워둠
-        shelter.setManagementAgency("N/A");
-        shelter.setContactNumber("N/A");
-        shelter.setFacilityArea("N/A");
-        shelter.setDesignationDate("N/A");
-
-        return shelter;
+    private List<TsunamiShelter> fetch(ShelterSource source) {
+        long start = System.nanoTime();
+        try {
+            List<TsunamiShelter> shelters = source.fetchAll();
+            logger.info("[{}] {}개 수신, {}ms", source.getName(), shelters.size(), (System.nanoTime() - start) / 1_000_000);
+            return shelters;
+        } catch (Exception e) {
+            logger.error("[{}] 데이터 수신 실패 (다른 소스로 계속 진행)", source.getName(), e);
+            return List.of();
+        }
     }
 }
@@ -0,0 +1,181 @@
+// src/main/java/com/example/warning/service/DataGoKrShelterSource.java
+package com.example.warning.service;
+
+import com.example.warning.dto.ApiResponse;
+import com.example.warning.model.TsunamiShelter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 공공데이터포털(data.go.kr) 지진해일 긴급대피장소 API (예전 스키마, dto.ApiResponse) 파싱 + TsunamiShelter 변환
+ *
+ * DSSP 보다 좌표 정확도는 떨어지는 경우가 있지만 관리기관, 연락처, 시설면적, 지정일자, 시도/시군구/읍면동을 준다.
+ * 그래서 보조 소스로 두고, DSSP 대피소와 같은 대피소로 묶이면 비어 있는 필드를 채우는 데 쓴다.
+ */
+@Service
+@Order(2)
+public class DataGoKrShelterSource implements ShelterSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGoKrShelterSource.class);
+
+    private final boolean enabled;
+    private final String serviceKey;
+    private final String endpoint;
+    private final int pageSize;
+    private final WebClient webClient;
+
+    public DataGoKrShelterSource(
+            @Value("${app.sources.data-go-kr.enabled:false}") boolean enabled,
+            @Value("${app.sources.data-go-kr.base-url:https://apis.data.go.kr}") String baseUrl,
+            @Value("${app.sources.data-go-kr.service-key:}") String serviceKey,
+            @Value("${app.sources.data-go-kr.endpoint:}") String endpoint,
+            @Value("${app.sources.data-go-kr.page-size:100}") int pageSize
+    ) {
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .build();
+        this.enabled = enabled;
+        this.serviceKey = serviceKey;
+        this.endpoint = endpoint;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public String getName() {
+        return "data.go.kr";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && !endpoint.isBlank() && !serviceKey.isBlank();
+    }
+
+    @Override
+    public List<TsunamiShelter> fetchAll() {
+        List<TsunamiShelter> result = new ArrayList<>();
+        int pageNo = 1;
+        int totalCount = -1;
+
+        while (true) {
+            try {
+                int finalPageNo = pageNo;
+                ApiResponse response = webClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path(endpoint)
+                                .queryParam("serviceKey", serviceKey)
+                                .queryParam("pageNo", finalPageNo)
+                                .queryParam("numOfRows", pageSize)
+                                .queryParam("type", "json")
+                                .build()
+                        )
+                        .retrieve()
+                        .bodyToMono(ApiResponse.class)
+                        .block();
+
+                ApiResponse.Body body = response == null || response.getResponse() == null
+                        ? null : response.getResponse().getBody();
+                if (body == null || body.getItems() == null || body.getItems().getItem() == null) {
+                    logger.warn("data.go.kr 응답이 비어있음 (pageNo={})", pageNo);
+                    break;
+                }
+
+                if (totalCount == -1) {
+                    totalCount = body.getTotalCount() != null ? body.getTotalCount() : 0;
+                    logger.info("data.go.kr 총 개수: {}", totalCount);
+                }
+
+                List<ApiResponse.ShelterItem> items = body.getItems().getItem();
+                for (ApiResponse.ShelterItem item : items) {
+                    result.add(convertToEntity(item));
+                }
+                logger.info("data.go.kr {}페이지 처리: {}개 추가됨 (현재 총 {}개)", pageNo, items.size(), result.size());
+
+                if (items.isEmpty() || result.size() >= totalCount) {
+                    break;
+                }
+                pageNo++;
+
+            } catch (Exception e) {
+                logger.error("data.go.kr 페이지 {} 조회 중 오류 발생", pageNo, e);
+                break;
+            }
+        }
+
+        logger.info("data.go.kr 최종 모은 데이터 개수 = {}", result.size());
+        return result;
+    }
+
+    /**
+     * data.go.kr 응답(ShelterItem, 모든 값이 문자열) → DB 엔티티(TsunamiShelter)로 변환
+     */
+    private TsunamiShelter convertToEntity(ApiResponse.ShelterItem item) {
+        TsunamiShelter shelter = new TsunamiShelter();
+        shelter.setShelterName(trimToNull(item.getShelterName()));           // shnt_nm
+        shelter.setAddress(address(item));                                  // dtl_adres (없으면 시도 시군구 읍면동)
+        shelter.setLatitude(parseDouble(item.getLatitude()));               // ydnts
+        shelter.setLongitude(parseDouble(item.getLongitude()));             // xcnts
+        shelter.setAccommodationCapacity(parseInt(item.getAccommodationCapacity())); // vt_acmd_psbl_nmpr
+        shelter.setFacilityArea(trimToNull(item.getFacilityArea()));         // fclty_ar
+        shelter.setManagementAgency(trimToNull(item.getManagementAgency())); // mngnt_instt_nm
+        shelter.setContactNumber(trimToNull(item.getContactNumber()));       // cntct_no
+        shelter.setDesignationDate(trimToNull(item.getDesignationDate()));   // dsgntn_de
+        return shelter;
+    }
+
+    private static String address(ApiResponse.ShelterItem item) {
+        String detail = trimToNull(item.getAddress());
+        if (detail != null) {
+            return detail;
+        }
+        StringJoiner joiner = new StringJoiner(" ");
+        for (String part : new String[] {item.getProvinceName(), item.getCityName(), item.getDistrictName()}) {
+            String trimmed = trimToNull(part);
+            if (trimmed != null) {
+                joiner.add(trimmed);
+            }
+        }
+        return joiner.length() == 0 ? null : joiner.toString();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Double parseDouble(String value) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(trimmed);
+            return parsed == 0 ? null : parsed; // 좌표 미상을 0 으로 주는 경우가 있다
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "1,200" 처럼 쉼표가 들어간 값도 있다
+    private static Integer parseInt(String value) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(trimmed.replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+// src/main/java/com/example/warning/service/FileNotificationSink.java
+package com.example.warning.service;
+
+import com.example.warning.dto.AlertNotification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 알림을 JSON Lines 파일에 이어 쓰는 sink (app.alerts.sink=file)
+ *
+ * - 한 줄 = AlertNotification 한 건. 외부 발송기(푸시 게이트웨이 연동 등)가 이 파일을 읽어 가는 구성을 가정한다.
+ * - 여러 발송 스레드가 같은 파일에 쓰므로 묶음 단위로 직렬화한다.
+ */
+@Service
+public class FileNotificationSink implements NotificationSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileNotificationSink(
+            ObjectMapper objectMapper,
+            @Value("${app.alerts.file-path:./data/alert-notifications.jsonl}") String path
+    ) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(List<AlertNotification> batch) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AlertNotification notification : batch) {
+                writer.write(objectMapper.writeValueAsString(notification));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+// src/main/java/com/example/warning/service/InundationZoneService.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.InundationZoneIndex;
+import com.example.warning.util.SpatialGridIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 지진해일 침수 예상 구역을 반영한 대피소 조회 서비스.
+ *
+ * 로컬 GeoJSON(app.hazard.geojson-path)에서 침수 예상 구역 폴리곤을 읽어 InundationZoneIndex 로 만들어 두고,
+ *  - 대피소가 침수 구역 안인지는 데이터 세대마다 한 번만 계산해서 BitSet 으로 들고 있다.
+ *  - 가까운 대피소 / 반경 조회 결과에 inInundationZone 을 채우고, 정책(app.hazard.policy)에 따라
+ *      exclude  : 침수 구역 안 대피소는 결과에서 뺀다
+ *      downrank : 거리에 벌점(app.hazard.downrank-penalty-km)을 더해서 순위를 뒤로 미룬다
+ *  - 사용자 위치가 침수 구역 안인지도 알려준다. (컨트롤러가 응답 헤더로 전달)
+ *
+ * app.hazard.geojson-path 가 비어 있거나 파일을 읽지 못하면 비활성화되고, 각 조회 메서드는 null 을 반환한다.
+ */
+@Service
+public class InundationZoneService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InundationZoneService.class);
+
+    public enum Policy { EXCLUDE, DOWNRANK }
+
+    private final ObjectMapper objectMapper;
+    private final Path geoJsonPath;
+    private final Policy policy;
+    private final double penaltyKm;
+    private final int maxCandidateCount;
+
+    private volatile InundationZoneIndex zones;
+    private volatile Membership membership;
+
+    public InundationZoneService(
+            ObjectMapper objectMapper,
+            @Value("${app.hazard.geojson-path:}") String geoJsonPath,
+            @Value("${app.hazard.policy:downrank}") String policy,
+            @Value("${app.hazard.downrank-penalty-km:2.0}") double penaltyKm,
+            @Value("${app.hazard.max-candidates:256}") int maxCandidateCount
+    ) {
+        this.objectMapper = objectMapper;
+        this.geoJsonPath = geoJsonPath.isBlank() ? null : Paths.get(geoJsonPath);
+        this.policy = Policy.valueOf(policy.trim().toUpperCase());
+        this.penaltyKm = penaltyKm;
+        this.maxCandidateCount = maxCandidateCount;
+    }
+
+    /**
+     * 침수 구역 폴리곤 로딩.
+     * 스냅샷 웜 스타트(ApplicationStartedEvent)보다 먼저 준비되도록 빈 생성 시점에 읽는다.
+     */
+    @PostConstruct
+    public void loadZones() {
+        if (geoJsonPath == null) {
+            return;
+        }
+        if (!Files.isRegularFile(geoJsonPath)) {
+            logger.warn("침수 예상 구역 파일이 없습니다: {}", geoJsonPath);
+            return;
+        }
+        long start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(geoJsonPath)) {
+            zones = InundationZoneIndex.fromGeoJson(objectMapper.readTree(in));
+            logger.info("침수 예상 구역 로딩 완료: 폴리곤={}, 정책={}, {}ms",
+                    zones.getPolygonCount(), policy, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            logger.error("침수 예상 구역 파일을 읽지 못했습니다. 침수 구역 반영 없이 동작합니다: {}", geoJsonPath, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return zones != null;
+    }
+
+    /**
+     * 사용자 위치가 침수 예상 구역 안인지 (비활성화 상태면 false)
+     */
+    public boolean isInZone(double lat, double lng) {
+        InundationZoneIndex current = zones;
+        return current != null && current.contains(lat, lng);
+    }
+
+    /**
+     * 데이터 세대가 바뀌면 대피소별 침수 구역 여부를 미리 계산해둔다.
+     */
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        BitSet flooded = membershipFor(event.getDataset());
+        logger.info("대피소 침수 구역 판정 완료: generation={}, 구역 안={}/{}, {}ms",
+                event.getDataset().getGeneration(), flooded.cardinality(), event.getDataset().size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * 침수 구역 정책을 반영한 가까운 대피소 limit 개 (distanceFromUser, inInundationZone 채운 복사본)
+     *
+     * 벌점/제외 때문에 거리 순 상위 limit 개만 봐서는 안 되므로 후보를 두 배씩 늘려가며,
+     * limit 번째 점수가 후보 중 가장 먼 거리 이하가 될 때까지(후보 밖은 점수가 더 클 수밖에 없음) 확인한다.
+     *
+     * @return 침수 구역 데이터가 없으면 null
+     */
+    public List<TsunamiShelter> findNearest(ShelterDataset dataset, double lat, double lng, int limit) {
+        return findNearest(dataset, lat, lng, limit, null);
+    }
+
+    /**
+     * findNearest 와 같지만, 거리 순 후보를 사전 계산 격자(grid)에서 먼저 받아온다.
+     * 격자가 답하지 못하는 후보 수(k 초과)나 위치면 공간 인덱스로 대체하므로 결과는 항상 같다.
+     *
+     * @param grid null 이면 공간 인덱스만 쓴다
+     * @return 침수 구역 데이터가 없으면 null
+     */
+    public List<TsunamiShelter> findNearest(ShelterDataset dataset, double lat, double lng, int limit,
+                                            NearestShelterGridService grid) {
+        if (!isEnabled() || limit <= 0) {
+            return null;
+        }
+        BitSet flooded = membershipFor(dataset);
+        SpatialGridIndex index = dataset.getSpatialIndex();
+
+        int n = Math.min(Math.max(limit * 2, limit + 8), Math.max(maxCandidateCount, limit));
+        while (true) {
+            int[] candidates = grid != null ? grid.nearestIds(dataset, lat, lng, n) : null;
+            if (candidates == null) {
+                candidates = index.nearest(lat, lng, n);
+            }
+            double farthestKm = candidates.length == 0 ? 0
+                    : index.distanceTo(candidates[candidates.length - 1], lat, lng);
+            List<double[]> ranked = rank(index, flooded, candidates, lat, lng);
+
+            boolean complete = ranked.size() >= limit && ranked.get(limit - 1)[1] <= farthestKm;
+            if (complete || candidates.length < n || n >= maxCandidateCount) {
+                return toShelters(dataset, flooded, ranked.subList(0, Math.min(limit, ranked.size())), lat, lng);
+            }
+            n = Math.min(n * 2, maxCandidateCount);
+        }
+    }
+
+    /**
+     * 침수 구역 정책을 반영한 반경 radiusKm 이내 대피소
+     *
+     * @return 침수 구역 데이터가 없으면 null
+     */
+    public List<TsunamiShelter> findWithinRadius(ShelterDataset dataset, double lat, double lng, double radiusKm) {
+        if (!isEnabled()) {
+            return null;
+        }
+        BitSet flooded = membershipFor(dataset);
+        SpatialGridIndex index = dataset.getSpatialIndex();
+        return toShelters(dataset, flooded, rank(index, flooded, index.withinRadius(lat, lng, radiusKm), lat, lng), lat, lng);
+    }
+
+    /**
+     * 이미 정렬된 결과(도보 시간 순위, DB 조회 결과 등)에 침수 구역 여부를 채운다.
+     * 순서는 그대로 두고, exclude 정책이면 침수 구역 안 대피소만 뺀다.
+     */
+    public List<TsunamiShelter> tagAndFilter(List<TsunamiShelter> shelters) {
+        InundationZoneIndex current = zones;
+        if (current == null) {
+            return shelters;
+        }
+        List<TsunamiShelter> result = new ArrayList<>(shelters.size());
+        for (TsunamiShelter shelter : shelters) {
+            boolean inside = shelter.getLatitude() != null && shelter.getLongitude() != null
+                    && current.contains(shelter.getLatitude(), shelter.getLongitude());
+            if (inside && policy == Policy.EXCLUDE) {
+                continue;
+            }
+            shelter.setInInundationZone(inside);
+            result.add(shelter);
+        }
+        return result;
+    }
+
+    // =========================================================
+    // 내부 유틸
+    // =========================================================
+
+    // 후보 id → {id, 점수(km)} 점수 오름차순 (exclude 정책이면 침수 구역 안 대피소는 빠짐)
+    private List<double[]> rank(SpatialGridIndex index, BitSet flooded, int[] ids, double lat, double lng) {
+        List<double[]> ranked = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            double score = index.distanceTo(id, lat, lng);
+            if (flooded.get(id)) {
+                if (policy == Policy.EXCLUDE) {
+                    continue;
+                }
+                score += penaltyKm;
+            }
+            ranked.add(new double[] {id, score});
+        }
+        ranked.sort(Comparator.comparingDouble(r -> r[1]));
+        return ranked;
+    }
+
+    private List<TsunamiShelter> toShelters(ShelterDataset dataset, BitSet flooded, List<double[]> ranked,
+                                            double lat, double lng) {
+        int[] ids = new int[ranked.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) ranked.get(i)[0];
+        }
+        List<TsunamiShelter> result = dataset.withDistance(ids, lat, lng);
+        for (int i = 0; i < ids.length; i++) {
+            result.get(i).setInInundationZone(flooded.get(ids[i]));
+        }
+        return result;
+    }
+
+    // 대피소 id → 침수 구역 안 여부, 데이터 세대별로 한 번만 계산
+    private BitSet membershipFor(ShelterDataset dataset) {
+        InundationZoneIndex current = zones;
+        Membership cached = membership;
+        if (cached != null && cached.generation == dataset.getGeneration() && cached.zones == current) {
+            return cached.flooded;
+        }
+        SpatialGridIndex index = dataset.getSpatialIndex();
+        BitSet flooded = current.containsAll(index.getLats(), index.getLngs());
+        membership = new Membership(dataset.getGeneration(), current, flooded);
+        return flooded;
+    }
+
+    private static final class Membership {
+        private final long generation;
+        private final InundationZoneIndex zones;
+        private final BitSet flooded;
+
+        private Membership(long generation, InundationZoneIndex zones, BitSet flooded) {
+            this.generation = generation;
+            this.zones = zones;
+            this.flooded = flooded;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/example/warning/service/LoggingNotificationSink.java
+package com.example.warning.service;
+
+import com.example.warning.dto.AlertNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 알림을 로그로만 남기는 기본 sink (app.alerts.sink=log)
+ *
+ * - 묶음마다 INFO 한 줄, 알림 한 건씩은 DEBUG.
+ */
+@Service
+public class LoggingNotificationSink implements NotificationSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<AlertNotification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        logger.info("경보 알림 {}건 발송: alertId={}", batch.size(), batch.get(0).getAlertId());
+        if (logger.isDebugEnabled()) {
+            for (AlertNotification notification : batch) {
+                logger.debug("경보 알림: subscriber={}, channel={}, 위치={}개",
+                        notification.getSubscriberId(), notification.getChannel(), notification.getLocations().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+// src/main/java/com/example/warning/service/NearestShelterGridService.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.NearestCandidateGrid;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * "가장 가까운 대피소" 사전 계산 격자(NearestCandidateGrid)를 관리하는 서비스.
+ *
+ * - 데이터 세대가 바뀌면(ShelterDatasetChangedEvent) 백그라운드 스레드에서 격자를 다시 만든다.
+ *   이전 격자가 있으면 바뀐 셀만 다시 계산한다(증분 갱신).
+ * - 격자가 준비되기 전이나, 격자가 답할 수 없는 질의(서비스 영역 밖, limit 초과)는 null 을 반환하고
+ *   ShelterService 가 일반 공간 인덱스 조회로 대체한다.
+ */
+@Service
+public class NearestShelterGridService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearestShelterGridService.class);
+
+    private final boolean enabled;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLng;
+    private final double maxLng;
+    private final double cellDeg;
+    private final int k;
+    private final double maxCoverKm;
+
+    // 백그라운드 빌드용 단일 스레드 (빌드 도중 들어온 이벤트는 마지막 것만 처리)
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "nearest-grid-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<ShelterDataset> pending = new AtomicReference<>();
+
+    private volatile GridState state;
+
+    public NearestShelterGridService(
+            @Value("${app.nearest-grid.enabled:true}") boolean enabled,
+            @Value("${app.nearest-grid.min-lat:33.0}") double minLat,
+            @Value("${app.nearest-grid.max-lat:38.7}") double maxLat,
+            @Value("${app.nearest-grid.min-lng:124.5}") double minLng,
+            @Value("${app.nearest-grid.max-lng:132.0}") double maxLng,
+            @Value("${app.nearest-grid.cell-deg:0.01}") double cellDeg,
+            @Value("${app.nearest-grid.k:20}") int k,
+            @Value("${app.nearest-grid.max-cover-km:20}") double maxCoverKm
+    ) {
+        this.enabled = enabled;
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.minLng = minLng;
+        this.maxLng = maxLng;
+        this.cellDeg = cellDeg;
+        this.k = k;
+        this.maxCoverKm = maxCoverKm;
+    }
+
+    /**
+     * 격자로 가장 가까운 대피소 limit 개 조회
+     *
+     * @return 격자가 이 데이터 세대용으로 준비되지 않았거나 답할 수 없으면 null
+     */
+    public List<TsunamiShelter> findNearest(ShelterDataset dataset, double lat, double lng, int limit) {
+        int[] ids = nearestIds(dataset, lat, lng, limit);
+        if (ids == null) {
+            return null;
+        }
+        return dataset.withDistance(ids, lat, lng);
+    }
+
+    /**
+     * 격자로 가장 가까운 대피소 limit 개의 id (거리 오름차순, SpatialGridIndex.nearest 와 같은 결과)
+     * - 침수 구역 순위(InundationZoneService)처럼 후보를 받아 다시 점수를 매기는 쪽에서 쓴다.
+     *
+     * @return 격자가 이 데이터 세대용으로 준비되지 않았거나 답할 수 없으면 null
+     */
+    public int[] nearestIds(ShelterDataset dataset, double lat, double lng, int limit) {
+        GridState current = state;
+        if (current == null || current.generation != dataset.getGeneration()) {
+            return null;
+        }
+        return current.grid.nearest(lat, lng, limit);
+    }
+
+    /**
+     * 현재 격자가 만들어진 데이터 세대 (없으면 -1)
+     */
+    public long getGeneration() {
+        GridState current = state;
+        return current != null ? current.generation : -1;
+    }
+
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (pending.getAndSet(event.getDataset()) == null) {
+            builder.submit(this::buildPending);
+        }
+    }
+
+    private void buildPending() {
+        ShelterDataset dataset = pending.getAndSet(null);
+        if (dataset == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            GridState previous = state;
+            NearestCandidateGrid grid = NearestCandidateGrid.rebuild(
+                    previous != null ? previous.grid : null, dataset.getSpatialIndex(),
+                    minLat, maxLat, minLng, maxLng, cellDeg, k, maxCoverKm);
+            state = new GridState(dataset.getGeneration(), grid);
+            logger.info("최근접 대피소 격자 생성 완료: generation={}, 셀={}개 (재사용 {}개), 데이터={}KB, {}ms",
+                    dataset.getGeneration(), grid.getCellCount(), grid.getReusedCells(), grid.getDataBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("최근접 대피소 격자 생성 실패: generation={}", dataset.getGeneration(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private static final class GridState {
+        private final long generation;
+        private final NearestCandidateGrid grid;
+
+        private GridState(long generation, NearestCandidateGrid grid) {
+            this.generation = generation;
+            this.grid = grid;
+        }
+    }
+}
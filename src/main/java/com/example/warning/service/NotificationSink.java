@@ -0,0 +1,25 @@
+// src/main/java/com/example/warning/service/NotificationSink.java
+package com.example.warning.service;
+
+import com.example.warning.dto.AlertNotification;
+
+import java.util.List;
+
+/**
+ * 경보 알림을 실제로 내보내는 곳 (푸시 게이트웨이, 메시지 큐, 파일 등).
+ *
+ * - AlertFanoutService 가 app.alerts.sink 값과 getName() 이 같은 구현체 하나를 골라 쓴다.
+ * - deliver() 는 여러 발송 스레드에서 동시에 호출될 수 있다.
+ */
+public interface NotificationSink {
+
+    /**
+     * app.alerts.sink 에 쓰는 이름
+     */
+    String getName();
+
+    /**
+     * 알림 묶음 발송. 예외를 던지면 이 묶음은 실패로 집계된다. (재시도는 구현체 몫)
+     */
+    void deliver(List<AlertNotification> batch) throws Exception;
+}
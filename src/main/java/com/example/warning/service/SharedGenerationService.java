@@ -0,0 +1,193 @@
+// src/main/java/com/example/warning/service/SharedGenerationService.java
+package com.example.warning.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 여러 인스턴스가 같은 데이터 세대를 쓰도록 맞춰주는 서비스 (공유 디렉터리 방식).
+ *
+ * 인스턴스마다 메모리 H2 를 따로 쓰기 때문에, 각자 초기화하면 노드마다 대피소 개수가 달라진다.
+ * 그래서 데이터를 불러온 노드(또는 배치 작업)가 데이터 세대를 공유 디렉터리에 올리고,
+ * 나머지 노드는 그것을 감지해서 받아간다.
+ *
+ * 공유 디렉터리 구조:
+ *  - generation-{generation}.snap : 스냅샷 파일 (ShelterSnapshotFile 형식)
+ *  - CURRENT                      : 현재 세대 번호 (텍스트)
+ *  - CURRENT.lock                 : CURRENT 갱신 시 노드 간 파일 락
+ *    (파일 락은 JVM 단위라서, 같은 JVM 안의 여러 스레드/컨텍스트는 PROCESS_LOCKS 로 먼저 줄 세운다)
+ *
+ * 동작:
+ *  1) 이 노드가 데이터를 새로 불러오면(source=LOADED) 스냅샷을 올리고 CURRENT 를 갱신한다.
+ *  2) 주기적으로 CURRENT 를 읽어서, 지금 쓰는 세대보다 새 세대면 받아서 ShelterCatalog 를 교체한다.
+ *     → 격자/내보내기 등 세대별 파생 데이터는 ShelterDatasetChangedEvent 로 함께 갱신된다.
+ *
+ * app.generation.shared-dir 가 비어 있으면 아무 것도 하지 않는다. (단일 인스턴스)
+ */
+@Service
+public class SharedGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedGenerationService.class);
+
+    private static final String CURRENT_FILE = "CURRENT";
+    private static final String LOCK_FILE = "CURRENT.lock";
+    private static final String SNAPSHOT_PREFIX = "generation-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    // 락 파일 경로별 JVM 내부 락. 같은 JVM 에서 FileChannel.lock() 이 겹치면 OverlappingFileLockException 이 난다.
+    private static final ConcurrentMap<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final ShelterCatalog shelterCatalog;
+    private final Path sharedDir;
+    private final int keepGenerations;
+
+    public SharedGenerationService(
+            ShelterCatalog shelterCatalog,
+            @Value("${app.generation.shared-dir:}") String sharedDir,
+            @Value("${app.generation.keep:3}") int keepGenerations
+    ) {
+        this.shelterCatalog = shelterCatalog;
+        this.sharedDir = sharedDir.isBlank() ? null : Paths.get(sharedDir);
+        this.keepGenerations = Math.max(1, keepGenerations);
+    }
+
+    // =========================================================
+    // 1. 세대 올리기
+    // =========================================================
+
+    /**
+     * 이 노드에서 새로 불러온 데이터를 공유 디렉터리에 올린다.
+     */
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        if (sharedDir == null || event.getSource() != ShelterDatasetChangedEvent.Source.LOADED) {
+            return;
+        }
+        ShelterDataset dataset = event.getDataset();
+        try {
+            Files.createDirectories(sharedDir);
+            ShelterSnapshotFile.write(dataset, snapshotPath(dataset.getGeneration()));
+
+            Path lockPath = sharedDir.resolve(LOCK_FILE).toAbsolutePath().normalize();
+            synchronized (PROCESS_LOCKS.computeIfAbsent(lockPath, path -> new Object())) {
+                try (FileChannel lockChannel = FileChannel.open(lockPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = lockChannel.lock()) {
+
+                    long current = readCurrentGeneration();
+                    if (dataset.getGeneration() <= current) {
+                        logger.info("공유 디렉터리에 더 새로운 세대가 있어 CURRENT 는 유지: mine={}, current={}",
+                                dataset.getGeneration(), current);
+                        return;
+                    }
+                    writeCurrentGeneration(dataset.getGeneration());
+                    deleteOldGenerations();
+                }
+            }
+            logger.info("공유 데이터 세대 게시: generation={}, dir={}", dataset.getGeneration(), sharedDir);
+        } catch (IOException e) {
+            logger.error("공유 데이터 세대 게시 실패: generation={}", dataset.getGeneration(), e);
+        }
+    }
+
+    // =========================================================
+    // 2. 세대 받아오기
+    // =========================================================
+
+    /**
+     * CURRENT 가 가리키는 세대가 지금보다 새로우면 받아와서 교체한다.
+     */
+    @Scheduled(fixedDelayString = "${app.generation.poll-interval-ms:5000}")
+    public void pollSharedGeneration() {
+        if (sharedDir == null) {
+            return;
+        }
+        try {
+            long latest = readCurrentGeneration();
+            ShelterDataset current = shelterCatalog.getCurrent();
+            if (latest < 0 || (current != null && latest <= current.getGeneration())) {
+                return;
+            }
+
+            ShelterDataset dataset = ShelterSnapshotFile.read(snapshotPath(latest));
+            shelterCatalog.publish(dataset, ShelterDatasetChangedEvent.Source.SHARED_GENERATION);
+            logger.info("공유 데이터 세대 적용: generation={}, 개수={}", latest, dataset.size());
+        } catch (IOException e) {
+            logger.warn("공유 데이터 세대를 읽지 못했습니다. 다음 주기에 다시 시도합니다: {}", e.getMessage());
+        }
+    }
+
+    // =========================================================
+    // 내부 유틸
+    // =========================================================
+
+    private Path snapshotPath(long generation) {
+        return sharedDir.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+    }
+
+    // CURRENT 파일의 세대 번호 (없으면 -1)
+    private long readCurrentGeneration() throws IOException {
+        Path current = sharedDir.resolve(CURRENT_FILE);
+        if (!Files.isRegularFile(current)) {
+            return -1;
+        }
+        String text = Files.readString(current, StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("CURRENT 파일 내용이 올바르지 않습니다: " + text);
+        }
+    }
+
+    // 임시 파일에 쓰고 rename 해서, 읽는 쪽이 반쯤 쓰인 내용을 보지 않게 한다
+    private void writeCurrentGeneration(long generation) throws IOException {
+        Path tmp = Files.createTempFile(sharedDir, CURRENT_FILE, ".tmp");
+        try {
+            Files.writeString(tmp, Long.toString(generation), StandardCharsets.UTF_8);
+            Files.move(tmp, sharedDir.resolve(CURRENT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 최근 keepGenerations 개만 남기고 오래된 세대 파일 삭제
+    private void deleteOldGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sharedDir, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(
+                            name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // 형식이 다른 파일은 건드리지 않는다
+                }
+            }
+        }
+        Collections.sort(generations, Collections.reverseOrder());
+        for (int i = keepGenerations; i < generations.size(); i++) {
+            Files.deleteIfExists(snapshotPath(generations.get(i)));
+        }
+    }
+}
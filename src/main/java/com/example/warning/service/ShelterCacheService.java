@@ -0,0 +1,102 @@
+// src/main/java/com/example/warning/service/ShelterCacheService.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.repository.TsunamiShelterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 대피소 Hibernate 2차 캐시 관리 (/admin/cache-stats)
+ *
+ * - 엔티티 캐시(TsunamiShelter, READ_ONLY)와 쿼리 결과 캐시(개수, 주소/이름 검색)는 데이터 세대 단위로 유지한다.
+ *   캐시 키/영역에 세대를 넣지는 않고, 데이터 세대가 바뀌면(ShelterDatasetChangedEvent) 두 영역을 모두 비운다.
+ * - 이 캐시를 타는 건 메모리 데이터(ShelterCatalog)가 아직 없을 때의 DB 대체 경로뿐이다.
+ *   데이터가 올라온 뒤에는 getShelterCount / search 가 저장소까지 가지 않는다.
+ * - DB 를 직접 바꾸는 경우에는 Hibernate 가 테이블 변경 시각으로 쿼리 결과 캐시를 알아서 무효화하지만,
+ *   스냅샷 복원/다른 노드 세대 수신은 DB 를 거치지 않으므로 여기서 명시적으로 비운다.
+ * - 통계는 hibernate.generate_statistics=true 일 때만 쌓인다. (stats 프로파일, application-stats.properties)
+ */
+@Service
+public class ShelterCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShelterCacheService.class);
+
+    private final SessionFactory sessionFactory;
+    private final ShelterCatalog shelterCatalog;
+
+    // 마지막으로 캐시를 비운 데이터 세대 (-1 = 아직 없음)
+    private volatile long evictedGeneration = -1;
+
+    public ShelterCacheService(EntityManagerFactory entityManagerFactory, ShelterCatalog shelterCatalog) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.shelterCatalog = shelterCatalog;
+    }
+
+    /**
+     * 데이터 세대가 바뀌면 캐시를 비운다.
+     * - /admin/initialize 처럼 DB 를 바꾸는 트랜잭션 안에서 발행되면 커밋 뒤에 비운다.
+     *   (커밋 전에 비우면 그 사이 다른 요청이 옛 데이터를 다시 캐시에 넣을 수 있다)
+     * - 트랜잭션 밖에서 발행되면(스냅샷 복원, 공유 세대 수신) 바로 비운다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        evictAll();
+        evictedGeneration = event.getDataset().getGeneration();
+        logger.info("2차 캐시 비움: generation={}, source={}", evictedGeneration, event.getSource());
+    }
+
+    public void evictAll() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(TsunamiShelter.class);
+        cache.evictQueryRegion(TsunamiShelterRepository.QUERY_CACHE_REGION);
+    }
+
+    /**
+     * 캐시 통계 (애플리케이션 시작 이후 누적)
+     * - prepareStatementCount 가 실제 DB 왕복 수, queryExecutionCount 는 캐시에서 못 찾고 DB 에서 실행한 쿼리 수
+     */
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("generation", dataset != null ? dataset.getGeneration() : null);
+        result.put("evictedGeneration", evictedGeneration >= 0 ? evictedGeneration : null);
+        result.put("since", statistics.getStart() != null ? statistics.getStart().toString() : null);
+        result.put("entityCache", region(statistics, TsunamiShelter.CACHE_REGION));
+        result.put("queryCache", region(statistics, TsunamiShelterRepository.QUERY_CACHE_REGION));
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("entityLoadCount", statistics.getEntityLoadCount());
+        result.put("entityFetchCount", statistics.getEntityFetchCount());
+        return result;
+    }
+
+    private static Map<String, Object> region(Statistics statistics, String regionName) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+        if (region == null) {
+            return result;
+        }
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        result.put("hitCount", hits);
+        result.put("missCount", misses);
+        result.put("putCount", region.getPutCount());
+        result.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        result.put("elementCountInMemory", region.getElementCountInMemory());
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/example/warning/service/ShelterCatalog.java
+package com.example.warning.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 서비스 중인 대피소 데이터 세대(ShelterDataset)를 들고 있는 컴포넌트.
+ *
+ * - 조회 요청은 DB 대신 여기 있는 메모리 인덱스를 사용한다.
+ * - 새 데이터는 publish() 로 참조를 통째로 바꿔 끼운다(atomic swap).
+ *   조회 중이던 요청은 이전 세대를 끝까지 사용하므로 락이 필요 없다.
+ */
+@Component
+public class ShelterCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShelterCatalog.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile ShelterDataset current;
+
+    public ShelterCatalog(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 현재 데이터 세대 (아직 아무 데이터도 없으면 null)
+     */
+    public ShelterDataset getCurrent() {
+        return current;
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    /**
+     * 새 데이터 세대로 교체하고 ShelterDatasetChangedEvent 를 발행한다.
+     */
+    public void publish(ShelterDataset dataset, ShelterDatasetChangedEvent.Source source) {
+        ShelterDataset previous;
+        synchronized (this) {
+            previous = current;
+            current = dataset;
+        }
+        logger.info("대피소 데이터 세대 교체: generation={}, 개수={}, source={}",
+                dataset.getGeneration(), dataset.size(), source);
+
+        eventPublisher.publishEvent(new ShelterDatasetChangedEvent(dataset, previous, source));
+    }
+}
@@ -0,0 +1,127 @@
+// src/main/java/com/example/warning/service/ShelterDataset.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.SpatialGridIndex;
+import com.example.warning.util.TextNgramIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 한 번 불러온 대피소 데이터 묶음(세대, generation)과 그 위에 만든 메모리 인덱스.
+ *
+ * - 생성 후에는 바뀌지 않는다(immutable). 데이터가 새로 들어오면 새 객체를 만들어 통째로 교체한다.
+ * - 공간 인덱스(SpatialGridIndex): 가까운 대피소 / 반경 검색
+ * - 텍스트 인덱스(TextNgramIndex): 이름 / 주소 포함 검색
+ * - generation 은 데이터 세대를 구분하는 값으로, 스냅샷 파일 버전 등에 사용된다.
+ */
+public class ShelterDataset {
+
+    // 공간 인덱스 셀 크기 (도 단위, 약 5km)
+    public static final double SPATIAL_CELL_DEG = 0.05;
+
+    private final long generation;
+    private final List<TsunamiShelter> shelters;
+    private final SpatialGridIndex spatialIndex;
+    private final TextNgramIndex nameIndex;
+    private final TextNgramIndex addressIndex;
+
+    public ShelterDataset(long generation, List<TsunamiShelter> shelters,
+                          SpatialGridIndex spatialIndex, TextNgramIndex nameIndex, TextNgramIndex addressIndex) {
+        this.generation = generation;
+        this.shelters = Collections.unmodifiableList(new ArrayList<>(shelters));
+        this.spatialIndex = spatialIndex;
+        this.nameIndex = nameIndex;
+        this.addressIndex = addressIndex;
+    }
+
+    /**
+     * 대피소 리스트로 인덱스를 모두 새로 만든다.
+     */
+    public static ShelterDataset build(long generation, List<TsunamiShelter> shelters) {
+        int n = shelters.size();
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        String[] names = new String[n];
+        String[] addresses = new String[n];
+        for (int i = 0; i < n; i++) {
+            TsunamiShelter shelter = shelters.get(i);
+            lats[i] = shelter.getLatitude() != null ? shelter.getLatitude() : Double.NaN;
+            lngs[i] = shelter.getLongitude() != null ? shelter.getLongitude() : Double.NaN;
+            names[i] = shelter.getShelterName();
+            addresses[i] = shelter.getAddress();
+        }
+
+        return new ShelterDataset(generation, shelters,
+                SpatialGridIndex.build(lats, lngs, SPATIAL_CELL_DEG),
+                TextNgramIndex.build(names),
+                TextNgramIndex.build(addresses));
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * 가장 가까운 대피소 limit 개 (거리 오름차순, distanceFromUser 채운 복사본)
+     */
+    public List<TsunamiShelter> findNearest(double lat, double lng, int limit) {
+        return withDistance(spatialIndex.nearest(lat, lng, limit), lat, lng);
+    }
+
+    /**
+     * 반경 radiusKm 이내 대피소 (거리 오름차순, distanceFromUser 채운 복사본)
+     */
+    public List<TsunamiShelter> findWithinRadius(double lat, double lng, double radiusKm) {
+        List<TsunamiShelter> result = withDistance(spatialIndex.withinRadius(lat, lng, radiusKm), lat, lng);
+        result.sort(Comparator.comparing(TsunamiShelter::getDistanceFromUser));
+        return result;
+    }
+
+    /**
+     * 대피소명에 keyword 가 포함된 대피소 (저장 순서)
+     */
+    public List<TsunamiShelter> searchByName(String keyword) {
+        return select(nameIndex.search(keyword));
+    }
+
+    /**
+     * 주소에 keyword 가 포함된 대피소 (저장 순서)
+     */
+    public List<TsunamiShelter> searchByAddress(String keyword) {
+        return select(addressIndex.search(keyword));
+    }
+
+    // id 목록 → distanceFromUser 를 채운 응답용 복사본 (순서 유지)
+    List<TsunamiShelter> withDistance(int[] ids, double lat, double lng) {
+        List<TsunamiShelter> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            TsunamiShelter copy = shelters.get(id).copy();
+            copy.setDistanceFromUser(spatialIndex.distanceTo(id, lat, lng));
+            result.add(copy);
+        }
+        return result;
+    }
+
+    private List<TsunamiShelter> select(int[] ids) {
+        List<TsunamiShelter> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(shelters.get(id));
+        }
+        return result;
+    }
+
+    // =========================================================
+    // Getter
+    // =========================================================
+
+    public long getGeneration() { return generation; }
+    public List<TsunamiShelter> getShelters() { return shelters; }
+    public int size() { return shelters.size(); }
+    public SpatialGridIndex getSpatialIndex() { return spatialIndex; }
+    public TextNgramIndex getNameIndex() { return nameIndex; }
+    public TextNgramIndex getAddressIndex() { return addressIndex; }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/example/warning/service/ShelterDatasetChangedEvent.java
+package com.example.warning.service;
+
+/**
+ * ShelterCatalog 의 현재 데이터 세대가 교체되었을 때 발행되는 스프링 이벤트.
+ *
+ * - 스냅샷 저장, 파생 인덱스 재생성 등 "데이터가 바뀌면 해야 하는 일"은 이 이벤트를 구독해서 처리한다.
+ */
+public class ShelterDatasetChangedEvent {
+
+    /**
+     * 데이터가 어디서 왔는지
+     */
+    public enum Source {
+        /** 공공데이터 API 를 호출해서 새로 불러옴 */
+        LOADED,
+        /** 로컬 스냅샷 파일에서 복원함 (웜 스타트) */
+        LOCAL_SNAPSHOT,
+        /** 다른 노드가 공유 디렉터리에 올린 세대를 받아옴 */
+        SHARED_GENERATION
+    }
+
+    private final ShelterDataset dataset;
+    private final ShelterDataset previous;
+    private final Source source;
+
+    public ShelterDatasetChangedEvent(ShelterDataset dataset, ShelterDataset previous, Source source) {
+        this.dataset = dataset;
+        this.previous = previous;
+        this.source = source;
+    }
+
+    public ShelterDataset getDataset() { return dataset; }
+    public ShelterDataset getPrevious() { return previous; }
+    public Source getSource() { return source; }
+}
@@ -0,0 +1,180 @@
+// src/main/java/com/example/warning/service/ShelterExportService.java
+package com.example.warning.service;
+
+import com.example.warning.dto.ShelterExport;
+import com.example.warning.model.TsunamiShelter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 대피소 데이터 내보내기(/api/shelters/export) 서비스.
+ *
+ * - 데이터 세대마다 JSON 을 한 번만 직렬화하고, gzip 압축본도 미리 만들어 둔다.
+ * - 요청마다 다시 직렬화하지 않고 만들어 둔 byte[] 를 그대로 응답한다.
+ * - ETag 는 데이터 세대(generation)로 정해서, 데이터가 바뀌지 않았으면 304 로 응답할 수 있게 한다.
+ */
+@Service
+public class ShelterExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShelterExportService.class);
+
+    private final ShelterCatalog shelterCatalog;
+    private final ObjectMapper objectMapper;
+
+    private volatile Export current;
+
+    public ShelterExportService(ShelterCatalog shelterCatalog, ObjectMapper objectMapper) {
+        this.shelterCatalog = shelterCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 현재 데이터 세대의 내보내기 결과 (데이터가 아직 없으면 null)
+     */
+    public Export getExport() {
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset == null) {
+            return null;
+        }
+        Export export = current;
+        if (export == null || export.getGeneration() != dataset.getGeneration()) {
+            export = build(dataset);
+            current = export;
+        }
+        return export;
+    }
+
+    /**
+     * 데이터가 바뀌면 미리 만들어 둔다. (첫 요청이 직렬화 비용을 떠안지 않도록)
+     */
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        current = build(event.getDataset());
+        logger.info("내보내기 데이터 생성: generation={}, json={}KB, gzip={}KB",
+                current.getGeneration(), current.getJson().length / 1024, current.getGzip().length / 1024);
+    }
+
+    /**
+     * Accept-Encoding 헤더로 보아 gzip 본문을 보내도 되는지.
+     * - "gzip" 의 q 값이 0 보다 크면 true, 명시적으로 q=0 이면 false
+     * - gzip 이 없으면 "*" 의 q 값을 따른다. (x-gzip 만 있으면 원본을 보낸다)
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0.0; // 알아볼 수 없는 q 값은 거절로 본다
+                    }
+                }
+            }
+            if (coding.equals("gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    private Export build(ShelterDataset dataset) {
+        List<ShelterExport.Item> items = new ArrayList<>(dataset.size());
+        for (TsunamiShelter shelter : dataset.getShelters()) {
+            ShelterExport.Item item = new ShelterExport.Item();
+            item.setId(shelter.getId());
+            item.setShelterName(shelter.getShelterName());
+            item.setAddress(shelter.getAddress());
+            item.setLatitude(shelter.getLatitude());
+            item.setLongitude(shelter.getLongitude());
+            item.setAccommodationCapacity(shelter.getAccommodationCapacity());
+            items.add(item);
+        }
+        ShelterExport body = new ShelterExport();
+        body.setGeneration(dataset.getGeneration());
+        body.setCount(items.size());
+        body.setShelters(items);
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Export(dataset.getGeneration(), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("내보내기 데이터 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 한 데이터 세대의 내보내기 결과 (JSON 원본 + gzip)
+     */
+    public static class Export {
+        private final long generation;
+        private final String etag;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        Export(long generation, byte[] json, byte[] gzip) {
+            this.generation = generation;
+            this.etag = "\"shelters-" + generation + "\"";
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        /**
+         * If-None-Match 헤더 값이 현재 ETag 와 일치하는지 (여러 개, W/ 약한 비교, * 지원)
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public long getGeneration() { return generation; }
+        public String getEtag() { return etag; }
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+    }
+}
@@ -8,10 +8,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +25,13 @@ import java.util.stream.Collectors;
  *  1) 공공데이터포털 API 연동을 통해 대피소 데이터를 DB에 초기화 (ApiService 사용)
  *  2) 현재 위치 기준 가까운 대피소 조회
  *  3) 주소/이름으로 대피소 검색
+ *  4) 반경 내 대피소 조회
+ *
+ * ※ 침수 예상 구역 데이터가 있으면(InundationZoneService) 2), 4) 결과에 침수 구역 여부를 채우고
+ *    정책에 따라 침수 구역 안 대피소를 빼거나 순위를 뒤로 미룬다.
+ *
+ * ※ 조회(2, 3)는 ShelterCatalog 에 데이터가 올라와 있으면 메모리 인덱스를 사용하고,
+ *    아직 없을 때만 DB 를 직접 조회한다.
  *
  * ※ 지금 실제로 사용하는 메서드만 활성화하고,
  *    컨트롤러에서 주석 처리해둔 기능과 연결되는 메서드는 여기서도 주석 처리해서
@@ -34,11 +45,21 @@ public class ShelterService {
 
     private final TsunamiShelterRepository shelterRepository;
     private final ApiService apiService;
+    private final ShelterCatalog shelterCatalog;
+    private final NearestShelterGridService nearestShelterGridService;
+    private final WalkingRouteService walkingRouteService;
+    private final InundationZoneService inundationZoneService;
 
     // 생성자 주입 (권장 방식)
-    public ShelterService(TsunamiShelterRepository shelterRepository, ApiService apiService) {
+    public ShelterService(TsunamiShelterRepository shelterRepository, ApiService apiService,
+                          ShelterCatalog shelterCatalog, NearestShelterGridService nearestShelterGridService,
+                          WalkingRouteService walkingRouteService, InundationZoneService inundationZoneService) {
         this.shelterRepository = shelterRepository;
         this.apiService = apiService;
+        this.shelterCatalog = shelterCatalog;
+        this.nearestShelterGridService = nearestShelterGridService;
+        this.walkingRouteService = walkingRouteService;
+        this.inundationZoneService = inundationZoneService;
     }
 
     // =========================================================
@@ -48,9 +69,21 @@ public class ShelterService {
     /**
      * DB에 저장된 대피소 전체 개수 조회
      * - 메인 페이지 상단에 "총 N개" 표시용.
+     * - 메모리 데이터가 없을 때는 쿼리 결과 캐시를 쓰는 countCached() 로 조회한다. (페이지뷰마다 COUNT 쿼리 X)
      */
     public long getShelterCount() {
-        return shelterRepository.count();
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset != null) {
+            return dataset.size();
+        }
+        return shelterRepository.countCached();
+    }
+
+    /**
+     * 사용자 위치가 지진해일 침수 예상 구역 안인지 (침수 구역 데이터가 없으면 false)
+     */
+    public boolean isInInundationZone(double userLat, double userLng) {
+        return inundationZoneService.isInZone(userLat, userLng);
     }
 
     // =========================================================
@@ -62,8 +95,11 @@ public class ShelterService {
      *
      * 동작 순서:
      *  1) 기존 DB 데이터 모두 삭제
-     *  2) ApiService.fetchAllShelterData() 호출 → 실제 공공데이터 API에서 모든 대피소 조회
+     *  2) ApiService.fetchAllShelterData() 호출 → 공공데이터 API(DSSP, data.go.kr)를 동시에 조회해 중복을 합친 대피소 목록
      *  3) 불러온 TsunamiShelter 리스트를 DB에 저장
+     *  4) 저장된 데이터로 메모리 인덱스(ShelterDataset)를 만들어, 트랜잭션이 커밋된 뒤에 ShelterCatalog 교체
+     *     → 이 때 스냅샷 파일도 함께 갱신된다 (ShelterSnapshotService)
+     *     → 커밋에 실패(롤백)하면 메모리 데이터/스냅샷은 이전 세대 그대로 둔다
      *
      * @return 초기화 결과 메시지 (화면에 그대로 보여주기 위함)
      */
@@ -85,12 +121,40 @@ public class ShelterService {
         }
 
         // 3) DB에 저장
-        shelterRepository.saveAll(shelters);
+        List<TsunamiShelter> saved = shelterRepository.saveAll(shelters);
         logger.info("DB에 대피소 데이터 저장 완료");
 
+        // 4) 메모리 인덱스 교체 (커밋 후)
+        publishAfterCommit(ShelterDataset.build(System.currentTimeMillis(), saved));
+
         return "초기화 완료: 총 " + shelters.size() + "개의 대피소 데이터를 불러왔습니다.";
     }
 
+    /**
+     * 현재 트랜잭션이 커밋되면 새 데이터 세대를 발행한다. (트랜잭션 밖에서 불리면 바로 발행)
+     *
+     * afterCommit 이 아니라 afterCompletion 에서 발행한다.
+     * afterCommit 중에 발행하면 @TransactionalEventListener(ShelterCacheService)가 이미 끝나가는 트랜잭션에
+     * 등록되어 호출되지 않는다. afterCompletion 시점에는 트랜잭션 동기화가 풀려 있어서 바로 호출된다.
+     */
+    private void publishAfterCommit(ShelterDataset dataset) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shelterCatalog.publish(dataset, ShelterDatasetChangedEvent.Source.LOADED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    shelterCatalog.publish(dataset, ShelterDatasetChangedEvent.Source.LOADED);
+                } else {
+                    logger.warn("대피소 데이터 저장이 커밋되지 않아 메모리 데이터를 교체하지 않습니다: generation={}",
+                            dataset.getGeneration());
+                }
+            }
+        });
+    }
+
     // =========================================================
     // 2. 현재 위치 기준 가장 가까운 대피소 목록
     // =========================================================
@@ -99,6 +163,10 @@ public class ShelterService {
      * 사용자 현재 위치 기준으로 가장 가까운 대피소들을 조회한다.
      *
      * 동작 방식:
+     *  - 침수 예상 구역 데이터가 있으면 거리 순 후보(사전 계산 격자 → 공간 인덱스)에 침수 구역 정책(제외/순위 하향)을 적용해 반환
+     *  - 없으면 사전 계산 격자가 준비되어 있을 때 셀 후보 목록만 거리 계산해서 반환 (O(1))
+     *  - ShelterCatalog 가 있으면 공간 인덱스로 주변 셀만 확인해서 바로 반환
+     *  - 없으면 아래처럼 DB 전체를 훑는다
      *  1) DB에서 모든 대피소를 조회
      *  2) 각 대피소에 대해 DistanceCalculator.calculateDistance 로 거리 계산
      *  3) 엔티티의 transient 필드(distanceFromUser)에 거리 저장
@@ -107,6 +175,11 @@ public class ShelterService {
     public List<TsunamiShelter> findNearestShelters(double userLat, double userLng, int limit) {
         logger.info("가장 가까운 대피소 조회: lat={}, lng={}, limit={}", userLat, userLng, limit);
 
+        List<TsunamiShelter> inMemory = findNearestSheltersInMemory(userLat, userLng, limit);
+        if (inMemory != null) {
+            return inMemory;
+        }
+
         List<TsunamiShelter> allShelters = shelterRepository.findAll();
 
         // 위도/경도가 있는 데이터만 대상으로 거리 계산
@@ -124,11 +197,70 @@ public class ShelterService {
         });
 
         // 거리값이 있는 것만 필터링해서 가까운 순으로 정렬 → limit 개수까지 자르기
-        return allShelters.stream()
+        return inundationZoneService.tagAndFilter(allShelters.stream()
                 .filter(s -> s.getDistanceFromUser() != null)
                 .sorted(Comparator.comparing(TsunamiShelter::getDistanceFromUser))
                 .limit(limit)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 메모리 인덱스(사전 계산 격자 → 공간 인덱스)만으로 가장 가까운 대피소를 조회한다.
+     * - DB 를 전혀 사용하지 않으므로, 과부하 상황(AdmissionControlFilter 의 degraded 요청)에서도 쓸 수 있다.
+     *
+     * @return 메모리에 올라온 데이터가 없으면 null
+     */
+    public List<TsunamiShelter> findNearestSheltersInMemory(double userLat, double userLng, int limit) {
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset == null) {
+            return null;
+        }
+        // 침수 구역이 있으면 격자 후보에 침수 구역 점수를 다시 매긴다 (격자만으로는 침수 구역 정책을 알 수 없음)
+        List<TsunamiShelter> hazardAware = inundationZoneService.findNearest(dataset, userLat, userLng, limit,
+                nearestShelterGridService);
+        if (hazardAware != null) {
+            return hazardAware;
+        }
+        List<TsunamiShelter> fromGrid = nearestShelterGridService.findNearest(dataset, userLat, userLng, limit);
+        if (fromGrid != null) {
+            return fromGrid;
+        }
+        return dataset.findNearest(userLat, userLng, limit);
+    }
+
+    /**
+     * 도보 소요 시간(도로망 기준)으로 가장 가까운 대피소를 조회한다.
+     * - 보행 그래프가 준비되지 않았거나 사용자 위치가 도로망 밖이면 직선거리 기준 결과로 대체한다.
+     * - 도로망으로 이어지는 대피소가 limit 개보다 적으면 나머지는 직선거리 순으로 뒤에 붙인다. (walkingMinutes 없음)
+     */
+    public List<TsunamiShelter> findNearestSheltersByWalkingTime(double userLat, double userLng, int limit) {
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset != null) {
+            List<TsunamiShelter> walking = walkingRouteService.rankByWalkingTime(dataset, userLat, userLng, limit);
+            if (walking != null) {
+                if (walking.size() < limit) {
+                    walking = appendStraightLine(dataset, walking, userLat, userLng, limit);
+                }
+                return inundationZoneService.tagAndFilter(walking);
+            }
+        }
+        return findNearestShelters(userLat, userLng, limit);
+    }
+
+    // 도로망으로 이어지지 않는 대피소는 직선거리 순으로 뒤에 붙인다
+    private List<TsunamiShelter> appendStraightLine(ShelterDataset dataset, List<TsunamiShelter> walking,
+                                                    double userLat, double userLng, int limit) {
+        List<TsunamiShelter> result = new ArrayList<>(walking);
+        Set<Long> included = walking.stream().map(TsunamiShelter::getId).collect(Collectors.toSet());
+        for (TsunamiShelter shelter : dataset.findNearest(userLat, userLng, limit + walking.size())) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!included.contains(shelter.getId())) {
+                result.add(shelter);
+            }
+        }
+        return result;
     }
 
     // =========================================================
@@ -145,6 +277,15 @@ public class ShelterService {
     public List<TsunamiShelter> search(String type, String keyword) {
         logger.info("대피소 검색 요청: type={}, keyword={}", type, keyword);
 
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset != null) {
+            if ("address".equalsIgnoreCase(type)) {
+                return dataset.searchByAddress(keyword);
+            } else if ("name".equalsIgnoreCase(type)) {
+                return dataset.searchByName(keyword);
+            }
+        }
+
         if ("address".equalsIgnoreCase(type)) {
             // 주소에 keyword 가 포함되는 대피소 검색
             return shelterRepository.findByAddressContaining(keyword);
@@ -158,21 +299,27 @@ public class ShelterService {
     }
 
     // =========================================================
-    // 4. 지금은 안 쓰지만 나중에 다시 쓸 수 있는 메서드들 (주석으로 보존)
+    // 4. 반경 내 대피소
     // =========================================================
 
-    /*
-     * [현재 미사용] 반경 내 대피소 검색
+    /**
+     * 반경 내 대피소 검색
      *
-     * - 컨트롤러의 /api/shelters-in-radius 엔드포인트와 함께 사용.
-     * - DistanceCalculator.calculateSearchBounds 로 사각형 범위를 구한 후,
+     * - ShelterCatalog 가 있으면 공간 인덱스로 반경 안 대피소만 바로 찾는다.
+     *   (침수 예상 구역 데이터가 있으면 정책에 따라 제외/순위 하향)
+     * - 없으면 DistanceCalculator.calculateSearchBounds 로 사각형 범위를 구한 후,
      *   Repository.findSheltersInRange(...) 로 1차 필터링,
      *   이후 실제 거리 계산으로 반경 안에 들어오는 대피소만 다시 필터링하는 구조.
      */
-    /*
     public List<TsunamiShelter> findSheltersWithinRadius(double userLat, double userLng, double radiusKm) {
         logger.info("반경 내 대피소 조회: lat={}, lng={}, radius={}km", userLat, userLng, radiusKm);
 
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset != null) {
+            List<TsunamiShelter> hazardAware = inundationZoneService.findWithinRadius(dataset, userLat, userLng, radiusKm);
+            return hazardAware != null ? hazardAware : dataset.findWithinRadius(userLat, userLng, radiusKm);
+        }
+
         // 1차: 위도/경도 범위로 후보 군 추리기 (DB 레벨에서 필터링)
         double[] bounds = DistanceCalculator.calculateSearchBounds(userLat, userLng, radiusKm);
         List<TsunamiShelter> candidates = shelterRepository.findSheltersInRange(
@@ -181,7 +328,7 @@ public class ShelterService {
         );
 
         // 2차: 실제 거리 계산해서 radiusKm 이내만 필터링
-        return candidates.stream()
+        return inundationZoneService.tagAndFilter(candidates.stream()
                 .peek(shelter -> {
                     double distance = DistanceCalculator.calculateDistance(
                             userLat, userLng,
@@ -191,9 +338,12 @@ public class ShelterService {
                 })
                 .filter(shelter -> shelter.getDistanceFromUser() <= radiusKm)
                 .sorted(Comparator.comparing(TsunamiShelter::getDistanceFromUser))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
-    */
+
+    // =========================================================
+    // 5. 지금은 안 쓰지만 나중에 다시 쓸 수 있는 메서드들 (주석으로 보존)
+    // =========================================================
 
     /*
      * [현재 미사용] 전체 대피소 목록 조회
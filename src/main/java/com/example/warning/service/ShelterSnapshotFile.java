@@ -0,0 +1,272 @@
+// src/main/java/com/example/warning/service/ShelterSnapshotFile.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.SpatialGridIndex;
+import com.example.warning.util.TextNgramIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * ShelterDataset 을 바이너리 스냅샷 파일로 저장/복원한다.
+ *
+ * 파일 구조 (big-endian):
+ *  - 헤더: magic(int) | format version(int) | generation(long) | payload 길이(long) | payload CRC32(long)
+ *  - payload:
+ *     1) 대피소 레코드들
+ *     2) 공간 인덱스 배열 (cellKeys, cellStarts, pointIds)
+ *     3) 이름 / 주소 텍스트 인덱스 배열 (grams, gramStarts, postings)
+ *
+ * 인덱스까지 그대로 저장해두기 때문에, 읽을 때는 파일을 메모리 매핑한 뒤 배열로 복사만 하면 된다.
+ * 쓰기는 임시 파일에 먼저 쓰고 rename 해서, 쓰는 도중 죽어도 기존 스냅샷이 깨지지 않게 한다.
+ */
+public final class ShelterSnapshotFile {
+
+    public static final int MAGIC = 0x53485350; // "SHSP"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private ShelterSnapshotFile() {}
+
+    // =========================================================
+    // 쓰기
+    // =========================================================
+
+    /**
+     * 스냅샷 파일을 원자적으로 기록한다. (임시 파일 → rename)
+     */
+    public static void write(ShelterDataset dataset, Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(dataset, out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 스냅샷 바이트를 스트림에 기록한다.
+     */
+    public static void write(ShelterDataset dataset, OutputStream out) throws IOException {
+        byte[] payload = encodePayload(dataset);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeLong(dataset.getGeneration());
+        header.writeLong(payload.length);
+        header.writeLong(crc.getValue());
+        header.write(payload);
+        header.flush();
+    }
+
+    private static byte[] encodePayload(ShelterDataset dataset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        // 1) 레코드
+        List<TsunamiShelter> shelters = dataset.getShelters();
+        out.writeInt(shelters.size());
+        for (TsunamiShelter s : shelters) {
+            out.writeLong(s.getId() != null ? s.getId() : -1L);
+            writeString(out, s.getShelterName());
+            writeString(out, s.getAddress());
+            out.writeDouble(s.getLatitude() != null ? s.getLatitude() : Double.NaN);
+            out.writeDouble(s.getLongitude() != null ? s.getLongitude() : Double.NaN);
+            writeString(out, s.getFacilityArea());
+            out.writeInt(s.getAccommodationCapacity() != null ? s.getAccommodationCapacity() : NULL_INT);
+            writeString(out, s.getManagementAgency());
+            writeString(out, s.getContactNumber());
+            writeString(out, s.getDesignationDate());
+        }
+
+        // 2) 공간 인덱스
+        SpatialGridIndex spatial = dataset.getSpatialIndex();
+        out.writeDouble(spatial.getCellDeg());
+        writeLongs(out, spatial.getCellKeys());
+        writeInts(out, spatial.getCellStarts());
+        writeInts(out, spatial.getPointIds());
+
+        // 3) 텍스트 인덱스
+        writeTextIndex(out, dataset.getNameIndex());
+        writeTextIndex(out, dataset.getAddressIndex());
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeTextIndex(DataOutputStream out, TextNgramIndex index) throws IOException {
+        writeInts(out, index.getGrams());
+        writeInts(out, index.getGramStarts());
+        writeInts(out, index.getPostings());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int v : values) {
+            out.writeInt(v);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long v : values) {
+            out.writeLong(v);
+        }
+    }
+
+    // =========================================================
+    // 읽기
+    // =========================================================
+
+    /**
+     * 스냅샷 파일을 메모리 매핑해서 ShelterDataset 으로 복원한다.
+     *
+     * @throws IOException 파일을 읽을 수 없거나, 형식/버전/체크섬이 맞지 않을 때
+     */
+    public static ShelterDataset read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(mapped);
+        }
+    }
+
+    /**
+     * 스냅샷 바이트(헤더 포함)를 ShelterDataset 으로 복원한다.
+     */
+    public static ShelterDataset read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("스냅샷 파일이 너무 짧습니다.");
+        }
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("스냅샷 파일 형식이 아닙니다.");
+        }
+        if (version != FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 스냅샷 버전입니다: " + version);
+        }
+        long generation = buffer.getLong();
+        long payloadLength = buffer.getLong();
+        long expectedCrc = buffer.getLong();
+        if (payloadLength != buffer.remaining()) {
+            throw new IOException("스냅샷 길이가 맞지 않습니다: header=" + payloadLength + ", actual=" + buffer.remaining());
+        }
+
+        ByteBuffer payload = buffer.slice();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("스냅샷 체크섬이 맞지 않습니다.");
+        }
+
+        try {
+            return decodePayload(generation, payload);
+        } catch (RuntimeException e) {
+            throw new IOException("스냅샷 내용을 해석할 수 없습니다.", e);
+        }
+    }
+
+    private static ShelterDataset decodePayload(long generation, ByteBuffer in) {
+        // 1) 레코드
+        int n = in.getInt();
+        List<TsunamiShelter> shelters = new ArrayList<>(n);
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        String[] names = new String[n];
+        String[] addresses = new String[n];
+        for (int i = 0; i < n; i++) {
+            TsunamiShelter s = new TsunamiShelter();
+            long id = in.getLong();
+            s.setId(id >= 0 ? id : null);
+            s.setShelterName(readString(in));
+            s.setAddress(readString(in));
+            lats[i] = in.getDouble();
+            lngs[i] = in.getDouble();
+            s.setLatitude(Double.isNaN(lats[i]) ? null : lats[i]);
+            s.setLongitude(Double.isNaN(lngs[i]) ? null : lngs[i]);
+            s.setFacilityArea(readString(in));
+            int capacity = in.getInt();
+            s.setAccommodationCapacity(capacity != NULL_INT ? capacity : null);
+            s.setManagementAgency(readString(in));
+            s.setContactNumber(readString(in));
+            s.setDesignationDate(readString(in));
+
+            names[i] = s.getShelterName() != null ? s.getShelterName() : "";
+            addresses[i] = s.getAddress() != null ? s.getAddress() : "";
+            shelters.add(s);
+        }
+
+        // 2) 공간 인덱스
+        double cellDeg = in.getDouble();
+        long[] cellKeys = readLongs(in);
+        int[] cellStarts = readInts(in);
+        int[] pointIds = readInts(in);
+        SpatialGridIndex spatial = new SpatialGridIndex(cellDeg, lats, lngs, cellKeys, cellStarts, pointIds);
+
+        // 3) 텍스트 인덱스
+        TextNgramIndex nameIndex = new TextNgramIndex(names, readInts(in), readInts(in), readInts(in));
+        TextNgramIndex addressIndex = new TextNgramIndex(addresses, readInts(in), readInts(in), readInts(in));
+
+        return new ShelterDataset(generation, shelters, spatial, nameIndex, addressIndex);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int[] readInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + values.length * 4);
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer in) {
+        long[] values = new long[in.getInt()];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + values.length * 8);
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+// src/main/java/com/example/warning/service/ShelterSnapshotService.java
+package com.example.warning.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 로컬 디스크 스냅샷을 이용한 웜 스타트(warm start) 서비스.
+ *
+ * 동작:
+ *  1) 데이터를 새로 불러오거나 다른 노드에서 받아올 때마다(ShelterDatasetChangedEvent) 스냅샷 파일을 갱신한다.
+ *  2) 애플리케이션이 뜨면 스냅샷 파일을 메모리 매핑해서 바로 ShelterCatalog 에 올린다.
+ *     → /admin/initialize 없이도 재시작 직후부터 /api/nearest-shelters 응답 가능
+ *  3) 스냅샷으로 시작한 경우, 백그라운드에서 공공데이터 API 를 다시 호출해 최신 데이터로 갱신한다.
+ */
+@Service
+public class ShelterSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShelterSnapshotService.class);
+
+    private final ShelterCatalog shelterCatalog;
+    private final ShelterService shelterService;
+    private final Path snapshotPath;
+    private final boolean refreshOnStart;
+
+    public ShelterSnapshotService(
+            ShelterCatalog shelterCatalog,
+            ShelterService shelterService,
+            @Value("${app.snapshot.path:./data/shelters.snap}") String snapshotPath,
+            @Value("${app.snapshot.refresh-on-start:true}") boolean refreshOnStart
+    ) {
+        this.shelterCatalog = shelterCatalog;
+        this.shelterService = shelterService;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.refreshOnStart = refreshOnStart;
+    }
+
+    /**
+     * 기동 직후 스냅샷 복원 + 백그라운드 갱신
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmStart() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            logger.info("스냅샷 파일이 없습니다. (/admin/initialize 로 데이터를 불러와야 합니다): {}", snapshotPath);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ShelterDataset dataset = ShelterSnapshotFile.read(snapshotPath);
+            ShelterDataset current = shelterCatalog.getCurrent();
+            if (current != null && current.getGeneration() >= dataset.getGeneration()) {
+                // 공유 디렉터리 등에서 이미 더 새로운 세대를 받아온 경우
+                logger.info("이미 더 새로운 데이터 세대가 있어 스냅샷을 건너뜁니다: snapshot={}, current={}",
+                        dataset.getGeneration(), current.getGeneration());
+                return;
+            }
+            shelterCatalog.publish(dataset, ShelterDatasetChangedEvent.Source.LOCAL_SNAPSHOT);
+            logger.info("스냅샷 복원 완료: generation={}, 개수={}, {}ms",
+                    dataset.getGeneration(), dataset.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("스냅샷 파일을 읽을 수 없어 무시합니다: {} ({})", snapshotPath, e.getMessage());
+            return;
+        }
+
+        if (refreshOnStart) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    logger.info("백그라운드 데이터 갱신 결과: {}", shelterService.initializeShelterData());
+                } catch (Exception e) {
+                    logger.error("백그라운드 데이터 갱신 중 오류 발생 (스냅샷 데이터로 계속 서비스)", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 새로 불러온(또는 공유 디렉터리에서 받아온) 데이터를 스냅샷 파일로 저장
+     */
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        if (event.getSource() == ShelterDatasetChangedEvent.Source.LOCAL_SNAPSHOT) {
+            return;
+        }
+        try {
+            ShelterSnapshotFile.write(event.getDataset(), snapshotPath);
+            logger.info("스냅샷 저장 완료: generation={}, path={}", event.getDataset().getGeneration(), snapshotPath);
+        } catch (IOException e) {
+            logger.error("스냅샷 저장 실패: {}", snapshotPath, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+// src/main/java/com/example/warning/service/ShelterSource.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+
+import java.util.List;
+
+/**
+ * 대피소 데이터 소스 (공공데이터 API 하나당 구현체 하나).
+ *
+ * ApiService 가 켜져 있는 소스를 모두 동시에 호출하고, 결과를 ShelterDeduplicator 로 합친다.
+ * 빈 등록 순서(@Order)가 곧 우선순위다. 같은 대피소가 여러 소스에 있으면 앞 소스의 값을 기준으로 하고
+ * 비어 있는 필드만 뒤 소스 값으로 채운다.
+ */
+public interface ShelterSource {
+
+    /**
+     * 로그에 남길 소스 이름
+     */
+    String getName();
+
+    /**
+     * 설정상 사용하는 소스인지
+     */
+    boolean isEnabled();
+
+    /**
+     * 소스의 전체 대피소 (API 에서 주지 않는 값은 null)
+     */
+    List<TsunamiShelter> fetchAll();
+}
@@ -0,0 +1,136 @@
+// src/main/java/com/example/warning/service/ViewportClusterService.java
+package com.example.warning.service;
+
+import com.example.warning.dto.ShelterViewport;
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.SpatialGridIndex;
+import com.example.warning.util.ViewportClusterIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 지도 화면 범위(/api/shelters/viewport) 조회 서비스.
+ *
+ * - 데이터 세대마다 줌 레벨별 클러스터 인덱스(ViewportClusterIndex)를 한 번만 만든다.
+ * - 요청마다 해당 줌의 KD-tree 에서 화면 범위만 찾아서 돌려준다.
+ * - 한 응답의 항목 수는 app.viewport.max-items 를 넘지 않는다. (넘으면 더 낮은 줌으로 묶음)
+ */
+@Service
+public class ViewportClusterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewportClusterService.class);
+
+    private final ShelterCatalog shelterCatalog;
+    private final int maxZoom;
+    private final double radiusPx;
+    private final double extentPx;
+    private final int maxItems;
+
+    private volatile Clusters current;
+
+    public ViewportClusterService(
+            ShelterCatalog shelterCatalog,
+            @Value("${app.viewport.max-zoom:16}") int maxZoom,
+            @Value("${app.viewport.radius-px:60}") double radiusPx,
+            @Value("${app.viewport.extent-px:512}") double extentPx,
+            @Value("${app.viewport.max-items:500}") int maxItems
+    ) {
+        this.shelterCatalog = shelterCatalog;
+        this.maxZoom = maxZoom;
+        this.radiusPx = radiusPx;
+        this.extentPx = extentPx;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * 화면 범위 안의 클러스터 / 개별 대피소
+     *
+     * @return 데이터가 아직 없으면 null
+     */
+    public ShelterViewport findInViewport(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        ShelterDataset dataset = shelterCatalog.getCurrent();
+        if (dataset == null) {
+            return null;
+        }
+        Clusters clusters = current;
+        if (clusters == null || clusters.dataset.getGeneration() != dataset.getGeneration()) {
+            clusters = build(dataset);
+            current = clusters;
+        }
+
+        ViewportClusterIndex.Result result = clusters.index.query(minLat, minLng, maxLat, maxLng, zoom, maxItems);
+        List<ShelterViewport.Item> items = new ArrayList<>(result.getNodes().size());
+        for (ViewportClusterIndex.Node node : result.getNodes()) {
+            items.add(toItem(clusters.dataset, node));
+        }
+
+        ShelterViewport viewport = new ShelterViewport();
+        viewport.setGeneration(clusters.dataset.getGeneration());
+        viewport.setZoom(result.getZoom());
+        viewport.setTruncated(result.isTruncated());
+        viewport.setItems(items);
+        return viewport;
+    }
+
+    /**
+     * 데이터가 바뀌면 미리 만들어 둔다. (첫 요청이 인덱스 생성 비용을 떠안지 않도록)
+     */
+    @EventListener
+    public void onDatasetChanged(ShelterDatasetChangedEvent event) {
+        long start = System.nanoTime();
+        current = build(event.getDataset());
+        logger.info("지도 클러스터 인덱스 생성: generation={}, 줌0={}개, 줌{}={}개, {}ms",
+                event.getDataset().getGeneration(), current.index.sizeAt(0),
+                maxZoom, current.index.sizeAt(maxZoom), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Clusters build(ShelterDataset dataset) {
+        SpatialGridIndex spatial = dataset.getSpatialIndex();
+        int[] capacities = new int[dataset.size()];
+        for (int id = 0; id < capacities.length; id++) {
+            Integer capacity = dataset.getShelters().get(id).getAccommodationCapacity();
+            capacities[id] = capacity != null && capacity > 0 ? capacity : 0;
+        }
+        ViewportClusterIndex index = ViewportClusterIndex.build(
+                spatial.getLats(), spatial.getLngs(), capacities, maxZoom, radiusPx, extentPx);
+        return new Clusters(dataset, index);
+    }
+
+    private static ShelterViewport.Item toItem(ShelterDataset dataset, ViewportClusterIndex.Node node) {
+        ShelterViewport.Item item = new ShelterViewport.Item();
+        item.setLatitude(node.getLat());
+        item.setLongitude(node.getLng());
+        item.setCount(node.getCount());
+        item.setCapacity(node.getCapacity());
+        if (node.isCluster()) {
+            item.setType("cluster");
+            item.setExpansionZoom(node.getExpansionZoom());
+        } else {
+            TsunamiShelter shelter = dataset.getShelters().get(node.getShelterId());
+            item.setType("shelter");
+            item.setLatitude(shelter.getLatitude()); // 투영 왕복 오차 없이 원래 좌표
+            item.setLongitude(shelter.getLongitude());
+            item.setId(shelter.getId());
+            item.setShelterName(shelter.getShelterName());
+            item.setAddress(shelter.getAddress());
+            item.setAccommodationCapacity(shelter.getAccommodationCapacity());
+        }
+        return item;
+    }
+
+    private static final class Clusters {
+        private final ShelterDataset dataset;
+        private final ViewportClusterIndex index;
+
+        private Clusters(ShelterDataset dataset, ViewportClusterIndex index) {
+            this.dataset = dataset;
+            this.index = index;
+        }
+    }
+}
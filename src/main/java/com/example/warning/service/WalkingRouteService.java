@@ -0,0 +1,275 @@
+// src/main/java/com/example/warning/service/WalkingRouteService.java
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.util.ContractionHierarchy;
+import com.example.warning.util.SpatialGridIndex;
+import com.example.warning.util.WalkingGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 도로망(보행) 기준 소요 시간으로 가까운 대피소를 정렬하는 서비스.
+ *
+ * 직선거리만 쓰면 강이나 항만 건너편 대피소를 안내하는 경우가 있어서,
+ * 로컬에 준비된 보행 그래프(OSM 추출본, nodes.csv / edges.csv)를 Contraction Hierarchies 로 전처리해두고
+ * "가까운 대피소 k 개까지의 도보 시간"을 계산한다.
+ *
+ * 동작:
+ *  1) 직선거리(haversine) 기준 후보 N 개를 공간 인덱스로 뽑는다. (사전 필터)
+ *  2) 사용자 위치 / 각 후보 대피소를 가장 가까운 그래프 노드에 붙이고(snap), CH 로 도보 거리를 구한다.
+ *  3) 도보 거리는 항상 직선거리 이상이므로, k 번째 도보 거리가 후보 중 가장 먼 직선거리보다 길면
+ *     후보를 두 배로 늘려 다시 계산한다. (후보 밖에 더 가까운 대피소가 없음을 보장)
+ *
+ * app.walking.graph-dir 가 비어 있거나 그래프가 아직 준비되지 않았으면 null 을 반환하고,
+ * ShelterService 가 직선거리 순위로 대체한다. 도로망으로 이어지는 후보가 하나도 없을 때도 null 이다.
+ * (이어지는 대피소가 limit 개보다 적으면 그만큼만 돌려주고, 나머지는 ShelterService 가 직선거리 순으로 채운다)
+ *
+ * CH 조회용 작업 공간(노드 수 크기 배열 한 쌍)은 엔진마다 최대 app.walking.max-concurrent-searches 개까지만 만들어
+ * 풀에서 돌려 쓴다. (기본값은 CRITICAL 동시 처리 한도와 같음, 다 쓰고 있으면 하나가 반납될 때까지 기다린다)
+ * 그래프를 다시 불러오면 풀도 엔진과 함께 버려진다.
+ */
+@Service
+public class WalkingRouteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalkingRouteService.class);
+
+    // 그래프 노드 공간 인덱스 셀 크기 (도 단위, 약 500m)
+    private static final double NODE_CELL_DEG = 0.005;
+
+    private final Path graphDir;
+    private final double walkingSpeedMps;
+    private final double maxSnapMeters;
+    private final int candidateCount;
+    private final int maxCandidateCount;
+    private final int maxConcurrentSearches;
+
+    private volatile Engine engine;
+    private volatile ShelterSnaps shelterSnaps;
+
+    public WalkingRouteService(
+            @Value("${app.walking.graph-dir:}") String graphDir,
+            @Value("${app.walking.speed-mps:1.2}") double walkingSpeedMps,
+            @Value("${app.walking.max-snap-meters:500}") double maxSnapMeters,
+            @Value("${app.walking.candidates:20}") int candidateCount,
+            @Value("${app.walking.max-candidates:160}") int maxCandidateCount,
+            @Value("${app.walking.max-concurrent-searches:${app.admission.critical.max-concurrency:64}}") int maxConcurrentSearches
+    ) {
+        this.graphDir = graphDir.isBlank() ? null : Paths.get(graphDir);
+        this.walkingSpeedMps = walkingSpeedMps;
+        this.maxSnapMeters = maxSnapMeters;
+        this.candidateCount = candidateCount;
+        this.maxCandidateCount = maxCandidateCount;
+        this.maxConcurrentSearches = Math.max(1, maxConcurrentSearches);
+    }
+
+    public boolean isReady() {
+        return engine != null;
+    }
+
+    /**
+     * 기동 후 백그라운드에서 그래프 로딩 + CH 전처리
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadGraph() {
+        if (graphDir == null) {
+            return;
+        }
+        Path nodes = graphDir.resolve("nodes.csv");
+        Path edges = graphDir.resolve("edges.csv");
+        if (!Files.isRegularFile(nodes) || !Files.isRegularFile(edges)) {
+            logger.warn("보행 그래프 파일이 없습니다: {}, {}", nodes, edges);
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                long start = System.nanoTime();
+                WalkingGraph graph = WalkingGraph.load(nodes, edges);
+                ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+                SpatialGridIndex nodeIndex = SpatialGridIndex.build(graph.getLats(), graph.getLngs(), NODE_CELL_DEG);
+                engine = new Engine(hierarchy, nodeIndex, maxConcurrentSearches);
+                logger.info("보행 그래프 준비 완료: 노드={}, 간선(CH)={}, {}ms",
+                        graph.getNodeCount(), hierarchy.getUpEdgeCount(), (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                logger.error("보행 그래프 로딩 실패: {}", graphDir, e);
+            }
+        });
+    }
+
+    /**
+     * 도보 소요 시간 기준 가장 가까운 대피소 limit 개 (walkingMinutes, distanceFromUser 채운 복사본)
+     *
+     * @return 그래프가 준비되지 않았거나, 사용자 위치가 도로망에서 너무 멀거나,
+     *         도로망으로 이어지는 후보 대피소가 하나도 없으면 null
+     */
+    public List<TsunamiShelter> rankByWalkingTime(ShelterDataset dataset, double lat, double lng, int limit) {
+        Engine current = engine;
+        if (current == null || limit <= 0) {
+            return null;
+        }
+        int[] userNode = current.nodeIndex.nearest(lat, lng, 1);
+        if (userNode.length == 0) {
+            return null;
+        }
+        double userSnapMeters = current.nodeIndex.distanceTo(userNode[0], lat, lng) * 1000;
+        if (userSnapMeters > maxSnapMeters) {
+            return null;
+        }
+        int[] snaps = snapsFor(dataset, current);
+
+        ContractionHierarchy.Workspace workspace;
+        try {
+            workspace = current.acquireWorkspace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return rank(dataset, current, workspace, snaps, userNode[0], userSnapMeters, lat, lng, limit);
+        } finally {
+            current.releaseWorkspace(workspace);
+        }
+    }
+
+    private List<TsunamiShelter> rank(ShelterDataset dataset, Engine current, ContractionHierarchy.Workspace workspace,
+                                      int[] snaps, int userNode, double userSnapMeters,
+                                      double lat, double lng, int limit) {
+        SpatialGridIndex shelterIndex = dataset.getSpatialIndex();
+
+        int n = Math.max(candidateCount, limit * 2);
+        while (true) {
+            int[] candidates = shelterIndex.nearest(lat, lng, n);
+            double farthestStraightMeters = candidates.length == 0 ? 0
+                    : shelterIndex.distanceTo(candidates[candidates.length - 1], lat, lng) * 1000;
+
+            // 그래프에 붙은 후보만 CH 로 계산
+            int[] targets = new int[candidates.length];
+            int targetCount = 0;
+            for (int id : candidates) {
+                if (snaps[id] >= 0) {
+                    targets[targetCount++] = id;
+                }
+            }
+            targets = Arrays.copyOf(targets, targetCount);
+            int[] targetNodes = new int[targetCount];
+            for (int i = 0; i < targetCount; i++) {
+                targetNodes[i] = snaps[targets[i]];
+            }
+            double[] graphMeters = current.hierarchy.distances(userNode, targetNodes, workspace);
+
+            List<double[]> ranked = new ArrayList<>(); // {shelter id, 총 도보 거리 m}
+            for (int i = 0; i < targetCount; i++) {
+                if (Double.isInfinite(graphMeters[i])) {
+                    continue; // 도로망으로 연결되지 않음
+                }
+                int id = targets[i];
+                double shelterSnapMeters = current.nodeIndex.distanceTo(snaps[id],
+                        shelterIndex.getLat(id), shelterIndex.getLng(id)) * 1000;
+                ranked.add(new double[] {id, userSnapMeters + graphMeters[i] + shelterSnapMeters});
+            }
+            ranked.sort(Comparator.comparingDouble(r -> r[1]));
+
+            boolean complete = ranked.size() >= limit && ranked.get(limit - 1)[1] <= farthestStraightMeters;
+            if (complete || n >= maxCandidateCount || candidates.length < n) {
+                if (ranked.isEmpty()) {
+                    return null; // 사용자가 대피소와 끊긴 도로 조각 위에 있음
+                }
+                List<TsunamiShelter> result = new ArrayList<>(Math.min(limit, ranked.size()));
+                for (double[] r : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                    int id = (int) r[0];
+                    TsunamiShelter copy = dataset.withDistance(new int[] {id}, lat, lng).get(0);
+                    copy.setWalkingMinutes(r[1] / walkingSpeedMps / 60.0);
+                    result.add(copy);
+                }
+                return result;
+            }
+            n = Math.min(n * 2, maxCandidateCount);
+        }
+    }
+
+    // 대피소 id → 그래프 노드 (maxSnapMeters 안에 노드가 없으면 -1), 데이터 세대별로 한 번만 계산
+    private int[] snapsFor(ShelterDataset dataset, Engine current) {
+        ShelterSnaps cached = shelterSnaps;
+        if (cached != null && cached.generation == dataset.getGeneration() && cached.engine == current) {
+            return cached.nodes;
+        }
+        SpatialGridIndex shelterIndex = dataset.getSpatialIndex();
+        int[] nodes = new int[dataset.size()];
+        Arrays.fill(nodes, -1);
+        for (int id : shelterIndex.getPointIds()) {
+            int[] nearest = current.nodeIndex.nearest(shelterIndex.getLat(id), shelterIndex.getLng(id), 1);
+            if (nearest.length > 0 && current.nodeIndex.distanceTo(nearest[0],
+                    shelterIndex.getLat(id), shelterIndex.getLng(id)) * 1000 <= maxSnapMeters) {
+                nodes[id] = nearest[0];
+            }
+        }
+        shelterSnaps = new ShelterSnaps(dataset.getGeneration(), current, nodes);
+        return nodes;
+    }
+
+    private static final class Engine {
+        private final ContractionHierarchy hierarchy;
+        private final SpatialGridIndex nodeIndex;
+
+        // CH 조회용 작업 공간 풀 (필요할 때 만들되 maxWorkspaces 개를 넘지 않는다)
+        private final BlockingQueue<ContractionHierarchy.Workspace> workspaces;
+        private final AtomicInteger createdWorkspaces = new AtomicInteger();
+        private final int maxWorkspaces;
+
+        private Engine(ContractionHierarchy hierarchy, SpatialGridIndex nodeIndex, int maxWorkspaces) {
+            this.hierarchy = hierarchy;
+            this.nodeIndex = nodeIndex;
+            this.workspaces = new ArrayBlockingQueue<>(maxWorkspaces);
+            this.maxWorkspaces = maxWorkspaces;
+        }
+
+        private ContractionHierarchy.Workspace acquireWorkspace() throws InterruptedException {
+            ContractionHierarchy.Workspace workspace = workspaces.poll();
+            if (workspace != null) {
+                return workspace;
+            }
+            while (true) {
+                int created = createdWorkspaces.get();
+                if (created >= maxWorkspaces) {
+                    return workspaces.take();
+                }
+                if (createdWorkspaces.compareAndSet(created, created + 1)) {
+                    return hierarchy.newWorkspace();
+                }
+            }
+        }
+
+        private void releaseWorkspace(ContractionHierarchy.Workspace workspace) {
+            workspaces.offer(workspace);
+        }
+    }
+
+    private static final class ShelterSnaps {
+        private final long generation;
+        private final Engine engine;
+        private final int[] nodes;
+
+        private ShelterSnaps(long generation, Engine engine, int[] nodes) {
+            this.generation = generation;
+            this.engine = engine;
+            this.nodes = nodes;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// src/main/java/com/example/warning/util/AdaptiveConcurrencyLimiter.java
+package com.example.warning.util;
+
+/**
+ * 관측된 지연시간에 따라 동시 처리 한도를 조절하는 리미터 (AIMD 방식)
+ *
+ * - 처리 시간이 목표(targetLatency)보다 길면 한도를 10% 줄이고 (multiplicative decrease)
+ * - 목표 안에 끝나면 한도를 조금씩 늘린다 (additive increase, 한도 1 만큼 늘리는 데 한도 개 요청)
+ * - 한도는 항상 [minLimit, maxLimit] 범위 안에 있다.
+ * - adaptive = false 이면 maxLimit 고정 세마포어처럼 동작한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final boolean adaptive;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, long targetLatencyMillis, boolean adaptive) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.adaptive = adaptive;
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * 처리 슬롯 하나를 얻는다. 성공하면 반드시 release() 를 호출해야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * 처리 슬롯을 반납하고, 처리 시간을 한도 조절에 반영한다.
+     */
+    public synchronized void release(long latencyNanos) {
+        inFlight--;
+        if (!adaptive) {
+            return;
+        }
+        if (latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * 0.9);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * 현재 사용률 (처리 중 개수 / 현재 한도)
+     */
+    public synchronized double utilization() {
+        return inFlight / Math.floor(limit);
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+}
@@ -0,0 +1,404 @@
+// src/main/java/com/example/warning/util/ContractionHierarchy.java
+package com.example.warning.util;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * 보행 그래프용 Contraction Hierarchies (CH) 최단거리 엔진.
+ *
+ * 전처리:
+ *  - 노드를 "중요도"(edge difference: 필요한 지름길 수 - 차수 + 이미 제거된 이웃 수)가 낮은 순서로 하나씩 제거(contract)한다.
+ *  - 노드 v 를 제거할 때, 이웃 u, w 사이의 최단경로가 v 를 지나야만 한다면(witness search 로 확인)
+ *    u-w 지름길(shortcut)을 추가한다.
+ *  - 제거 시점에 남아 있던 이웃들은 모두 v 보다 순위가 높으므로, 그 간선들을 v 의 "위쪽 간선(up edge)"으로 저장한다.
+ *
+ * 조회:
+ *  - 출발점과 도착점 각각에서 위쪽 간선만 따라가는 Dijkstra 를 돌리고,
+ *    두 탐색 공간에서 만나는 노드 v 의 dF[v] + dB[v] 최솟값이 최단거리다. (무방향 그래프라 위쪽 그래프 하나로 양방향 모두 처리)
+ *  - 여러 도착점(many-to-few)은 출발점 탐색을 한 번만 하고 도착점마다 위쪽 탐색만 따로 돈다.
+ */
+public class ContractionHierarchy {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    // witness search 에서 확정(settle)할 최대 노드 수 (넘으면 지름길을 그냥 추가 → 결과는 여전히 정확)
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int nodeCount;
+    private final int[] upStarts;
+    private final int[] upTargets;
+    private final double[] upWeights;
+
+    private ContractionHierarchy(int nodeCount, int[] upStarts, int[] upTargets, double[] upWeights) {
+        this.nodeCount = nodeCount;
+        this.upStarts = upStarts;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+    }
+
+    // =========================================================
+    // 전처리
+    // =========================================================
+
+    public static ContractionHierarchy build(WalkingGraph graph) {
+        return new Builder(graph).contractAll();
+    }
+
+    private static final class Builder {
+        private final int n;
+        private final int[][] nbr;
+        private final double[][] wt;
+        private final int[] degree;
+        private final boolean[] contracted;
+        private final int[] deletedNeighbors;
+
+        private final int[][] upNbr;
+        private final double[][] upWt;
+
+        private final SearchSpace witness;
+
+        Builder(WalkingGraph graph) {
+            this.n = graph.getNodeCount();
+            this.nbr = new int[n][];
+            this.wt = new double[n][];
+            this.degree = new int[n];
+            this.contracted = new boolean[n];
+            this.deletedNeighbors = new int[n];
+            this.upNbr = new int[n][];
+            this.upWt = new double[n][];
+            this.witness = new SearchSpace(n);
+
+            int[] starts = graph.getEdgeStarts();
+            int[] targets = graph.getEdgeTargets();
+            double[] meters = graph.getEdgeMeters();
+            for (int v = 0; v < n; v++) {
+                nbr[v] = new int[Math.max(2, starts[v + 1] - starts[v])];
+                wt[v] = new double[nbr[v].length];
+            }
+            for (int v = 0; v < n; v++) {
+                for (int e = starts[v]; e < starts[v + 1]; e++) {
+                    addOrRelax(v, targets[e], meters[e]); // 평행 간선은 짧은 것만 남김
+                }
+            }
+        }
+
+        ContractionHierarchy contractAll() {
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+            for (int v = 0; v < n; v++) {
+                queue.add(new double[] {priority(v), v});
+            }
+
+            while (!queue.isEmpty()) {
+                double[] top = queue.poll();
+                int v = (int) top[1];
+                if (contracted[v]) {
+                    continue;
+                }
+                // lazy update: 우선순위를 다시 계산해서 더 이상 최소가 아니면 다시 넣는다
+                double current = priority(v);
+                if (!queue.isEmpty() && current > queue.peek()[0]) {
+                    queue.add(new double[] {current, v});
+                    continue;
+                }
+                contract(v);
+            }
+
+            int[] upStarts = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                upStarts[v + 1] = upStarts[v] + upNbr[v].length;
+            }
+            int[] upTargets = new int[upStarts[n]];
+            double[] upWeights = new double[upStarts[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(upNbr[v], 0, upTargets, upStarts[v], upNbr[v].length);
+                System.arraycopy(upWt[v], 0, upWeights, upStarts[v], upWt[v].length);
+            }
+            return new ContractionHierarchy(n, upStarts, upTargets, upWeights);
+        }
+
+        private double priority(int v) {
+            return shortcuts(v, false) - degree[v] + deletedNeighbors[v];
+        }
+
+        private void contract(int v) {
+            shortcuts(v, true);
+
+            upNbr[v] = Arrays.copyOf(nbr[v], degree[v]);
+            upWt[v] = Arrays.copyOf(wt[v], degree[v]);
+            contracted[v] = true;
+
+            for (int i = 0; i < degree[v]; i++) {
+                int u = nbr[v][i];
+                remove(u, v);
+                deletedNeighbors[u]++;
+            }
+            nbr[v] = null;
+            wt[v] = null;
+        }
+
+        /**
+         * v 를 제거할 때 필요한 지름길 수. apply = true 이면 실제로 추가한다.
+         */
+        private int shortcuts(int v, boolean apply) {
+            int d = degree[v];
+            if (d < 2) {
+                return 0;
+            }
+            int[] neighbors = Arrays.copyOf(nbr[v], d);
+            double[] weights = Arrays.copyOf(wt[v], d);
+            double maxOut = 0;
+            for (int i = 0; i < d; i++) {
+                maxOut = Math.max(maxOut, weights[i]);
+            }
+
+            int count = 0;
+            for (int i = 0; i < d - 1; i++) {
+                int u = neighbors[i];
+                witnessSearch(u, v, weights[i] + maxOut);
+                for (int j = i + 1; j < d; j++) {
+                    double via = weights[i] + weights[j];
+                    if (witness.dist[neighbors[j]] > via) {
+                        count++;
+                        if (apply) {
+                            addOrRelax(u, neighbors[j], via);
+                            addOrRelax(neighbors[j], u, via);
+                        }
+                    }
+                }
+                witness.reset();
+            }
+            return count;
+        }
+
+        // v 를 제외한 남은 그래프에서 u 로부터 maxDist 까지 Dijkstra (확정 노드 수 제한)
+        private void witnessSearch(int u, int excluded, double maxDist) {
+            witness.reset();
+            witness.relax(u, 0);
+            int settled = 0;
+            while (!witness.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                int x = witness.pop();
+                if (x < 0) {
+                    break;
+                }
+                double dx = witness.dist[x];
+                if (dx > maxDist) {
+                    break;
+                }
+                settled++;
+                for (int i = 0; i < degree[x]; i++) {
+                    int y = nbr[x][i];
+                    if (y != excluded) {
+                        witness.relax(y, dx + wt[x][i]);
+                    }
+                }
+            }
+        }
+
+        private void addOrRelax(int a, int b, double w) {
+            for (int i = 0; i < degree[a]; i++) {
+                if (nbr[a][i] == b) {
+                    if (w < wt[a][i]) {
+                        wt[a][i] = w;
+                    }
+                    return;
+                }
+            }
+            if (degree[a] == nbr[a].length) {
+                nbr[a] = Arrays.copyOf(nbr[a], degree[a] * 2);
+                wt[a] = Arrays.copyOf(wt[a], degree[a] * 2);
+            }
+            nbr[a][degree[a]] = b;
+            wt[a][degree[a]] = w;
+            degree[a]++;
+        }
+
+        private void remove(int a, int b) {
+            for (int i = 0; i < degree[a]; i++) {
+                if (nbr[a][i] == b) {
+                    degree[a]--;
+                    nbr[a][i] = nbr[a][degree[a]];
+                    wt[a][i] = wt[a][degree[a]];
+                    return;
+                }
+            }
+        }
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * 조회용 작업 공간. 노드 수 크기 배열이라 크므로, 호출하는 쪽이 풀에 담아 돌려 쓴다.
+     */
+    public Workspace newWorkspace() {
+        return new Workspace(nodeCount);
+    }
+
+    /**
+     * source 에서 각 target 까지의 최단거리 (m). 연결되지 않았으면 Infinity.
+     *
+     * @param workspace 이 그래프의 newWorkspace() 로 만든 것. 조회하는 동안 다른 스레드와 같이 쓰면 안 된다.
+     */
+    public double[] distances(int source, int[] targets, Workspace workspace) {
+        if (workspace.nodeCount != nodeCount) {
+            throw new IllegalArgumentException("다른 그래프의 작업 공간입니다.");
+        }
+        SearchSpace forward = workspace.forward;
+        SearchSpace backward = workspace.backward;
+        forward.reset();
+        upwardSearch(source, forward);
+
+        double[] result = new double[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            backward.reset();
+            upwardSearch(targets[t], backward);
+            double best = INF;
+            for (int i = 0; i < backward.touchedCount; i++) {
+                int v = backward.touched[i];
+                double df = forward.dist[v];
+                if (df < INF) {
+                    best = Math.min(best, df + backward.dist[v]);
+                }
+            }
+            result[t] = best;
+        }
+        forward.reset();
+        backward.reset();
+        return result;
+    }
+
+    private void upwardSearch(int start, SearchSpace space) {
+        space.relax(start, 0);
+        while (!space.isEmpty()) {
+            int v = space.pop();
+            if (v < 0) {
+                break;
+            }
+            double dv = space.dist[v];
+            for (int e = upStarts[v]; e < upStarts[v + 1]; e++) {
+                space.relax(upTargets[e], dv + upWeights[e]);
+            }
+        }
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int getUpEdgeCount() { return upTargets.length; }
+
+    /**
+     * 양방향 탐색용 배열 한 쌍 (노드 수 크기, 매 조회마다 건드린 칸만 되돌린다)
+     */
+    public static final class Workspace {
+        private final int nodeCount;
+        private final SearchSpace forward;
+        private final SearchSpace backward;
+
+        private Workspace(int nodeCount) {
+            this.nodeCount = nodeCount;
+            this.forward = new SearchSpace(nodeCount);
+            this.backward = new SearchSpace(nodeCount);
+        }
+    }
+
+    /**
+     * Dijkstra 용 거리 배열 + 이진 힙 (lazy deletion). 건드린 노드만 기억해뒀다가 reset 한다.
+     */
+    private static final class SearchSpace {
+        final double[] dist;
+        final int[] touched;
+        int touchedCount;
+
+        private double[] heapKeys = new double[64];
+        private int[] heapNodes = new int[64];
+        private int heapSize;
+
+        SearchSpace(int n) {
+            dist = new double[n];
+            Arrays.fill(dist, INF);
+            touched = new int[n];
+        }
+
+        void relax(int v, double d) {
+            if (d >= dist[v]) {
+                return;
+            }
+            if (dist[v] == INF) {
+                touched[touchedCount++] = v;
+            }
+            dist[v] = d;
+            push(d, v);
+        }
+
+        boolean isEmpty() {
+            return heapSize == 0;
+        }
+
+        // 가장 가까운 미확정 노드 (오래된 힙 항목은 건너뜀), 없으면 -1
+        int pop() {
+            while (heapSize > 0) {
+                double key = heapKeys[0];
+                int node = heapNodes[0];
+                heapSize--;
+                if (heapSize > 0) {
+                    heapKeys[0] = heapKeys[heapSize];
+                    heapNodes[0] = heapNodes[heapSize];
+                    siftDown(0);
+                }
+                if (key == dist[node]) {
+                    return node;
+                }
+            }
+            return -1;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            heapSize = 0;
+        }
+
+        private void push(double key, int node) {
+            if (heapSize == heapKeys.length) {
+                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapKeys[parent] <= key) {
+                    break;
+                }
+                heapKeys[i] = heapKeys[parent];
+                heapNodes[i] = heapNodes[parent];
+                i = parent;
+            }
+            heapKeys[i] = key;
+            heapNodes[i] = node;
+        }
+
+        private void siftDown(int i) {
+            double key = heapKeys[i];
+            int node = heapNodes[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                    child++;
+                }
+                if (heapKeys[child] >= key) {
+                    break;
+                }
+                heapKeys[i] = heapKeys[child];
+                heapNodes[i] = heapNodes[child];
+                i = child;
+            }
+            heapKeys[i] = key;
+            heapNodes[i] = node;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// src/main/java/com/example/warning/util/GeoJsonPolygons.java
+package com.example.warning.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GeoJSON 에서 면(폴리곤)만 뽑아내는 파서.
+ *
+ * - FeatureCollection / Feature / GeometryCollection / Polygon / MultiPolygon 을 따라가며 폴리곤을 모은다.
+ * - 점/선 등 면이 아닌 도형과 꼭짓점이 3개 미만인 링은 무시하고, 닫혀 있지 않은 링은 닫아준다.
+ * - 좌표계는 GeoJSON 그대로 [경도, 위도] (x = lng, y = lat).
+ *
+ * 침수 예상 구역(InundationZoneIndex)과 경보 발령 구역(AlertFanoutService)이 같이 쓴다.
+ */
+public final class GeoJsonPolygons {
+
+    private GeoJsonPolygons() {
+    }
+
+    /**
+     * GeoJSON 트리에 들어 있는 폴리곤 목록 (없으면 빈 목록)
+     */
+    public static List<Polygon> read(JsonNode root, GeometryFactory factory) {
+        List<Polygon> polygons = new ArrayList<>();
+        collect(root, factory, polygons);
+        return polygons;
+    }
+
+    private static void collect(JsonNode node, GeometryFactory factory, List<Polygon> out) {
+        if (node == null || !node.isObject()) {
+            return;
+        }
+        String type = node.path("type").asText("");
+        switch (type) {
+            case "FeatureCollection":
+                for (JsonNode feature : node.path("features")) {
+                    collect(feature, factory, out);
+                }
+                break;
+            case "Feature":
+                collect(node.get("geometry"), factory, out);
+                break;
+            case "GeometryCollection":
+                for (JsonNode geometry : node.path("geometries")) {
+                    collect(geometry, factory, out);
+                }
+                break;
+            case "Polygon":
+                addPolygon(node.path("coordinates"), factory, out);
+                break;
+            case "MultiPolygon":
+                for (JsonNode polygon : node.path("coordinates")) {
+                    addPolygon(polygon, factory, out);
+                }
+                break;
+            default:
+                // Point, LineString 등은 면이 아니므로 무시
+                break;
+        }
+    }
+
+    // [[외곽 링], [구멍 링], ...]
+    private static void addPolygon(JsonNode rings, GeometryFactory factory, List<Polygon> out) {
+        if (!rings.isArray() || rings.size() == 0) {
+            return;
+        }
+        LinearRing shell = toRing(rings.get(0), factory);
+        if (shell == null) {
+            return;
+        }
+        List<LinearRing> holes = new ArrayList<>();
+        for (int i = 1; i < rings.size(); i++) {
+            LinearRing hole = toRing(rings.get(i), factory);
+            if (hole != null) {
+                holes.add(hole);
+            }
+        }
+        out.add(factory.createPolygon(shell, holes.toArray(new LinearRing[0])));
+    }
+
+    // [[lng, lat], ...] → 닫힌 링 (닫혀 있지 않으면 첫 점을 끝에 붙인다)
+    private static LinearRing toRing(JsonNode positions, GeometryFactory factory) {
+        if (!positions.isArray()) {
+            return null;
+        }
+        List<Coordinate> coordinates = new ArrayList<>(positions.size() + 1);
+        for (JsonNode position : positions) {
+            if (position.isArray() && position.size() >= 2) {
+                coordinates.add(new Coordinate(position.get(0).asDouble(), position.get(1).asDouble()));
+            }
+        }
+        if (coordinates.size() < 3) {
+            return null;
+        }
+        if (!coordinates.get(0).equals2D(coordinates.get(coordinates.size() - 1))) {
+            coordinates.add(new Coordinate(coordinates.get(0)));
+        }
+        if (coordinates.size() < 4) {
+            return null;
+        }
+        return factory.createLinearRing(coordinates.toArray(new Coordinate[0]));
+    }
+}
@@ -0,0 +1,93 @@
+// src/main/java/com/example/warning/util/InundationZoneIndex.java
+package com.example.warning.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 지진해일 침수 예상 구역 폴리곤 인덱스.
+ *
+ * GeoJSON(FeatureCollection / Feature / Polygon / MultiPolygon / GeometryCollection)에서
+ * 폴리곤만 읽어서 STR-tree 에 PreparedGeometry 로 넣어둔다.
+ *  - STR-tree 로 점을 포함할 수 있는 폴리곤(바운딩 박스)만 추리고
+ *  - PreparedGeometry(내부에 선분 인덱스를 가진 폴리곤)로 point-in-polygon 판정
+ * 폴리곤이 수천 개여도 점 하나당 후보 몇 개만 확인하게 된다.
+ *
+ * 좌표계는 GeoJSON 그대로 [경도, 위도] (x = lng, y = lat).
+ * 한 번 만든 뒤에는 읽기만 하므로 여러 스레드에서 같이 써도 된다.
+ */
+public class InundationZoneIndex {
+
+    private final GeometryFactory geometryFactory;
+    private final STRtree tree;
+    private final int polygonCount;
+
+    private InundationZoneIndex(GeometryFactory geometryFactory, STRtree tree, int polygonCount) {
+        this.geometryFactory = geometryFactory;
+        this.tree = tree;
+        this.polygonCount = polygonCount;
+    }
+
+    /**
+     * GeoJSON 트리에서 폴리곤을 모두 읽어 인덱스를 만든다. (파싱 규칙은 GeoJsonPolygons)
+     */
+    public static InundationZoneIndex fromGeoJson(JsonNode root) {
+        GeometryFactory factory = new GeometryFactory();
+        List<Polygon> polygons = GeoJsonPolygons.read(root, factory);
+
+        STRtree tree = new STRtree();
+        for (Polygon polygon : polygons) {
+            tree.insert(polygon.getEnvelopeInternal(), PreparedGeometryFactory.prepare(polygon));
+        }
+        tree.build();
+        return new InundationZoneIndex(factory, tree, polygons.size());
+    }
+
+    /**
+     * (lat, lng) 가 침수 구역 안(경계 포함)인지
+     */
+    public boolean contains(double lat, double lng) {
+        if (Double.isNaN(lat) || Double.isNaN(lng) || polygonCount == 0) {
+            return false;
+        }
+        Coordinate coordinate = new Coordinate(lng, lat);
+        List<?> candidates = tree.query(new Envelope(coordinate));
+        if (candidates.isEmpty()) {
+            return false;
+        }
+        Point point = geometryFactory.createPoint(coordinate);
+        for (Object candidate : candidates) {
+            if (((PreparedGeometry) candidate).covers(point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 여러 점을 한꺼번에 판정 (id = 배열 인덱스, NaN 은 좌표 없음 → 구역 밖)
+     */
+    public BitSet containsAll(double[] lats, double[] lngs) {
+        BitSet inside = new BitSet(lats.length);
+        for (int id = 0; id < lats.length; id++) {
+            if (contains(lats[id], lngs[id])) {
+                inside.set(id);
+            }
+        }
+        return inside;
+    }
+
+    public int getPolygonCount() {
+        return polygonCount;
+    }
+}
@@ -0,0 +1,394 @@
+// src/main/java/com/example/warning/util/NearestCandidateGrid.java
+package com.example.warning.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * "가장 가까운 k 개" 질의를 위한 셀별 후보 목록 사전 계산 격자.
+ *
+ * 서비스 영역(위도/경도 사각형)을 cellDeg 간격의 셀로 나누고, 셀마다 후보 대피소 id 목록을 미리 만들어 둔다.
+ *
+ * 정확성 보장:
+ *  - 셀 중심 c 에서 k 번째로 가까운 거리를 d_k(c), 셀 중심~꼭짓점 최대 거리를 r 이라 하면
+ *    셀 안의 어떤 점 p 에 대해서도 p 의 top-k 는 모두 d(c, s) ≤ d_k(c) + 2r 안에 있다.
+ *    (d(p, s) ≤ d_k(p) ≤ d_k(c) + r,  d(c, s) ≤ d(p, s) + r)
+ *  - 그래서 셀마다 "중심에서 d_k(c) + 2r 이내의 모든 점"을 후보로 저장하면,
+ *    조회 시에는 후보들만 실제 거리로 다시 정렬(refinement)하면 정확한 top-k(k 이하 limit)가 나온다.
+ *
+ * 저장 형식:
+ *  - 후보 id 는 오름차순 정렬 후 차이값(delta)을 varint 로 인코딩해서 하나의 byte[] 에 이어 붙인다.
+ *  - cellOffsets[cell] ~ cellOffsets[cell + 1] 이 해당 셀의 바이트 구간.
+ *  - cellBoundKm[cell] 은 후보 반경(d_k(c) + 2r), 가장 가까운 점이 maxCoverKm 보다 먼 셀은 NaN(미지원).
+ */
+public class NearestCandidateGrid {
+
+    // 전체 재계산 대신 증분 갱신을 쓰는 최대 변경 비율
+    private static final double INCREMENTAL_MAX_CHANGE_RATIO = 0.2;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+    private final int k;
+    private final double maxCoverKm;
+
+    private final int[] cellOffsets;
+    private final float[] cellBoundKm;
+    private final byte[] data;
+
+    // 증분 갱신 때 이전 격자에서 그대로 가져온 셀 수 (전체 계산이면 0)
+    private final int reusedCells;
+
+    // 이 격자를 만든 공간 인덱스 (후보 id 의 좌표 조회, 증분 갱신 시 이전 좌표 비교용)
+    private final SpatialGridIndex index;
+
+    private NearestCandidateGrid(double minLat, double minLng, double cellDeg, int rows, int cols,
+                                 int k, double maxCoverKm, int[] cellOffsets, float[] cellBoundKm,
+                                 byte[] data, int reusedCells, SpatialGridIndex index) {
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.cellDeg = cellDeg;
+        this.rows = rows;
+        this.cols = cols;
+        this.k = k;
+        this.maxCoverKm = maxCoverKm;
+        this.cellOffsets = cellOffsets;
+        this.cellBoundKm = cellBoundKm;
+        this.data = data;
+        this.reusedCells = reusedCells;
+        this.index = index;
+    }
+
+    // =========================================================
+    // 생성
+    // =========================================================
+
+    /**
+     * 모든 셀의 후보 목록을 새로 계산한다.
+     */
+    public static NearestCandidateGrid build(SpatialGridIndex index,
+                                             double minLat, double maxLat, double minLng, double maxLng,
+                                             double cellDeg, int k, double maxCoverKm) {
+        return rebuild(null, index, minLat, maxLat, minLng, maxLng, cellDeg, k, maxCoverKm);
+    }
+
+    /**
+     * 이전 격자를 최대한 재사용해서 새 데이터에 맞는 격자를 만든다.
+     *
+     * - 이전/새 데이터의 좌표를 비교해서 추가/삭제된 좌표를 찾는다.
+     * - 후보 중 삭제된 점이 있거나, 후보 반경 안에 새 점이 추가된 셀만 다시 계산하고
+     *   나머지 셀은 후보 id 만 새 id 로 바꿔서 그대로 쓴다.
+     * - 격자 설정이 다르거나 변경이 너무 많으면 전체를 다시 계산한다.
+     *
+     * @param previous 이전 격자 (없으면 null → 전체 계산)
+     */
+    public static NearestCandidateGrid rebuild(NearestCandidateGrid previous, SpatialGridIndex index,
+                                               double minLat, double maxLat, double minLng, double maxLng,
+                                               double cellDeg, int k, double maxCoverKm) {
+        int rows = Math.max(1, (int) Math.ceil((maxLat - minLat) / cellDeg));
+        int cols = Math.max(1, (int) Math.ceil((maxLng - minLng) / cellDeg));
+
+        Delta delta = null;
+        if (previous != null && previous.minLat == minLat && previous.minLng == minLng
+                && previous.cellDeg == cellDeg && previous.rows == rows && previous.cols == cols
+                && previous.k == k && previous.maxCoverKm == maxCoverKm) {
+            delta = Delta.compute(previous.index, index);
+            if (delta.changeRatio() > INCREMENTAL_MAX_CHANGE_RATIO) {
+                delta = null;
+            }
+        }
+
+        Delta finalDelta = delta;
+        byte[][] rowData = new byte[rows][];
+        int[][] rowOffsets = new int[rows][];
+        int[] rowReused = new int[rows];
+        float[] bounds = new float[rows * cols];
+
+        // 행 단위로 병렬 계산 → 마지막에 이어 붙인다
+        IntStream.range(0, rows).parallel().forEach(row -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int[] offsets = new int[cols + 1];
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                offsets[col] = out.size();
+                double centerLat = minLat + (row + 0.5) * cellDeg;
+                double centerLng = minLng + (col + 0.5) * cellDeg;
+
+                int[] candidates = null;
+                float bound = Float.NaN;
+                if (finalDelta != null) {
+                    candidates = finalDelta.reuse(previous, cell, centerLat, centerLng);
+                    if (candidates != null) {
+                        bound = previous.cellBoundKm[cell];
+                        rowReused[row]++;
+                    }
+                }
+                if (candidates == null) {
+                    double halfDiagonalKm = halfDiagonalKm(centerLat, centerLng, cellDeg);
+                    int[] nearest = index.nearest(centerLat, centerLng, k);
+                    if (nearest.length > 0 && index.distanceTo(nearest[0], centerLat, centerLng) <= maxCoverKm) {
+                        double dk = index.distanceTo(nearest[nearest.length - 1], centerLat, centerLng);
+                        bound = (float) (dk + 2 * halfDiagonalKm);
+                        candidates = index.withinRadius(centerLat, centerLng, bound);
+                    } else {
+                        candidates = new int[0];
+                    }
+                }
+                bounds[cell] = bound;
+                writeDeltaVarints(out, candidates);
+            }
+            offsets[cols] = out.size();
+            rowData[row] = out.toByteArray();
+            rowOffsets[row] = offsets;
+        });
+
+        int total = 0;
+        for (byte[] bytes : rowData) {
+            total += bytes.length;
+        }
+        byte[] data = new byte[total];
+        int[] cellOffsets = new int[rows * cols + 1];
+        int pos = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                cellOffsets[row * cols + col] = pos + rowOffsets[row][col];
+            }
+            System.arraycopy(rowData[row], 0, data, pos, rowData[row].length);
+            pos += rowData[row].length;
+        }
+        cellOffsets[rows * cols] = pos;
+
+        return new NearestCandidateGrid(minLat, minLng, cellDeg, rows, cols, k, maxCoverKm,
+                cellOffsets, bounds, data, Arrays.stream(rowReused).sum(), index);
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * (lat, lng) 에서 가장 가까운 limit 개의 id 를 거리 오름차순으로 반환한다.
+     *
+     * @return 격자가 답할 수 없는 경우 null (서비스 영역 밖, limit > k, 주변에 점이 없는 셀)
+     *         → 호출하는 쪽에서 일반 공간 인덱스 조회로 대체한다.
+     */
+    public int[] nearest(double lat, double lng, int limit) {
+        int cell = cellOf(lat, lng);
+        if (cell < 0 || limit > k || Float.isNaN(cellBoundKm[cell])) {
+            return null;
+        }
+        int[] candidates = decode(cell);
+        if (candidates.length < Math.min(limit, index.size())) {
+            return null;
+        }
+
+        // refinement: 후보만 실제 거리 계산 후 부분 정렬
+        int n = Math.min(limit, candidates.length);
+        int[] ids = new int[n];
+        double[] dists = new double[n];
+        int count = 0;
+        for (int id : candidates) {
+            double d = index.distanceTo(id, lat, lng);
+            if (count == n && d >= dists[n - 1]) {
+                continue;
+            }
+            int p = count == n ? n - 1 : count++;
+            while (p > 0 && dists[p - 1] > d) {
+                ids[p] = ids[p - 1];
+                dists[p] = dists[p - 1];
+                p--;
+            }
+            ids[p] = id;
+            dists[p] = d;
+        }
+        return ids;
+    }
+
+    /**
+     * 셀 하나의 후보 id 목록 (오름차순)
+     */
+    public int[] decode(int cell) {
+        int pos = cellOffsets[cell];
+        int end = cellOffsets[cell + 1];
+        int[] ids = new int[8];
+        int count = 0;
+        int prev = 0;
+        while (pos < end) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            prev += value;
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = prev;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * (lat, lng) 가 속한 셀 번호 (서비스 영역 밖이면 -1)
+     */
+    public int cellOf(double lat, double lng) {
+        int row = (int) Math.floor((lat - minLat) / cellDeg);
+        int col = (int) Math.floor((lng - minLng) / cellDeg);
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    // =========================================================
+    // 내부 유틸
+    // =========================================================
+
+    private static void writeDeltaVarints(ByteArrayOutputStream out, int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int prev = 0;
+        for (int id : sorted) {
+            int value = id - prev;
+            prev = id;
+            while ((value & ~0x7f) != 0) {
+                out.write((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    // 셀 중심에서 네 꼭짓점까지 거리 중 최댓값 (+1% 여유)
+    private static double halfDiagonalKm(double centerLat, double centerLng, double cellDeg) {
+        double h = cellDeg / 2;
+        double max = 0;
+        for (int sy = -1; sy <= 1; sy += 2) {
+            for (int sx = -1; sx <= 1; sx += 2) {
+                max = Math.max(max, DistanceCalculator.calculateDistance(
+                        centerLat, centerLng, centerLat + sy * h, centerLng + sx * h));
+            }
+        }
+        return max * 1.01;
+    }
+
+    /**
+     * 이전/새 공간 인덱스 사이의 좌표 변화.
+     * - 같은 좌표의 점 개수가 같으면 "변하지 않은 점"으로 보고 이전 id → 새 id 로 대응시킨다.
+     */
+    private static final class Delta {
+        private final int[] oldToNew;        // 변하지 않은 점의 새 id, 변한 점은 -1
+        private final int[] addedIds;        // 새로 생긴(또는 개수가 바뀐 좌표의) 새 id
+        private final int changedCount;
+        private final int total;
+        private final SpatialGridIndex current;
+
+        private Delta(int[] oldToNew, int[] addedIds, int changedCount, int total, SpatialGridIndex current) {
+            this.oldToNew = oldToNew;
+            this.addedIds = addedIds;
+            this.changedCount = changedCount;
+            this.total = total;
+            this.current = current;
+        }
+
+        static Delta compute(SpatialGridIndex previous, SpatialGridIndex current) {
+            Map<Coord, int[]> oldByCoord = groupByCoord(previous);
+            Map<Coord, int[]> newByCoord = groupByCoord(current);
+
+            int[] oldToNew = new int[previous.getLats().length];
+            Arrays.fill(oldToNew, -1);
+            int changed = 0;
+            for (Map.Entry<Coord, int[]> entry : oldByCoord.entrySet()) {
+                int[] oldIds = entry.getValue();
+                int[] newIds = newByCoord.get(entry.getKey());
+                if (newIds != null && newIds.length == oldIds.length) {
+                    for (int i = 0; i < oldIds.length; i++) {
+                        oldToNew[oldIds[i]] = newIds[i];
+                    }
+                } else {
+                    changed += oldIds.length;
+                }
+            }
+
+            int[] added = new int[current.size()];
+            int addedCount = 0;
+            for (Map.Entry<Coord, int[]> entry : newByCoord.entrySet()) {
+                int[] oldIds = oldByCoord.get(entry.getKey());
+                if (oldIds == null || oldIds.length != entry.getValue().length) {
+                    for (int id : entry.getValue()) {
+                        added[addedCount++] = id;
+                    }
+                }
+            }
+            changed += addedCount;
+
+            return new Delta(oldToNew, Arrays.copyOf(added, addedCount), changed,
+                    Math.max(1, Math.max(previous.size(), current.size())), current);
+        }
+
+        double changeRatio() {
+            return (double) changedCount / total;
+        }
+
+        /**
+         * 이전 격자의 셀 후보를 그대로 쓸 수 있으면 새 id 로 바꿔서 반환, 다시 계산해야 하면 null.
+         */
+        int[] reuse(NearestCandidateGrid previous, int cell, double centerLat, double centerLng) {
+            float bound = previous.cellBoundKm[cell];
+            // 미지원 셀: maxCoverKm 안에 새 점이 생겼을 때만 다시 계산
+            double radius = Float.isNaN(bound) ? previous.maxCoverKm : bound;
+            for (int id : addedIds) {
+                if (current.distanceTo(id, centerLat, centerLng) <= radius) {
+                    return null;
+                }
+            }
+            if (Float.isNaN(bound)) {
+                return new int[0];
+            }
+            int[] oldIds = previous.decode(cell);
+            int[] newIds = new int[oldIds.length];
+            for (int i = 0; i < oldIds.length; i++) {
+                newIds[i] = oldToNew[oldIds[i]];
+                if (newIds[i] < 0) {
+                    return null; // 후보 중 삭제/변경된 점이 있음
+                }
+            }
+            return newIds;
+        }
+
+        private static Map<Coord, int[]> groupByCoord(SpatialGridIndex index) {
+            Map<Coord, int[]> groups = new HashMap<>();
+            for (int id : index.getPointIds()) {
+                groups.merge(new Coord(index.getLat(id), index.getLng(id)), new int[] {id}, (a, b) -> {
+                    int[] merged = Arrays.copyOf(a, a.length + 1);
+                    merged[a.length] = b[0];
+                    return merged;
+                });
+            }
+            for (int[] ids : groups.values()) {
+                Arrays.sort(ids);
+            }
+            return groups;
+        }
+    }
+
+    private record Coord(double lat, double lng) {}
+
+    // =========================================================
+    // Getter
+    // =========================================================
+
+    public int getK() { return k; }
+    public int getCellCount() { return rows * cols; }
+    public int getDataBytes() { return data.length; }
+    public int getReusedCells() { return reusedCells; }
+    public SpatialGridIndex getIndex() { return index; }
+}
@@ -0,0 +1,204 @@
+// src/main/java/com/example/warning/util/ShelterDeduplicator.java
+package com.example.warning.util;
+
+import com.example.warning.model.TsunamiShelter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 데이터 소스에서 받은 대피소 목록을 합치면서 같은 대피소를 하나로 묶는다.
+ *
+ * 같은 대피소 판단 기준:
+ *  - 서로 다른 소스에서 왔고 (한 소스 안의 대피소끼리는 이름이 비슷해도 별개: "행복아파트 101동" / "102동")
+ *  - 좌표 거리가 matchMeters 이내이고
+ *  - 이름 유사도(글자 bigram Dice 계수, 공백/기호 제거 후)가 nameThreshold 이상 (이름이 비어 있으면 같은 대피소로 보지 않음)
+ *
+ * 모든 쌍을 비교하지 않고, matchMeters 크기의 격자(spatial hash)에 넣어서 주변 3x3 칸만 비교한다. (거의 선형)
+ * 한 묶음에는 소스마다 대피소가 하나씩만 들어간다. 후보가 여럿이면 이름이 더 비슷하고 더 가까운 쪽과 먼저 묶는다.
+ * 묶인 대피소는 우선순위가 높은 소스(목록 앞쪽)의 값을 기준으로, 비어 있는 필드만 다른 소스 값으로 채운다.
+ * 좌표가 없는 대피소는 비교하지 않고 그대로 남긴다.
+ */
+public final class ShelterDeduplicator {
+
+    private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+    private ShelterDeduplicator() {
+    }
+
+    /**
+     * @param sources       소스별 대피소 목록 (우선순위 순)
+     * @param matchMeters   같은 대피소로 볼 최대 좌표 거리 (m)
+     * @param nameThreshold 같은 대피소로 볼 최소 이름 유사도 (0 ~ 1)
+     * @return 중복을 합친 대피소 목록 (입력 객체를 수정해서 재사용한다)
+     */
+    public static List<TsunamiShelter> merge(List<List<TsunamiShelter>> sources, double matchMeters, double nameThreshold) {
+        if (sources.size() > Long.SIZE) {
+            throw new IllegalArgumentException("소스는 최대 " + Long.SIZE + "개까지 합칠 수 있습니다: " + sources.size());
+        }
+        List<TsunamiShelter> all = new ArrayList<>();
+        for (List<TsunamiShelter> source : sources) {
+            all.addAll(source);
+        }
+        int n = all.size();
+        int[] sourceOf = new int[n];
+        for (int s = 0, i = 0; s < sources.size(); s++) {
+            for (int k = 0; k < sources.get(s).size(); k++) {
+                sourceOf[i++] = s;
+            }
+        }
+
+        double maxAbsLat = 0;
+        for (TsunamiShelter shelter : all) {
+            if (hasCoordinates(shelter)) {
+                maxAbsLat = Math.max(maxAbsLat, Math.abs(shelter.getLatitude()));
+            }
+        }
+        // 경도 칸 폭이 가장 높은 위도에서도 matchMeters 이상이 되도록
+        double cellLat = matchMeters / METERS_PER_DEG_LAT;
+        double cellLng = matchMeters / (METERS_PER_DEG_LAT * Math.cos(Math.toRadians(Math.min(maxAbsLat, 85))));
+
+        int[] parent = new int[n];
+        long[] groupSources = new long[n]; // 루트별로 묶음에 들어 있는 소스 (비트)
+        String[] normalizedNames = new String[n];
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            groupSources[i] = 1L << sourceOf[i];
+            TsunamiShelter shelter = all.get(i);
+            normalizedNames[i] = normalize(shelter.getShelterName());
+            if (!hasCoordinates(shelter)) {
+                continue;
+            }
+            long cy = (long) Math.floor(shelter.getLatitude() / cellLat);
+            long cx = (long) Math.floor(shelter.getLongitude() / cellLng);
+            List<double[]> matches = new ArrayList<>(); // {j, 이름 유사도, 거리 m}
+            for (long dy = -1; dy <= 1; dy++) {
+                for (long dx = -1; dx <= 1; dx++) {
+                    List<Integer> cell = cells.get(cellKey(cy + dy, cx + dx));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int j : cell) {
+                        if (sourceOf[j] == sourceOf[i]) {
+                            continue;
+                        }
+                        TsunamiShelter other = all.get(j);
+                        double meters = DistanceCalculator.calculateDistance(shelter.getLatitude(), shelter.getLongitude(),
+                                other.getLatitude(), other.getLongitude()) * 1000;
+                        double score = similarity(normalizedNames[i], normalizedNames[j]);
+                        if (meters <= matchMeters && score >= nameThreshold) {
+                            matches.add(new double[] {j, score, meters});
+                        }
+                    }
+                }
+            }
+            matches.sort((a, b) -> a[1] != b[1] ? Double.compare(b[1], a[1]) : Double.compare(a[2], b[2]));
+            for (double[] match : matches) {
+                union(parent, groupSources, i, (int) match[0]);
+            }
+            cells.computeIfAbsent(cellKey(cy, cx), k -> new ArrayList<>()).add(i);
+        }
+
+        // 그룹 대표 = 그룹에서 가장 앞(우선순위가 높은 소스)의 대피소
+        Map<Integer, TsunamiShelter> merged = new HashMap<>();
+        List<TsunamiShelter> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            TsunamiShelter primary = merged.get(root);
+            if (primary == null) {
+                merged.put(root, all.get(i));
+                result.add(all.get(i));
+            } else {
+                fillMissing(primary, all.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 이름 유사도: 글자 bigram Dice 계수 (정규화된 이름 기준)
+     * - 어느 한쪽이라도 비어 있으면 0 (이름 없는 대피소끼리는 같다고 볼 근거가 없다)
+     * - 한 글자 이름은 완전히 같을 때만 1
+     */
+    public static double similarity(String a, String b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        if (a.length() < 2 || b.length() < 2) {
+            return a.equals(b) ? 1.0 : 0.0;
+        }
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + 1 < a.length(); i++) {
+            grams.merge(a.substring(i, i + 2), 1, Integer::sum);
+        }
+        int common = 0;
+        for (int i = 0; i + 1 < b.length(); i++) {
+            String gram = b.substring(i, i + 2);
+            Integer left = grams.get(gram);
+            if (left != null && left > 0) {
+                grams.put(gram, left - 1);
+                common++;
+            }
+        }
+        return 2.0 * common / ((a.length() - 1) + (b.length() - 1));
+    }
+
+    // 공백, 괄호, 기호를 빼고 소문자로 ("해운대 초등학교(운동장)" → "해운대초등학교운동장")
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        name.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    // primary 에 비어 있는 값("N/A" 포함)만 other 값으로 채운다
+    private static void fillMissing(TsunamiShelter primary, TsunamiShelter other) {
+        if (isBlank(primary.getShelterName())) primary.setShelterName(other.getShelterName());
+        if (isBlank(primary.getAddress())) primary.setAddress(other.getAddress());
+        if (primary.getAccommodationCapacity() == null) primary.setAccommodationCapacity(other.getAccommodationCapacity());
+        if (isBlank(primary.getFacilityArea())) primary.setFacilityArea(other.getFacilityArea());
+        if (isBlank(primary.getManagementAgency())) primary.setManagementAgency(other.getManagementAgency());
+        if (isBlank(primary.getContactNumber())) primary.setContactNumber(other.getContactNumber());
+        if (isBlank(primary.getDesignationDate())) primary.setDesignationDate(other.getDesignationDate());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank() || "N/A".equals(value);
+    }
+
+    private static boolean hasCoordinates(TsunamiShelter shelter) {
+        return shelter.getLatitude() != null && shelter.getLongitude() != null;
+    }
+
+    private static long cellKey(long cy, long cx) {
+        return (cy << 32) ^ (cx & 0xffffffffL);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // 작은 번호(우선순위가 높은 쪽)를 루트로. 두 묶음에 같은 소스가 있으면 묶지 않는다.
+    private static void union(int[] parent, long[] groupSources, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra == rb || (groupSources[ra] & groupSources[rb]) != 0) {
+            return;
+        }
+        int root = Math.min(ra, rb);
+        parent[Math.max(ra, rb)] = root;
+        groupSources[root] = groupSources[ra] | groupSources[rb];
+    }
+}
@@ -0,0 +1,277 @@
+// src/main/java/com/example/warning/util/SpatialGridIndex.java
+package com.example.warning.util;
+
+import java.util.Arrays;
+
+/**
+ * 위도/경도 격자(grid) 기반 공간 인덱스.
+ *
+ * - 좌표를 cellDeg 간격의 셀로 나누고, 셀 키(정렬된 long 배열) → 점 id 목록으로 묶어 둔다.
+ * - 모든 데이터는 primitive 배열이라 스냅샷 파일에 그대로 쓰고 읽을 수 있다.
+ * - 점 id 는 생성 시 넘긴 lats/lngs 배열의 인덱스이며, 좌표가 NaN 인 점은 인덱스에서 제외된다.
+ */
+public class SpatialGridIndex {
+
+    // 위도 1도 길이 (km) = 6371 * π / 180
+    private static final double KM_PER_DEG = 111.195;
+
+    private final double cellDeg;
+    private final double[] lats;
+    private final double[] lngs;
+
+    private final long[] cellKeys;   // 정렬된 셀 키
+    private final int[] cellStarts;  // cellKeys[i] 셀의 점들은 pointIds[cellStarts[i] .. cellStarts[i + 1])
+    private final int[] pointIds;
+
+    private final int minCx, maxCx, minCy, maxCy;
+
+    /**
+     * 이미 만들어진 배열로 인덱스를 복원한다. (스냅샷 로딩용)
+     */
+    public SpatialGridIndex(double cellDeg, double[] lats, double[] lngs,
+                            long[] cellKeys, int[] cellStarts, int[] pointIds) {
+        this.cellDeg = cellDeg;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.cellKeys = cellKeys;
+        this.cellStarts = cellStarts;
+        this.pointIds = pointIds;
+
+        int x0 = Integer.MAX_VALUE, x1 = Integer.MIN_VALUE, y0 = Integer.MAX_VALUE, y1 = Integer.MIN_VALUE;
+        for (long key : cellKeys) {
+            int cx = (int) key;
+            int cy = (int) (key >> 32);
+            x0 = Math.min(x0, cx);
+            x1 = Math.max(x1, cx);
+            y0 = Math.min(y0, cy);
+            y1 = Math.max(y1, cy);
+        }
+        this.minCx = x0;
+        this.maxCx = x1;
+        this.minCy = y0;
+        this.maxCy = y1;
+    }
+
+    /**
+     * 좌표 배열로 인덱스를 새로 만든다.
+     * @param lats 위도 배열 (좌표가 없으면 NaN)
+     * @param lngs 경도 배열 (좌표가 없으면 NaN)
+     * @param cellDeg 셀 한 변의 크기 (도 단위)
+     */
+    public static SpatialGridIndex build(double[] lats, double[] lngs, double cellDeg) {
+        int n = lats.length;
+        long[] keys = new long[n];
+        int valid = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(lats[i]) || Double.isNaN(lngs[i])) {
+                continue;
+            }
+            keys[valid++] = cellKey(cellX(lngs[i], cellDeg), cellY(lats[i], cellDeg));
+        }
+
+        // 셀 키 정렬 + 중복 제거
+        long[] sorted = Arrays.copyOf(keys, valid);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        long[] cellKeys = Arrays.copyOf(sorted, distinct);
+
+        // 셀별 개수 → prefix sum → 채우기 (counting sort)
+        int[] cellStarts = new int[distinct + 1];
+        int[] cellOf = new int[n];
+        Arrays.fill(cellOf, -1);
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(lats[i]) || Double.isNaN(lngs[i])) {
+                continue;
+            }
+            int cell = Arrays.binarySearch(cellKeys, cellKey(cellX(lngs[i], cellDeg), cellY(lats[i], cellDeg)));
+            cellOf[i] = cell;
+            cellStarts[cell + 1]++;
+        }
+        for (int c = 0; c < distinct; c++) {
+            cellStarts[c + 1] += cellStarts[c];
+        }
+        int[] fill = Arrays.copyOf(cellStarts, distinct);
+        int[] pointIds = new int[valid];
+        for (int i = 0; i < n; i++) {
+            if (cellOf[i] >= 0) {
+                pointIds[fill[cellOf[i]]++] = i;
+            }
+        }
+
+        return new SpatialGridIndex(cellDeg, lats, lngs, cellKeys, cellStarts, pointIds);
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * (lat, lng) 에서 가장 가까운 점 k 개의 id 를 거리 오름차순으로 반환한다.
+     *
+     * - 자기 셀부터 바깥 링(ring) 방향으로 넓혀가며 후보를 모은다.
+     * - 다음 링의 최소 가능 거리가 현재 k 번째 거리보다 크면 중단한다.
+     */
+    public int[] nearest(double lat, double lng, int k) {
+        if (k <= 0 || pointIds.length == 0) {
+            return new int[0];
+        }
+        k = Math.min(k, pointIds.length);
+
+        int[] bestIds = new int[k];
+        double[] bestDist = new double[k];
+        int count = 0;
+
+        int cx = cellX(lng, cellDeg);
+        int cy = cellY(lat, cellDeg);
+        int maxR = Math.max(Math.max(Math.abs(cx - minCx), Math.abs(maxCx - cx)),
+                Math.max(Math.abs(cy - minCy), Math.abs(maxCy - cy)));
+
+        for (int r = 0; r <= maxR; r++) {
+            if (count == k && ringLowerBoundKm(lat, r) > bestDist[k - 1]) {
+                break;
+            }
+            // 링이 너무 커지면 (데이터에서 멀리 떨어진 점) 셀 순회보다 전체 스캔이 빠르다
+            long ringCells = (2L * r + 1) * (2L * r + 1);
+            if (ringCells > 2L * cellKeys.length) {
+                count = 0;
+                for (int id : pointIds) {
+                    count = offer(id, distanceTo(id, lat, lng), bestIds, bestDist, count);
+                }
+                break;
+            }
+            for (int dy = -r; dy <= r; dy++) {
+                boolean edgeRow = Math.abs(dy) == r;
+                for (int dx = -r; dx <= r; dx += edgeRow ? 1 : 2 * r) {
+                    int cell = Arrays.binarySearch(cellKeys, cellKey(cx + dx, cy + dy));
+                    if (cell >= 0) {
+                        for (int p = cellStarts[cell]; p < cellStarts[cell + 1]; p++) {
+                            int id = pointIds[p];
+                            count = offer(id, distanceTo(id, lat, lng), bestIds, bestDist, count);
+                        }
+                    }
+                    if (r == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return count == k ? bestIds : Arrays.copyOf(bestIds, count);
+    }
+
+    /**
+     * (lat, lng) 에서 radiusKm 이내에 있는 점 id 들을 반환한다. (정렬되지 않음)
+     */
+    public int[] withinRadius(double lat, double lng, double radiusKm) {
+        double[] bounds = DistanceCalculator.calculateSearchBounds(lat, lng, radiusKm);
+        int y0 = cellY(bounds[0], cellDeg), y1 = cellY(bounds[1], cellDeg);
+        int x0 = cellX(bounds[2], cellDeg), x1 = cellX(bounds[3], cellDeg);
+
+        int[] result = new int[16];
+        int count = 0;
+
+        long rangeCells = (long) (y1 - y0 + 1) * (x1 - x0 + 1);
+        if (rangeCells > cellKeys.length) {
+            // 범위가 넓으면 존재하는 셀만 훑는다
+            for (int cell = 0; cell < cellKeys.length; cell++) {
+                int cx = (int) cellKeys[cell];
+                int cy = (int) (cellKeys[cell] >> 32);
+                if (cx < x0 || cx > x1 || cy < y0 || cy > y1) {
+                    continue;
+                }
+                for (int p = cellStarts[cell]; p < cellStarts[cell + 1]; p++) {
+                    int id = pointIds[p];
+                    if (distanceTo(id, lat, lng) <= radiusKm) {
+                        if (count == result.length) result = Arrays.copyOf(result, count * 2);
+                        result[count++] = id;
+                    }
+                }
+            }
+        } else {
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    int cell = Arrays.binarySearch(cellKeys, cellKey(cx, cy));
+                    if (cell < 0) {
+                        continue;
+                    }
+                    for (int p = cellStarts[cell]; p < cellStarts[cell + 1]; p++) {
+                        int id = pointIds[p];
+                        if (distanceTo(id, lat, lng) <= radiusKm) {
+                            if (count == result.length) result = Arrays.copyOf(result, count * 2);
+                            result[count++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * id 점과 (lat, lng) 사이의 거리 (km)
+     */
+    public double distanceTo(int id, double lat, double lng) {
+        return DistanceCalculator.calculateDistance(lat, lng, lats[id], lngs[id]);
+    }
+
+    // =========================================================
+    // 내부 유틸
+    // =========================================================
+
+    // 거리순으로 정렬된 고정 크기 배열에 후보 삽입 (k 가 작으므로 삽입 정렬로 충분)
+    private static int offer(int id, double dist, int[] ids, double[] dists, int count) {
+        int k = ids.length;
+        if (count == k && dist >= dists[k - 1]) {
+            return count;
+        }
+        int pos = count == k ? k - 1 : count++;
+        while (pos > 0 && dists[pos - 1] > dist) {
+            ids[pos] = ids[pos - 1];
+            dists[pos] = dists[pos - 1];
+            pos--;
+        }
+        ids[pos] = id;
+        dists[pos] = dist;
+        return count;
+    }
+
+    // 중심 셀에서 r 번째 링에 있는 점까지의 최소 가능 거리 (보수적으로 계산)
+    private double ringLowerBoundKm(double lat, int r) {
+        if (r <= 1) {
+            return 0;
+        }
+        double maxAbsLat = Math.min(90.0, Math.abs(lat) + (r + 1) * cellDeg);
+        return (r - 1) * cellDeg * KM_PER_DEG * Math.cos(Math.toRadians(maxAbsLat)) * 0.99;
+    }
+
+    static int cellX(double lng, double cellDeg) {
+        return (int) Math.floor(lng / cellDeg);
+    }
+
+    static int cellY(double lat, double cellDeg) {
+        return (int) Math.floor(lat / cellDeg);
+    }
+
+    static long cellKey(int cx, int cy) {
+        return ((long) cy << 32) | (cx & 0xffffffffL);
+    }
+
+    // =========================================================
+    // Getter (스냅샷 저장용)
+    // =========================================================
+
+    public double getCellDeg() { return cellDeg; }
+    public long[] getCellKeys() { return cellKeys; }
+    public int[] getCellStarts() { return cellStarts; }
+    public int[] getPointIds() { return pointIds; }
+    public double[] getLats() { return lats; }
+    public double[] getLngs() { return lngs; }
+    public double getLat(int id) { return lats[id]; }
+    public double getLng(int id) { return lngs[id]; }
+    public int size() { return pointIds.length; }
+}
@@ -0,0 +1,503 @@
+// src/main/java/com/example/warning/util/SubscriberLocationStore.java
+package com.example.warning.util;
+
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 경보 알림 구독자 위치 저장소 (열 지향 배열 + 격자 인덱스).
+ *
+ * 구독자 한 명 = 한 행(row), 위치는 최대 두 개 (HOME, WORK / 없으면 NaN).
+ *  - 행마다 구독 토큰 해시(tokenHash)를 같이 둔다. 구독 변경/해지 때 본인 확인용 (토큰 원문은 저장하지 않는다)
+ *  - 구독자를 객체로 들고 있지 않고 배열 열(column)로 저장한다. 백만 명이어도 객체 수백만 개가 생기지 않는다.
+ *  - 위치 하나 = 항목(entry) = row * 2 + 종류(HOME/WORK)
+ *  - 서비스 영역(min/max lat/lng)을 cellDeg 격자로 나누고, 항목을 셀 순서로 정렬한 CSR 배열(cellStarts, entries)로 인덱싱한다.
+ *    서비스 영역 밖 항목은 outside 목록에 따로 둔다.
+ *  - 구독 추가/삭제 때는 dirty 표시만 하고, 다음 조회 때 카운팅 정렬로 다시 만든다. (백만 건도 수십 ms)
+ *
+ * 폴리곤 조회(match):
+ *  - 폴리곤 바운딩 박스와 겹치는 셀만 본다
+ *  - 셀 사각형이 폴리곤 안에 완전히 들어가면 셀의 항목은 점 판정 없이 모두 포함
+ *  - 경계에 걸친 셀의 항목만 하나씩 point-in-polygon
+ *  - 격자 행 묶음 단위로 병렬 처리 (PreparedGeometry / 점 판정기는 작업마다 따로 만든다)
+ *
+ * 동시성: 읽기/쓰기 락. 조회 결과(Match)는 필요한 값을 복사해서 돌려주므로 이후 구독이 바뀌어도 그대로 쓸 수 있다.
+ */
+public class SubscriberLocationStore {
+
+    public static final int HOME = 0;
+    public static final int WORK = 1;
+
+    // 병렬 조회 작업 하나가 맡는 격자 행 수
+    private static final int ROWS_PER_TASK = 4;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 구독자 열 (row 단위)
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private String[] ids;
+    private String[] channels;
+    private long[] tokenHashes;
+    private int rowCount;   // 한 번이라도 쓴 행 수 (삭제된 행 포함)
+    private int[] freeRows;
+    private int freeCount;
+
+    // 위치 열 (entry 단위, 좌표 없음 = NaN)
+    private double[] lats;
+    private double[] lngs;
+
+    // 격자 인덱스
+    private boolean dirty = true;
+    private int[] cellStarts;
+    private int[] entries;
+    private int[] outside;
+
+    public SubscriberLocationStore(double minLat, double maxLat, double minLng, double maxLng, double cellDeg) {
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.cellDeg = cellDeg;
+        this.rows = Math.max(1, (int) Math.ceil((maxLat - minLat) / cellDeg));
+        this.cols = Math.max(1, (int) Math.ceil((maxLng - minLng) / cellDeg));
+        allocate(1024);
+    }
+
+    // =========================================================
+    // 구독 등록 / 해지
+    // =========================================================
+
+    /**
+     * 구독 등록 (같은 id 가 있으면 덮어쓴다). 위치가 없으면 NaN.
+     */
+    public void put(String id, String channel, long tokenHash,
+                    double homeLat, double homeLng, double workLat, double workLng) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowById.get(id);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                row = freeCount > 0 ? freeRows[--freeCount] : rowCount++;
+                if (row >= ids.length) {
+                    allocate(ids.length + (ids.length >> 1));
+                }
+                rowById.put(id, row);
+            }
+            ids[row] = id;
+            channels[row] = channel;
+            tokenHashes[row] = tokenHash;
+            lats[row * 2 + HOME] = homeLat;
+            lngs[row * 2 + HOME] = homeLng;
+            lats[row * 2 + WORK] = workLat;
+            lngs[row * 2 + WORK] = workLng;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 구독 해지
+     *
+     * @return 해당 id 의 구독이 있었으면 true
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return false;
+            }
+            ids[row] = null;
+            channels[row] = null;
+            tokenHashes[row] = 0L;
+            Arrays.fill(lats, row * 2, row * 2 + 2, Double.NaN);
+            Arrays.fill(lngs, row * 2, row * 2 + 2, Double.NaN);
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, Math.max(16, freeRows.length * 2));
+            }
+            freeRows[freeCount++] = row;
+            dirty = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return rowById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * id 의 구독이 있고 토큰 해시가 같은지 (본인 확인)
+     */
+    public boolean hasToken(String id, long tokenHash) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(id);
+            return row != null && tokenHashes[row] == tokenHash;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 구독을 하나씩 넘겨준다 (읽기 락 안에서 호출, 저장 파일 다시 쓰기용)
+     */
+    public void forEach(Visitor visitor) {
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rowCount; row++) {
+                if (ids[row] != null) {
+                    visitor.visit(ids[row], channels[row], tokenHashes[row],
+                            lats[row * 2 + HOME], lngs[row * 2 + HOME], lats[row * 2 + WORK], lngs[row * 2 + WORK]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================================================
+    // 폴리곤 조회
+    // =========================================================
+
+    /**
+     * area(폴리곤, 경계 포함) 안에 있는 구독자 위치를 모두 찾는다.
+     * 결과 항목 순서는 격자 셀 순서(서비스 영역 밖 항목은 마지막)라서, 가까운 항목끼리 붙어 있다.
+     *
+     * @param area 면 도형 (Polygon / MultiPolygon, 겹치는 폴리곤은 미리 합쳐서 넘길 것)
+     */
+    public Match match(Geometry area) {
+        lock.readLock().lock();
+        if (dirty) {
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (dirty) {
+                    rebuildIndex();
+                }
+                lock.readLock().lock(); // 쓰기 락을 쥔 채로 읽기 락을 잡아서 내려간다 (downgrade)
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            Envelope envelope = area.getEnvelopeInternal();
+            int r0 = Math.max(0, (int) Math.floor((envelope.getMinY() - minLat) / cellDeg));
+            int r1 = Math.min(rows - 1, (int) Math.floor((envelope.getMaxY() - minLat) / cellDeg));
+            int c0 = Math.max(0, (int) Math.floor((envelope.getMinX() - minLng) / cellDeg));
+            int c1 = Math.min(cols - 1, (int) Math.floor((envelope.getMaxX() - minLng) / cellDeg));
+
+            int tasks = r0 <= r1 && c0 <= c1 ? (r1 - r0) / ROWS_PER_TASK + 1 : 0;
+            List<Scan> scans = IntStream.range(0, tasks + 1)
+                    .parallel()
+                    .mapToObj(t -> t < tasks
+                            ? scanCells(area, r0 + t * ROWS_PER_TASK, Math.min(r1, r0 + t * ROWS_PER_TASK + ROWS_PER_TASK - 1), c0, c1)
+                            : scanOutside(area))
+                    .toList();
+            return collect(scans);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 격자 행 [rowFrom, rowTo] x 열 [c0, c1] 범위의 셀 확인
+    private Scan scanCells(Geometry area, int rowFrom, int rowTo, int c0, int c1) {
+        Scan scan = new Scan();
+        GeometryFactory factory = area.getFactory();
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(area);
+        IndexedPointInAreaLocator locator = null;
+
+        for (int r = rowFrom; r <= rowTo; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                int from = cellStarts[cell];
+                int to = cellStarts[cell + 1];
+                if (from == to) {
+                    continue;
+                }
+                double lat0 = minLat + r * cellDeg;
+                double lng0 = minLng + c * cellDeg;
+                Geometry rectangle = factory.toGeometry(new Envelope(lng0, lng0 + cellDeg, lat0, lat0 + cellDeg));
+                if (prepared.covers(rectangle)) {
+                    scan.fullCells++;
+                    for (int i = from; i < to; i++) {
+                        scan.add(entries[i], cell);
+                    }
+                } else if (prepared.intersects(rectangle)) {
+                    scan.boundaryCells++;
+                    if (locator == null) {
+                        locator = new IndexedPointInAreaLocator(area);
+                    }
+                    for (int i = from; i < to; i++) {
+                        int entry = entries[i];
+                        scan.pointTests++;
+                        if (locator.locate(new Coordinate(lngs[entry], lats[entry])) != Location.EXTERIOR) {
+                            scan.add(entry, cell);
+                        }
+                    }
+                }
+            }
+        }
+        return scan;
+    }
+
+    // 서비스 영역 밖 항목은 하나씩 점 판정 (드물다고 가정)
+    private Scan scanOutside(Geometry area) {
+        Scan scan = new Scan();
+        if (outside.length == 0) {
+            return scan;
+        }
+        Envelope envelope = area.getEnvelopeInternal();
+        IndexedPointInAreaLocator locator = new IndexedPointInAreaLocator(area);
+        for (int entry : outside) {
+            double lat = lats[entry];
+            double lng = lngs[entry];
+            if (!envelope.contains(lng, lat)) {
+                continue;
+            }
+            scan.pointTests++;
+            if (locator.locate(new Coordinate(lng, lat)) != Location.EXTERIOR) {
+                scan.add(entry, -1);
+            }
+        }
+        return scan;
+    }
+
+    // 작업별 결과를 순서대로 이어 붙이고, 필요한 값을 복사한다 (읽기 락 안에서 호출)
+    private Match collect(List<Scan> scans) {
+        int total = 0;
+        int fullCells = 0;
+        int boundaryCells = 0;
+        long pointTests = 0;
+        for (Scan scan : scans) {
+            total += scan.size;
+            fullCells += scan.fullCells;
+            boundaryCells += scan.boundaryCells;
+            pointTests += scan.pointTests;
+        }
+
+        Match match = new Match(total, fullCells, boundaryCells, pointTests);
+        int[] matchedEntries = new int[total];
+        int[] position = new int[rowCount * 2];
+        Arrays.fill(position, -1);
+        int i = 0;
+        for (Scan scan : scans) {
+            for (int j = 0; j < scan.size; j++, i++) {
+                int entry = scan.entries[j];
+                int row = entry >> 1;
+                matchedEntries[i] = entry;
+                match.kinds[i] = (byte) (entry & 1);
+                match.cells[i] = scan.cells[j];
+                match.lats[i] = lats[entry];
+                match.lngs[i] = lngs[entry];
+                match.ids[i] = ids[row];
+                match.channels[i] = channels[row];
+                position[entry] = i;
+            }
+        }
+        // 같은 구독자의 다른 위치(집 <-> 직장)도 구역 안이면 서로 연결 (entry ^ 1 = 같은 행의 다른 위치)
+        int subscribers = 0;
+        for (i = 0; i < total; i++) {
+            match.partners[i] = position[matchedEntries[i] ^ 1];
+            if (match.partners[i] < 0 || match.kinds[i] == HOME) {
+                subscribers++;
+            }
+        }
+        match.subscriberCount = subscribers;
+        return match;
+    }
+
+    // =========================================================
+    // 격자 인덱스 (쓰기 락 안에서 호출)
+    // =========================================================
+
+    private void rebuildIndex() {
+        int entryCount = rowCount * 2;
+        int cellCount = rows * cols;
+        int[] starts = new int[cellCount + 1];
+        int[] cellOfEntry = new int[entryCount];
+        int outsideCount = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            int cell = cellOf(lats[entry], lngs[entry]);
+            cellOfEntry[entry] = cell;
+            if (cell >= 0) {
+                starts[cell + 1]++;
+            } else if (cell == -1) {
+                outsideCount++;
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            starts[cell + 1] += starts[cell];
+        }
+
+        int[] sorted = new int[starts[cellCount]];
+        int[] cursor = Arrays.copyOf(starts, cellCount);
+        int[] out = new int[outsideCount];
+        int o = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            int cell = cellOfEntry[entry];
+            if (cell >= 0) {
+                sorted[cursor[cell]++] = entry;
+            } else if (cell == -1) {
+                out[o++] = entry;
+            }
+        }
+        cellStarts = starts;
+        entries = sorted;
+        outside = out;
+        dirty = false;
+    }
+
+    // 셀 번호 (서비스 영역 밖이면 -1, 좌표 없으면 -2)
+    private int cellOf(double lat, double lng) {
+        if (Double.isNaN(lat) || Double.isNaN(lng)) {
+            return -2;
+        }
+        int r = (int) Math.floor((lat - minLat) / cellDeg);
+        int c = (int) Math.floor((lng - minLng) / cellDeg);
+        if (r < 0 || r >= rows || c < 0 || c >= cols) {
+            return -1;
+        }
+        return r * cols + c;
+    }
+
+    private void allocate(int capacity) {
+        int old = ids == null ? 0 : ids.length;
+        ids = ids == null ? new String[capacity] : Arrays.copyOf(ids, capacity);
+        channels = channels == null ? new String[capacity] : Arrays.copyOf(channels, capacity);
+        tokenHashes = tokenHashes == null ? new long[capacity] : Arrays.copyOf(tokenHashes, capacity);
+        lats = lats == null ? new double[capacity * 2] : Arrays.copyOf(lats, capacity * 2);
+        lngs = lngs == null ? new double[capacity * 2] : Arrays.copyOf(lngs, capacity * 2);
+        Arrays.fill(lats, old * 2, capacity * 2, Double.NaN);
+        Arrays.fill(lngs, old * 2, capacity * 2, Double.NaN);
+        if (freeRows == null) {
+            freeRows = new int[16];
+        }
+    }
+
+    // 셀 중심 좌표 (조회 결과를 셀 단위로 묶어서 처리할 때 사용)
+    public double cellCenterLat(int cell) {
+        return minLat + (cell / cols + 0.5) * cellDeg;
+    }
+
+    public double cellCenterLng(int cell) {
+        return minLng + (cell % cols + 0.5) * cellDeg;
+    }
+
+    public double getCellDeg() {
+        return cellDeg;
+    }
+
+    // =========================================================
+    // 결과 타입
+    // =========================================================
+
+    /**
+     * forEach 로 받는 구독 한 건 (위치가 없으면 NaN)
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(String id, String channel, long tokenHash,
+                   double homeLat, double homeLng, double workLat, double workLng);
+    }
+
+    /**
+     * 폴리곤 조회 결과 (항목 i 별 열 배열, 저장소 값을 복사해 둔 것)
+     */
+    public static final class Match {
+        private final int size;
+        private final byte[] kinds;
+        private final int[] cells;      // 격자 셀 (서비스 영역 밖은 -1)
+        private final double[] lats;
+        private final double[] lngs;
+        private final String[] ids;
+        private final String[] channels;
+        private final int[] partners;   // 같은 구독자의 다른 위치 항목 인덱스 (없으면 -1)
+        private final int fullCells;
+        private final int boundaryCells;
+        private final long pointTests;
+        private int subscriberCount;
+
+        private Match(int size, int fullCells, int boundaryCells, long pointTests) {
+            this.size = size;
+            this.kinds = new byte[size];
+            this.cells = new int[size];
+            this.lats = new double[size];
+            this.lngs = new double[size];
+            this.ids = new String[size];
+            this.channels = new String[size];
+            this.partners = new int[size];
+            this.fullCells = fullCells;
+            this.boundaryCells = boundaryCells;
+            this.pointTests = pointTests;
+        }
+
+        public int size() { return size; }
+        public int getKind(int i) { return kinds[i]; }
+        public int getCell(int i) { return cells[i]; }
+        public double getLat(int i) { return lats[i]; }
+        public double getLng(int i) { return lngs[i]; }
+        public String getId(int i) { return ids[i]; }
+        public String getChannel(int i) { return channels[i]; }
+        public int getPartner(int i) { return partners[i]; }
+        public int getSubscriberCount() { return subscriberCount; }
+        public int getFullCells() { return fullCells; }
+        public int getBoundaryCells() { return boundaryCells; }
+        public long getPointTests() { return pointTests; }
+    }
+
+    // 병렬 작업 하나의 결과 (항목, 셀)
+    private static final class Scan {
+        private int[] entries = new int[64];
+        private int[] cells = new int[64];
+        private int size;
+        private int fullCells;
+        private int boundaryCells;
+        private long pointTests;
+
+        private void add(int entry, int cell) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            entries[size] = entry;
+            cells[size] = cell;
+            size++;
+        }
+    }
+}
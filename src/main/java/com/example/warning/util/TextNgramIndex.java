@@ -0,0 +1,141 @@
+// src/main/java/com/example/warning/util/TextNgramIndex.java
+package com.example.warning.util;
+
+import java.util.Arrays;
+
+/**
+ * 부분 문자열(contains) 검색용 bigram 역색인.
+ *
+ * - 문자열마다 연속된 두 글자(bigram)를 뽑아 bigram → 문자열 id 목록(posting)으로 저장한다.
+ * - 검색어의 bigram posting 들을 교집합한 뒤, 실제 contains 로 한 번 더 확인한다.
+ * - DB 의 LIKE '%keyword%' (findBy...Containing) 와 같은 결과가 나오도록 대소문자를 구분한다.
+ */
+public class TextNgramIndex {
+
+    private final String[] texts;
+    private final int[] grams;       // 정렬된 bigram 키 (앞 글자 << 16 | 뒷 글자)
+    private final int[] gramStarts;  // grams[i] 의 posting 은 postings[gramStarts[i] .. gramStarts[i + 1])
+    private final int[] postings;    // 문자열 id (bigram 안에서는 오름차순)
+
+    /**
+     * 이미 만들어진 배열로 인덱스를 복원한다. (스냅샷 로딩용)
+     */
+    public TextNgramIndex(String[] texts, int[] grams, int[] gramStarts, int[] postings) {
+        this.texts = texts;
+        this.grams = grams;
+        this.gramStarts = gramStarts;
+        this.postings = postings;
+    }
+
+    /**
+     * 문자열 배열로 인덱스를 새로 만든다. (null 은 빈 문자열로 취급)
+     */
+    public static TextNgramIndex build(String[] rawTexts) {
+        String[] texts = new String[rawTexts.length];
+        int total = 0;
+        for (int i = 0; i < rawTexts.length; i++) {
+            texts[i] = rawTexts[i] == null ? "" : rawTexts[i];
+            total += Math.max(0, texts[i].length() - 1);
+        }
+
+        // (bigram << 32 | id) 를 정렬하면 bigram 별로, 그 안에서는 id 순으로 묶인다
+        long[] pairs = new long[total];
+        int count = 0;
+        for (int id = 0; id < texts.length; id++) {
+            String text = texts[id];
+            for (int c = 0; c + 1 < text.length(); c++) {
+                pairs[count++] = ((long) bigram(text.charAt(c), text.charAt(c + 1)) << 32) | id;
+            }
+        }
+        Arrays.sort(pairs, 0, count);
+
+        int[] grams = new int[count];
+        int[] gramStarts = new int[count + 1];
+        int[] postings = new int[count];
+        int gramCount = 0;
+        int postingCount = 0;
+        long prev = -1;
+        for (int i = 0; i < count; i++) {
+            if (pairs[i] == prev) {
+                continue; // 같은 문자열 안의 중복 bigram
+            }
+            int gram = (int) (pairs[i] >>> 32);
+            if (gramCount == 0 || grams[gramCount - 1] != gram) {
+                grams[gramCount] = gram;
+                gramStarts[gramCount] = postingCount;
+                gramCount++;
+            }
+            postings[postingCount++] = (int) pairs[i];
+            prev = pairs[i];
+        }
+        gramStarts[gramCount] = postingCount;
+
+        return new TextNgramIndex(texts,
+                Arrays.copyOf(grams, gramCount),
+                Arrays.copyOf(gramStarts, gramCount + 1),
+                Arrays.copyOf(postings, postingCount));
+    }
+
+    /**
+     * keyword 를 포함하는 문자열 id 들을 오름차순으로 반환한다.
+     */
+    public int[] search(String keyword) {
+        if (keyword == null) {
+            return new int[0];
+        }
+        if (keyword.length() < 2) {
+            // bigram 을 만들 수 없는 짧은 검색어는 전체 스캔
+            return scan(keyword);
+        }
+
+        // 1) posting 이 가장 짧은 bigram 을 기준 후보로 잡는다
+        int shortest = -1;
+        for (int c = 0; c + 1 < keyword.length(); c++) {
+            int g = Arrays.binarySearch(grams, bigram(keyword.charAt(c), keyword.charAt(c + 1)));
+            if (g < 0) {
+                return new int[0];
+            }
+            if (shortest < 0 || postingLength(g) < postingLength(shortest)) {
+                shortest = g;
+            }
+        }
+
+        // 2) 후보 중 실제로 keyword 를 포함하는 것만 남긴다
+        int[] result = new int[postingLength(shortest)];
+        int count = 0;
+        for (int p = gramStarts[shortest]; p < gramStarts[shortest + 1]; p++) {
+            int id = postings[p];
+            if (texts[id].contains(keyword)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] scan(String keyword) {
+        int[] result = new int[texts.length];
+        int count = 0;
+        for (int id = 0; id < texts.length; id++) {
+            if (texts[id].contains(keyword)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int postingLength(int gramIndex) {
+        return gramStarts[gramIndex + 1] - gramStarts[gramIndex];
+    }
+
+    private static int bigram(char a, char b) {
+        return (a << 16) | b;
+    }
+
+    // =========================================================
+    // Getter (스냅샷 저장용)
+    // =========================================================
+
+    public int[] getGrams() { return grams; }
+    public int[] getGramStarts() { return gramStarts; }
+    public int[] getPostings() { return postings; }
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/example/warning/util/TokenBucket.java
+package com.example.warning.util;
+
+/**
+ * 단순 토큰 버킷 (클라이언트별 요청 속도 제한용)
+ *
+ * - 초당 ratePerSecond 개씩 토큰이 채워지고, 최대 burst 개까지 쌓인다.
+ * - 요청 하나가 토큰 하나를 쓴다. 토큰이 없으면 거절.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, double burst) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나를 사용한다.
+     * @return 토큰이 있었으면 true
+     */
+    public synchronized boolean tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+}
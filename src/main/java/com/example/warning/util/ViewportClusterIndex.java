@@ -0,0 +1,475 @@
+// src/main/java/com/example/warning/util/ViewportClusterIndex.java
+package com.example.warning.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 지도 화면(viewport)용 줌 레벨별 계층 클러스터 인덱스 (supercluster 방식).
+ *
+ * 만드는 방법:
+ *  1) 좌표를 웹 메르카토르 [0, 1] 평면으로 투영한다.
+ *  2) 가장 큰 줌(maxZoom + 1)에는 대피소 하나하나를 그대로 둔다.
+ *  3) 줌 z 는 z + 1 단계의 점들을 반경 radiusPx / (extentPx * 2^z) 안에서 묶어서 만든다.
+ *     묶인 클러스터는 개수 가중 평균 위치, 개수 합, 수용인원 합을 가진다.
+ *  4) 줌마다 정적 KD-tree 를 만들어 두고, 화면 범위(bbox) 조회는 해당 줌의 트리만 본다.
+ *
+ * 화면 하나에 들어오는 클러스터 수는 화면 크기/반경으로 정해지므로 데이터 크기와 상관없이 응답 크기가 일정하다.
+ * 한 번 만든 뒤에는 읽기만 하므로 여러 스레드에서 같이 써도 된다.
+ */
+public class ViewportClusterIndex {
+
+    private static final int KD_NODE_SIZE = 64;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private final int maxZoom;
+    private final Level[] levels; // levels[z] = 줌 z 의 점/클러스터 (levels[maxZoom + 1] = 개별 대피소)
+
+    private ViewportClusterIndex(int maxZoom, Level[] levels) {
+        this.maxZoom = maxZoom;
+        this.levels = levels;
+    }
+
+    /**
+     * @param lats        대피소 위도 (id = 배열 인덱스, NaN = 좌표 없음 → 제외)
+     * @param lngs        대피소 경도
+     * @param capacities  대피소 수용인원 (모르면 0)
+     * @param maxZoom     이 줌까지 클러스터링하고, 그보다 크면 개별 대피소를 돌려준다
+     * @param radiusPx    클러스터 반경 (화면 픽셀)
+     * @param extentPx    타일 한 변의 픽셀 수
+     */
+    public static ViewportClusterIndex build(double[] lats, double[] lngs, int[] capacities,
+                                             int maxZoom, double radiusPx, double extentPx) {
+        int n = 0;
+        for (int id = 0; id < lats.length; id++) {
+            if (!Double.isNaN(lats[id]) && !Double.isNaN(lngs[id])) {
+                n++;
+            }
+        }
+        Level leaves = new Level(n);
+        int i = 0;
+        for (int id = 0; id < lats.length; id++) {
+            if (Double.isNaN(lats[id]) || Double.isNaN(lngs[id])) {
+                continue;
+            }
+            leaves.xs[i] = lngX(lngs[id]);
+            leaves.ys[i] = latY(lats[id]);
+            leaves.counts[i] = 1;
+            leaves.capacities[i] = capacities[id];
+            leaves.shelterIds[i] = id;
+            leaves.expansionZooms[i] = -1;
+            i++;
+        }
+        leaves.buildTree();
+
+        Level[] levels = new Level[maxZoom + 2];
+        levels[maxZoom + 1] = leaves;
+        for (int z = maxZoom; z >= 0; z--) {
+            levels[z] = cluster(levels[z + 1], z, radiusPx / (extentPx * Math.pow(2, z)));
+        }
+        return new ViewportClusterIndex(maxZoom, levels);
+    }
+
+    // 줌 z + 1 의 점들을 반경 r 안에서 묶어 줌 z 를 만든다
+    private static Level cluster(Level prev, int zoom, double r) {
+        int n = prev.size();
+        boolean[] visited = new boolean[n];
+        Level next = new Level(n);
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+
+            int count = prev.counts[i];
+            long capacity = prev.capacities[i];
+            double wx = prev.xs[i] * count;
+            double wy = prev.ys[i] * count;
+            boolean merged = false;
+            for (int nb : prev.tree.within(prev.xs[i], prev.ys[i], r)) {
+                if (visited[nb]) {
+                    continue;
+                }
+                visited[nb] = true;
+                merged = true;
+                count += prev.counts[nb];
+                capacity += prev.capacities[nb];
+                wx += prev.xs[nb] * prev.counts[nb];
+                wy += prev.ys[nb] * prev.counts[nb];
+            }
+
+            if (merged) {
+                next.xs[m] = wx / count;
+                next.ys[m] = wy / count;
+                next.shelterIds[m] = -1;
+                next.expansionZooms[m] = zoom + 1; // 한 단계 확대하면 흩어진다
+            } else {
+                // 주변에 묶을 점이 없으면 그대로 올린다
+                next.xs[m] = prev.xs[i];
+                next.ys[m] = prev.ys[i];
+                next.shelterIds[m] = prev.shelterIds[i];
+                next.expansionZooms[m] = prev.expansionZooms[i];
+            }
+            next.counts[m] = count;
+            next.capacities[m] = capacity;
+            m++;
+        }
+        next.truncate(m);
+        next.buildTree();
+        return next;
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    /**
+     * 화면 범위 안의 클러스터/대피소.
+     * 결과가 maxItems 를 넘으면 줌을 한 단계씩 낮춰서(더 크게 묶어서) 다시 찾는다.
+     *
+     * 경도는 [-180, 180) 로 감아서 보고, minLng > maxLng 이면 날짜변경선을 넘는 화면으로 보고 양쪽을 합친다.
+     * 경도 폭이 360 이상이면 전 세계, 위도는 메르카토르 범위(±85.05)로 자른다.
+     */
+    public Result query(double minLat, double minLng, double maxLat, double maxLng, int zoom, int maxItems) {
+        double west = wrapLng(minLng);
+        double east = maxLng == 180 ? 180 : wrapLng(maxLng);
+        if (maxLng - minLng >= 360) {
+            west = -180;
+            east = 180;
+        }
+        double minY = latY(maxLat); // 메르카토르 y 는 북쪽이 작다
+        double maxY = latY(minLat);
+        double[][] boxes = west <= east
+                ? new double[][] {{lngX(west), minY, lngX(east), maxY}}
+                : new double[][] {{lngX(west), minY, lngX(180), maxY}, {lngX(-180), minY, lngX(east), maxY}};
+
+        int z = Math.max(0, Math.min(zoom, maxZoom + 1));
+        int[] hits = range(levels[z], boxes);
+        while (hits.length > maxItems && z > 0) {
+            z--;
+            hits = range(levels[z], boxes);
+        }
+        boolean truncated = hits.length > maxItems;
+        if (truncated) {
+            hits = Arrays.copyOf(hits, maxItems);
+        }
+
+        Level level = levels[z];
+        List<Node> nodes = new ArrayList<>(hits.length);
+        for (int i : hits) {
+            nodes.add(new Node(yLat(level.ys[i]), xLng(level.xs[i]), level.counts[i], level.capacities[i],
+                    level.shelterIds[i], level.expansionZooms[i]));
+        }
+        return new Result(z, nodes, truncated);
+    }
+
+    private static int[] range(Level level, double[][] boxes) {
+        int[] hits = level.tree.range(boxes[0][0], boxes[0][1], boxes[0][2], boxes[0][3]);
+        if (boxes.length == 1) {
+            return hits;
+        }
+        int[] other = level.tree.range(boxes[1][0], boxes[1][1], boxes[1][2], boxes[1][3]);
+        int[] merged = Arrays.copyOf(hits, hits.length + other.length);
+        System.arraycopy(other, 0, merged, hits.length, other.length);
+        return merged;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * 줌 z 의 점/클러스터 개수
+     */
+    public int sizeAt(int zoom) {
+        return levels[Math.max(0, Math.min(zoom, maxZoom + 1))].size();
+    }
+
+    // =========================================================
+    // 웹 메르카토르 투영 ([0, 1] 평면)
+    // =========================================================
+
+    // 경도를 [-180, 180) 로 감는다
+    private static double wrapLng(double lng) {
+        return ((lng + 180) % 360 + 360) % 360 - 180;
+    }
+
+    private static double lngX(double lng) {
+        return lng / 360 + 0.5;
+    }
+
+    private static double latY(double lat) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    }
+
+    private static double xLng(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    private static double yLat(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    // =========================================================
+    // 결과 타입
+    // =========================================================
+
+    public static final class Result {
+        private final int zoom;
+        private final List<Node> nodes;
+        private final boolean truncated;
+
+        private Result(int zoom, List<Node> nodes, boolean truncated) {
+            this.zoom = zoom;
+            this.nodes = nodes;
+            this.truncated = truncated;
+        }
+
+        public int getZoom() { return zoom; }
+        public List<Node> getNodes() { return nodes; }
+        public boolean isTruncated() { return truncated; }
+    }
+
+    /**
+     * 클러스터 또는 개별 대피소 (shelterId >= 0 이면 개별 대피소)
+     */
+    public static final class Node {
+        private final double lat;
+        private final double lng;
+        private final int count;
+        private final long capacity;
+        private final int shelterId;
+        private final int expansionZoom;
+
+        private Node(double lat, double lng, int count, long capacity, int shelterId, int expansionZoom) {
+            this.lat = lat;
+            this.lng = lng;
+            this.count = count;
+            this.capacity = capacity;
+            this.shelterId = shelterId;
+            this.expansionZoom = expansionZoom;
+        }
+
+        public boolean isCluster() { return shelterId < 0; }
+        public double getLat() { return lat; }
+        public double getLng() { return lng; }
+        public int getCount() { return count; }
+        public long getCapacity() { return capacity; }
+        public int getShelterId() { return shelterId; }
+        public int getExpansionZoom() { return expansionZoom; }
+    }
+
+    // =========================================================
+    // 내부 자료구조
+    // =========================================================
+
+    // 줌 하나의 점/클러스터 (열 단위 배열)
+    private static final class Level {
+        private double[] xs;
+        private double[] ys;
+        private int[] counts;
+        private long[] capacities;
+        private int[] shelterIds;
+        private int[] expansionZooms;
+        private KdTree tree;
+
+        private Level(int capacity) {
+            xs = new double[capacity];
+            ys = new double[capacity];
+            counts = new int[capacity];
+            capacities = new long[capacity];
+            shelterIds = new int[capacity];
+            expansionZooms = new int[capacity];
+        }
+
+        private int size() {
+            return xs.length;
+        }
+
+        private void truncate(int n) {
+            xs = Arrays.copyOf(xs, n);
+            ys = Arrays.copyOf(ys, n);
+            counts = Arrays.copyOf(counts, n);
+            capacities = Arrays.copyOf(capacities, n);
+            shelterIds = Arrays.copyOf(shelterIds, n);
+            expansionZooms = Arrays.copyOf(expansionZooms, n);
+        }
+
+        private void buildTree() {
+            tree = new KdTree(xs, ys);
+        }
+    }
+
+    /**
+     * 정적 2차원 KD-tree (kdbush 방식: 배열 하나를 중앙값 기준으로 재귀 분할, 리프는 KD_NODE_SIZE 개)
+     */
+    private static final class KdTree {
+        private final int[] ids;
+        private final double[] coords; // [x0, y0, x1, y1, ...] (ids 와 같은 순서)
+
+        private KdTree(double[] xs, double[] ys) {
+            int n = xs.length;
+            ids = new int[n];
+            coords = new double[n * 2];
+            for (int i = 0; i < n; i++) {
+                ids[i] = i;
+                coords[2 * i] = xs[i];
+                coords[2 * i + 1] = ys[i];
+            }
+            sort(0, n - 1, 0);
+        }
+
+        private int[] range(double minX, double minY, double maxX, double maxY) {
+            IntList result = new IntList();
+            IntList stack = new IntList();
+            stack.push(0, ids.length - 1, 0);
+            while (stack.size > 0) {
+                int axis = stack.pop();
+                int right = stack.pop();
+                int left = stack.pop();
+                if (right - left <= KD_NODE_SIZE) {
+                    for (int i = left; i <= right; i++) {
+                        double x = coords[2 * i];
+                        double y = coords[2 * i + 1];
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                            result.add(ids[i]);
+                        }
+                    }
+                    continue;
+                }
+                int m = (left + right) >> 1;
+                double x = coords[2 * m];
+                double y = coords[2 * m + 1];
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.add(ids[m]);
+                }
+                if (axis == 0 ? minX <= x : minY <= y) {
+                    stack.push(left, m - 1, 1 - axis);
+                }
+                if (axis == 0 ? maxX >= x : maxY >= y) {
+                    stack.push(m + 1, right, 1 - axis);
+                }
+            }
+            return result.toArray();
+        }
+
+        private int[] within(double qx, double qy, double r) {
+            IntList result = new IntList();
+            IntList stack = new IntList();
+            stack.push(0, ids.length - 1, 0);
+            double r2 = r * r;
+            while (stack.size > 0) {
+                int axis = stack.pop();
+                int right = stack.pop();
+                int left = stack.pop();
+                if (right - left <= KD_NODE_SIZE) {
+                    for (int i = left; i <= right; i++) {
+                        if (sqDist(coords[2 * i], coords[2 * i + 1], qx, qy) <= r2) {
+                            result.add(ids[i]);
+                        }
+                    }
+                    continue;
+                }
+                int m = (left + right) >> 1;
+                double x = coords[2 * m];
+                double y = coords[2 * m + 1];
+                if (sqDist(x, y, qx, qy) <= r2) {
+                    result.add(ids[m]);
+                }
+                if (axis == 0 ? qx - r <= x : qy - r <= y) {
+                    stack.push(left, m - 1, 1 - axis);
+                }
+                if (axis == 0 ? qx + r >= x : qy + r >= y) {
+                    stack.push(m + 1, right, 1 - axis);
+                }
+            }
+            return result.toArray();
+        }
+
+        private void sort(int left, int right, int axis) {
+            if (right - left <= KD_NODE_SIZE) {
+                return;
+            }
+            int m = (left + right) >> 1;
+            select(m, left, right, axis);
+            sort(left, m - 1, 1 - axis);
+            sort(m + 1, right, 1 - axis);
+        }
+
+        // [left, right] 구간에서 k 번째가 제자리에 오도록 부분 정렬 (Hoare 분할)
+        private void select(int k, int left, int right, int axis) {
+            while (right > left) {
+                double t = coords[2 * k + axis];
+                int i = left;
+                int j = right;
+                swap(left, k);
+                if (coords[2 * right + axis] > t) {
+                    swap(left, right);
+                }
+                while (i < j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                    while (coords[2 * i + axis] < t) i++;
+                    while (coords[2 * j + axis] > t) j--;
+                }
+                if (coords[2 * left + axis] == t) {
+                    swap(left, j);
+                } else {
+                    j++;
+                    swap(j, right);
+                }
+                if (j <= k) left = j + 1;
+                if (k <= j) right = j - 1;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double x = coords[2 * i];
+            double y = coords[2 * i + 1];
+            coords[2 * i] = coords[2 * j];
+            coords[2 * i + 1] = coords[2 * j + 1];
+            coords[2 * j] = x;
+            coords[2 * j + 1] = y;
+        }
+
+        private static double sqDist(double ax, double ay, double bx, double by) {
+            double dx = ax - bx;
+            double dy = ay - by;
+            return dx * dx + dy * dy;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void push(int a, int b, int c) {
+            add(a);
+            add(b);
+            add(c);
+        }
+
+        private int pop() {
+            return values[--size];
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+// src/main/java/com/example/warning/util/WalkingGraph.java
+package com.example.warning.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 보행 도로망 그래프 (무방향, 간선 가중치 = 길이 m).
+ *
+ * OSM 에서 미리 뽑아둔 로컬 CSV 두 개를 읽는다.
+ *  - nodes.csv : id,lat,lng
+ *  - edges.csv : fromId,toId,meters
+ * 첫 줄이 숫자로 시작하지 않으면 헤더로 보고 건너뛴다. 노드 id 는 OSM id 처럼 아무 long 값이어도 된다.
+ *
+ * 내부적으로는 0..n-1 번호로 바꿔서 CSR(compressed sparse row) 인접 배열로 들고 있다.
+ */
+public class WalkingGraph {
+
+    private final double[] lats;
+    private final double[] lngs;
+    private final int[] edgeStarts;  // 노드 v 의 간선은 edgeTargets[edgeStarts[v] .. edgeStarts[v + 1])
+    private final int[] edgeTargets;
+    private final double[] edgeMeters;
+
+    public WalkingGraph(double[] lats, double[] lngs, int[] edgeStarts, int[] edgeTargets, double[] edgeMeters) {
+        this.lats = lats;
+        this.lngs = lngs;
+        this.edgeStarts = edgeStarts;
+        this.edgeTargets = edgeTargets;
+        this.edgeMeters = edgeMeters;
+    }
+
+    /**
+     * nodes.csv / edges.csv 를 읽어 그래프를 만든다.
+     * 알 수 없는 노드를 가리키는 간선, 길이가 0 이하인 간선, 자기 자신으로 가는 간선은 무시한다.
+     */
+    public static WalkingGraph load(Path nodesCsv, Path edgesCsv) throws IOException {
+        Map<Long, Integer> indexById = new HashMap<>();
+        double[] lats = new double[1024];
+        double[] lngs = new double[1024];
+        int n = 0;
+        try (BufferedReader reader = Files.newBufferedReader(nodesCsv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = split(line);
+                if (cols == null) {
+                    continue;
+                }
+                if (n == lats.length) {
+                    lats = Arrays.copyOf(lats, n * 2);
+                    lngs = Arrays.copyOf(lngs, n * 2);
+                }
+                indexById.put(Long.parseLong(cols[0]), n);
+                lats[n] = Double.parseDouble(cols[1]);
+                lngs[n] = Double.parseDouble(cols[2]);
+                n++;
+            }
+        }
+
+        // 무방향이므로 간선 하나를 양쪽 방향으로 넣는다
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        double[] meters = new double[1024];
+        int m = 0;
+        try (BufferedReader reader = Files.newBufferedReader(edgesCsv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = split(line);
+                if (cols == null) {
+                    continue;
+                }
+                Integer a = indexById.get(Long.parseLong(cols[0]));
+                Integer b = indexById.get(Long.parseLong(cols[1]));
+                double length = Double.parseDouble(cols[2]);
+                if (a == null || b == null || a.equals(b) || !(length > 0)) {
+                    continue;
+                }
+                if (m + 2 > from.length) {
+                    from = Arrays.copyOf(from, from.length * 2);
+                    to = Arrays.copyOf(to, to.length * 2);
+                    meters = Arrays.copyOf(meters, meters.length * 2);
+                }
+                from[m] = a; to[m] = b; meters[m] = length; m++;
+                from[m] = b; to[m] = a; meters[m] = length; m++;
+            }
+        }
+
+        int[] starts = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            starts[from[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            starts[v + 1] += starts[v];
+        }
+        int[] fill = Arrays.copyOf(starts, n);
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            int slot = fill[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = meters[e];
+        }
+
+        return new WalkingGraph(Arrays.copyOf(lats, n), Arrays.copyOf(lngs, n), starts, targets, weights);
+    }
+
+    // CSV 한 줄 → 컬럼 (빈 줄, 주석, 헤더는 null)
+    private static String[] split(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        char first = trimmed.charAt(0);
+        if (first != '-' && !Character.isDigit(first)) {
+            return null;
+        }
+        String[] cols = trimmed.split(",");
+        for (int i = 0; i < cols.length; i++) {
+            cols[i] = cols[i].trim();
+        }
+        return cols;
+    }
+
+    // =========================================================
+    // Getter
+    // =========================================================
+
+    public int getNodeCount() { return lats.length; }
+    public double[] getLats() { return lats; }
+    public double[] getLngs() { return lngs; }
+    public int[] getEdgeStarts() { return edgeStarts; }
+    public int[] getEdgeTargets() { return edgeTargets; }
+    public double[] getEdgeMeters() { return edgeMeters; }
+}
@@ -306,6 +306,11 @@ class ShelterApp {
             // 목록 + 지도 동시 갱신
             this.displayShelters(shelters);
             this.showSheltersOnMap(shelters);
+
+            // 사용자 위치가 침수 예상 구역 안이면 서버가 헤더로 알려준다
+            if (response.headers.get('X-Inundation-Zone') === 'true') {
+                this.showAlert('현재 위치가 지진해일 침수 예상 구역입니다. 즉시 가까운 대피소로 이동하세요!', 'error');
+            }
         } catch (error) {
             console.error('Error:', error);
             this.showAlert(error.message, 'error');
@@ -399,6 +404,12 @@ class ShelterApp {
                 <div class="shelter-name">${this.escapeHtml(shelter.shelterName || '이름 없음')}</div>
                 ${shelter.distanceFromUser
             ? `<div class="shelter-distance">📏 ${shelter.distanceFromUser.toFixed(2)}km</div>`
+            : ''}
+                ${shelter.walkingMinutes
+            ? `<div class="shelter-distance">🚶 도보 약 ${Math.ceil(shelter.walkingMinutes)}분</div>`
+            : ''}
+                ${shelter.inInundationZone
+            ? `<div class="shelter-distance">⚠️ 침수 예상 구역 안의 대피소</div>`
             : ''}
                 <div class="shelter-address">📍 ${this.escapeHtml(shelter.address || '주소 정보 없음')}</div>
                 <div class="shelter-info">
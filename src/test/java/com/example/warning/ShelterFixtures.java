@@ -0,0 +1,50 @@
+package com.example.warning;
+
+import com.example.warning.model.TsunamiShelter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 테스트용 대피소 데이터.
+ *
+ *  - shelter(...) : 값을 지정한 대피소 하나
+ *  - random(...)  : 정해진 범위 안에 흩어진 대피소 목록 (seed 가 같으면 같은 목록)
+ */
+public final class ShelterFixtures {
+
+    private ShelterFixtures() {
+    }
+
+    public static TsunamiShelter shelter(Long id, String name, String address, Double latitude, Double longitude) {
+        TsunamiShelter shelter = new TsunamiShelter();
+        shelter.setId(id);
+        shelter.setShelterName(name);
+        shelter.setAddress(address);
+        shelter.setLatitude(latitude);
+        shelter.setLongitude(longitude);
+        return shelter;
+    }
+
+    public static TsunamiShelter shelter(Long id, String name, double latitude, double longitude) {
+        return shelter(id, name, null, latitude, longitude);
+    }
+
+    /**
+     * id 1..count 인 대피소를 (minLat, minLng) ~ (minLat + spanDeg, minLng + spanDeg) 안에 무작위로 만든다.
+     * - 이름: 세 개 중 하나는 "해안대피소 i", 나머지는 "고지대대피소 i"
+     * - 주소: "부산광역시 i", 수용인원: 100 ~ 999
+     */
+    public static List<TsunamiShelter> random(int count, long seed, double minLat, double minLng, double spanDeg) {
+        Random random = new Random(seed);
+        List<TsunamiShelter> shelters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TsunamiShelter shelter = shelter((long) i + 1, (i % 3 == 0 ? "해안" : "고지대") + "대피소 " + i, "부산광역시 " + i,
+                    minLat + random.nextDouble() * spanDeg, minLng + random.nextDouble() * spanDeg);
+            shelter.setAccommodationCapacity(100 + random.nextInt(900));
+            shelters.add(shelter);
+        }
+        return shelters;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.warning.config;
+
+import com.example.warning.service.ShelterCatalog;
+import com.example.warning.service.ShelterDataset;
+import com.example.warning.service.ShelterDatasetChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 입장 제어 필터의 클라이언트 구분/속도 제한/부하 차단 동작.
+ * - 토큰이 거의 다시 채워지지 않게(client-rate 0.001) 해서 burst 만큼만 통과하도록 만든다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:admission-filter",
+        "spring.jpa.show-sql=false",
+        "app.snapshot.path=build/tmp/admission-filter-test/shelters.snap",
+        "app.snapshot.refresh-on-start=false",
+        "app.nearest-grid.enabled=false",
+        "app.admission.critical.client-rate=0.001",
+        "app.admission.critical.client-burst=2",
+        "app.admission.low.client-rate=0.001",
+        "app.admission.low.client-burst=1",
+        "app.admission.max-tracked-clients=2"
+})
+@AutoConfigureMockMvc
+class AdmissionControlFilterTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShelterCatalog shelterCatalog;
+
+    @Test
+    void criticalOverClientRateIsDegradedNotRejected() throws Exception {
+        shelterCatalog.publish(ShelterDataset.build(1L, random(100, 1L, 35.0, 129.0, 1.0)),
+                ShelterDatasetChangedEvent.Source.LOADED);
+
+        for (int i = 0; i < 2; i++) {
+            Object degraded = mockMvc.perform(nearest("10.1.0.1"))
+                    .andExpect(status().isOk())
+                    .andReturn().getRequest().getAttribute(AdmissionControlFilter.DEGRADED_ATTRIBUTE);
+            assertNull(degraded);
+        }
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(nearest("10.1.0.1"))
+                    .andExpect(status().isOk())
+                    .andExpect(request().attribute(AdmissionControlFilter.DEGRADED_ATTRIBUTE, Boolean.TRUE));
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedClientIsEvictedInsteadOfResettingEveryone() throws Exception {
+        mockMvc.perform(search("10.2.0.1")).andExpect(status().isOk());
+        mockMvc.perform(search("10.2.0.1")).andExpect(status().isTooManyRequests());
+
+        // 한도(2개)를 넘는 새 클라이언트가 와도 방금 쓴 클라이언트의 버킷은 남아 있다
+        mockMvc.perform(search("10.2.0.2")).andExpect(status().isOk());
+        mockMvc.perform(search("10.2.0.1")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(search("10.2.0.3")).andExpect(status().isOk());
+        mockMvc.perform(search("10.2.0.1")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void clientIsResolvedFromForwardedHeaderBehindTrustedProxy() throws Exception {
+        // 루프백은 신뢰하는 프록시 → X-Forwarded-For 의 주소가 클라이언트
+        HttpClient client = HttpClient.newHttpClient();
+        assertEquals(200, searchVia(client, "203.0.113.10"));
+        assertEquals(429, searchVia(client, "203.0.113.10"));
+        assertEquals(200, searchVia(client, "203.0.113.11"));
+    }
+
+    @Test
+    void alertBroadcastIsNeitherShedNorBlockedByInitialize() throws Exception {
+        assertEquals(AdmissionControlFilter.Priority.ALERT, AdmissionControlFilter.classify("/admin/alerts"));
+        assertEquals(AdmissionControlFilter.Priority.ADMIN, AdmissionControlFilter.classify("/admin/initialize"));
+
+        // CRITICAL 한도 1, ADMIN 한도 1
+        AdmissionControlFilter filter = new AdmissionControlFilter(true, 0.8,
+                1, 100, 20, 50, 32, 200, 5, 10, 16, 100, 10, 20, 1, 4, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread initialize = inFlight(filter, "/admin/initialize", release);
+        Thread nearest = inFlight(filter, "/api/nearest-shelters", release); // CRITICAL 사용률 1.0
+        try {
+            assertEquals(503, perform(filter, "/admin/initialize").getStatus(), "초기화는 차단된다");
+
+            MockHttpServletResponse alert = perform(filter, "/admin/alerts");
+            assertEquals(200, alert.getStatus(), "경보 발령은 차단되지 않아야 한다");
+            assertNull(alert.getHeader("Retry-After"));
+        } finally {
+            release.countDown();
+            initialize.join(5_000);
+            nearest.join(5_000);
+        }
+    }
+
+    // 필터를 통과해 처리 중인 채로 release 까지 붙잡혀 있는 요청
+    private static Thread inFlight(AdmissionControlFilter filter, String uri, CountDownLatch release) throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", uri), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS), uri + " 가 필터를 통과하지 못함");
+        return thread;
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", uri), response, (req, res) -> { });
+        return response;
+    }
+
+    private static MockHttpServletRequestBuilder nearest(String remoteAddr) {
+        return post("/api/nearest-shelters")
+                .param("latitude", "35.5")
+                .param("longitude", "129.5")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+
+    private static MockHttpServletRequestBuilder search(String remoteAddr) {
+        return get("/api/search")
+                .param("type", "name")
+                .param("keyword", "대피소")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+
+    private int searchVia(HttpClient client, String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + port + "/api/search?type=name&keyword=shelter"))
+                .header("X-Forwarded-For", forwardedFor)
+                .GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
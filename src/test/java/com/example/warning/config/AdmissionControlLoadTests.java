@@ -0,0 +1,152 @@
+package com.example.warning.config;
+
+import com.example.warning.service.ShelterCatalog;
+import com.example.warning.service.ShelterDataset;
+import com.example.warning.service.ShelterDatasetChangedEvent;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 검색(LOW) 요청으로 서버를 포화시킨 상태에서도
+ * 가장 가까운 대피소 조회(CRITICAL)가 한 번도 거절되지 않고 지연시간도 유지되는지 확인한다. (클라이언트별 속도 제한은 배포 설정 그대로)
+ *
+ * 구간: 예열(버림) → 평상시(검색 없음) → 포화(검색 스레드 추가). nearest 조회 스레드는 세 구간 내내 같은 속도로 돈다.
+ * - 검색 요청은 매번 다른 X-Forwarded-For 클라이언트로 보내서, 속도 제한(429)이 아니라 동시 처리 한도로 포화시킨다.
+ * - 가장 가까운 대피소 조회는 한 IP 에서 client-rate 보다 빠르게 보낸다. 한도를 넘은 요청도 200 (메모리 인덱스) 이어야 한다.
+ * - 지연시간은 HdrHistogram 으로 기록하고 (부하 테스트와 같은 방식, 마이크로초),
+ *   절대값 대신 같은 테스트의 평상시 p99 와 비교한다: 포화 p99 <= 평상시 p99 x 3 + 50ms (CI 장비 속도와 무관하게)
+ * - nearest 조회는 검색과 다른 HttpClient 로 보내서, 클라이언트 쪽 스레드 경쟁이 지연시간에 섞이지 않게 한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:admission-load",
+        "app.snapshot.path=build/tmp/admission-load-test/shelters.snap",
+        "app.snapshot.refresh-on-start=false",
+        "app.admission.low.max-concurrency=4",
+        "spring.jpa.show-sql=false"
+})
+class AdmissionControlLoadTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlLoadTests.class);
+
+    private static final int SEARCH_THREADS = 48;
+    private static final int NEAREST_THREADS = 4;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long IDLE_MILLIS = 2_000;
+    private static final long SATURATED_MILLIS = 3_000;
+    private static final double P99_FACTOR = 3.0;
+    private static final long P99_SLACK_MICROS = 50_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ShelterCatalog shelterCatalog;
+
+    @Test
+    void nearestSheltersStayHealthyWhileSearchIsSaturated() throws Exception {
+        shelterCatalog.publish(ShelterDataset.build(1L, random(2_000, 42L, 34.5, 128.5, 2.0)),
+                ShelterDatasetChangedEvent.Source.LOADED);
+
+        HttpClient searchClient = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(8)).build();
+        HttpClient nearestClient = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(2)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(SEARCH_THREADS + NEAREST_THREADS);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        AtomicInteger searchOk = new AtomicInteger();
+        AtomicInteger searchShed = new AtomicInteger();
+        AtomicInteger nearestOk = new AtomicInteger();
+        AtomicInteger nearestErrors = new AtomicInteger();
+        AtomicInteger clients = new AtomicInteger();
+        Recorder nearestLatency = new Recorder(3); // 마이크로초 단위
+
+        for (int i = 0; i < NEAREST_THREADS; i++) {
+            Random random = new Random(i);
+            pool.submit(() -> {
+                while (running.get()) {
+                    String body = "latitude=" + (35.0 + random.nextDouble()) + "&longitude=" + (129.0 + random.nextDouble()) + "&limit=10";
+                    HttpRequest nearest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/nearest-shelters"))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        int status = nearestClient.send(nearest, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        nearestLatency.recordValue(Math.max(1, (System.nanoTime() - start) / 1_000));
+                        (status == 200 ? nearestOk : nearestErrors).incrementAndGet();
+                    } catch (Exception e) {
+                        nearestErrors.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // 예열 구간은 버리고 평상시 구간만 기록
+        Thread.sleep(WARMUP_MILLIS);
+        nearestLatency.getIntervalHistogram();
+        Thread.sleep(IDLE_MILLIS);
+        Histogram idle = nearestLatency.getIntervalHistogram();
+
+        String keyword = URLEncoder.encode("해안", StandardCharsets.UTF_8);
+        URI searchUri = URI.create("http://127.0.0.1:" + port + "/api/search?type=name&keyword=" + keyword);
+        for (int i = 0; i < SEARCH_THREADS; i++) {
+            pool.submit(() -> {
+                while (running.get()) {
+                    int searchClientId = clients.incrementAndGet();
+                    HttpRequest search = HttpRequest.newBuilder(searchUri)
+                            .header("X-Forwarded-For", "198.18." + (searchClientId >> 8 & 0xff) + "." + (searchClientId & 0xff))
+                            .GET().build();
+                    try {
+                        int status = searchClient.send(search, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        (status == 200 ? searchOk : searchShed).incrementAndGet();
+                    } catch (Exception e) {
+                        searchShed.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        Thread.sleep(SATURATED_MILLIS);
+        Histogram saturated = nearestLatency.getIntervalHistogram();
+        running.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        long idleP99 = idle.getValueAtPercentile(99);
+        long saturatedP99 = saturated.getValueAtPercentile(99);
+        logger.info("nearest-shelters 지연시간(us): 평상시 {}건 p50={} p99={} | 포화 {}건 p50={} p99={} max={} | 검색 성공={} 차단={}",
+                idle.getTotalCount(), idle.getValueAtPercentile(50), idleP99,
+                saturated.getTotalCount(), saturated.getValueAtPercentile(50), saturatedP99, saturated.getMaxValue(),
+                searchOk.get(), searchShed.get());
+
+        assertTrue(searchShed.get() > 0, "검색 요청이 포화되어 일부는 차단되어야 한다");
+        assertEquals(0, nearestErrors.get(), "가장 가까운 대피소 조회는 실패하면 안 된다");
+        // 배포 설정 client-burst(50)를 넘길 만큼 보냈는지 (넘긴 요청도 거절되지 않아야 의미가 있다)
+        assertTrue(nearestOk.get() > 50, "nearest-shelters 성공 " + nearestOk.get() + "건");
+        assertTrue(idle.getTotalCount() > 0 && saturated.getTotalCount() > 0, "두 구간 모두 nearest 요청이 기록되어야 한다");
+        assertTrue(saturatedP99 <= idleP99 * P99_FACTOR + P99_SLACK_MICROS,
+                "포화 중 nearest-shelters p99 " + saturatedP99 + "us > 평상시 p99 " + idleP99 + "us x " + P99_FACTOR
+                        + " + " + P99_SLACK_MICROS + "us");
+    }
+}
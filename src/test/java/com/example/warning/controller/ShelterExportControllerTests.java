@@ -0,0 +1,77 @@
+package com.example.warning.controller;
+
+import com.example.warning.service.ShelterCatalog;
+import com.example.warning.service.ShelterDataset;
+import com.example.warning.service.ShelterDatasetChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * /api/shelters/export 의 ETag(304) / Accept-Encoding 협상 / Vary 헤더
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-controller",
+        "spring.jpa.show-sql=false",
+        "app.snapshot.path=build/tmp/export-controller-test/shelters.snap",
+        "app.snapshot.refresh-on-start=false",
+        "app.nearest-grid.enabled=false",
+        "app.admission.enabled=false"
+})
+@AutoConfigureMockMvc
+class ShelterExportControllerTests {
+
+    private static final String ETAG = "\"shelters-7\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShelterCatalog shelterCatalog;
+
+    @Test
+    void etagAndContentEncodingNegotiation() throws Exception {
+        shelterCatalog.publish(ShelterDataset.build(7L, random(50, 1L, 35.0, 129.0, 0.5)),
+                ShelterDatasetChangedEvent.Source.LOADED);
+
+        mockMvc.perform(get("/api/shelters/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.count").value(50));
+
+        mockMvc.perform(get("/api/shelters/export").header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+
+        for (String refused : new String[] {"gzip;q=0", "x-gzip", "identity, *;q=0"}) {
+            mockMvc.perform(get("/api/shelters/export").header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        byte[] notModified = mockMvc.perform(get("/api/shelters/export").header(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(0, notModified.length);
+
+        // 세대가 바뀌면 예전 ETag 로는 304 가 아니다
+        shelterCatalog.publish(ShelterDataset.build(8L, random(51, 2L, 35.0, 129.0, 0.5)),
+                ShelterDatasetChangedEvent.Source.LOADED);
+        mockMvc.perform(get("/api/shelters/export").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"shelters-8\""));
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.warning.service;
+
+import com.example.warning.dto.AlertFanoutResult;
+import com.example.warning.dto.AlertNotification;
+import com.example.warning.dto.AlertSubscription;
+import com.example.warning.util.SpatialGridIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 경보 알림 구독 / 발령.
+ *
+ * 구독자 격자는 (34.5, 128.5) ~ (35.5, 129.5), 0.01도 셀.
+ * 발송은 비동기라서 CapturingSink 에 묶음이 다 들어올 때까지 기다린 뒤 확인한다.
+ */
+class AlertFanoutServiceTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void onlyTheTokenHolderCanChangeOrRemoveASubscription() {
+        AlertFanoutService service = service(new ShelterCatalog(event -> { }), new CapturingSink(), 1_000, 1, 16, "");
+        AlertSubscription mine = service.subscribe("ch-mine", 35.1, 129.1, null, null);
+        AlertSubscription other = service.subscribe("ch-other", 35.2, 129.2, null, null);
+        assertNotEquals(mine.getSubscriberId(), other.getSubscriberId());
+        assertNotEquals(mine.getToken(), other.getToken());
+
+        String id = mine.getSubscriberId();
+        assertFalse(service.updateSubscription(id, null, "hijacked", 35.3, 129.3, null, null));
+        assertFalse(service.updateSubscription(id, other.getToken(), "hijacked", 35.3, 129.3, null, null));
+        assertFalse(service.unsubscribe(id, other.getToken()));
+        assertFalse(service.unsubscribe("no-such-id", mine.getToken()));
+        assertEquals(2, service.getSubscriberCount());
+
+        assertTrue(service.updateSubscription(id, mine.getToken(), "ch-moved", 35.3, 129.3, 35.4, 129.4));
+        assertTrue(service.unsubscribe(id, mine.getToken()));
+        assertFalse(service.unsubscribe(id, mine.getToken()));
+        assertEquals(1, service.getSubscriberCount());
+    }
+
+    @Test
+    void subscriptionsAreReloadedAfterRestart() throws Exception {
+        String journal = dir.resolve("alert-subscriptions.journal").toString();
+        AlertFanoutService first = service(new ShelterCatalog(event -> { }), new CapturingSink(), 1_000, 1, 16, journal);
+        first.loadSubscriptions();
+        AlertSubscription kept = first.subscribe("ch-kept", 35.10, 129.10, null, null);
+        AlertSubscription moved = first.subscribe("ch-moved", 35.90, 129.90, null, null);
+        AlertSubscription removed = first.subscribe("ch-removed", 35.12, 129.12, null, null);
+        assertTrue(first.updateSubscription(moved.getSubscriberId(), moved.getToken(), "ch-moved", 35.11, 129.11, null, null));
+        assertTrue(first.unsubscribe(removed.getSubscriberId(), removed.getToken()));
+        first.shutdown();
+
+        // 쓰다가 죽은 것처럼 마지막 레코드를 반만 남긴다
+        Files.write(Path.of(journal), new byte[] {0, 0, 0, 40, 0, 0, 0, 0, 1, 2}, StandardOpenOption.APPEND);
+
+        CapturingSink sink = new CapturingSink();
+        AlertFanoutService second = service(new ShelterCatalog(event -> { }), sink, 1_000, 1, 16, journal);
+        second.loadSubscriptions();
+        assertEquals(2, second.getSubscriberCount());
+
+        AlertFanoutResult result = second.broadcast(square(35.05, 129.05, 35.15, 129.15), "경보");
+        sink.awaitBatches(result.getBatches());
+        assertEquals(Stream.of(kept.getSubscriberId(), moved.getSubscriberId()).sorted().toList(),
+                sink.notifications().stream().map(AlertNotification::getSubscriberId).sorted().toList());
+
+        // 토큰도 그대로 남는다
+        assertFalse(second.unsubscribe(removed.getSubscriberId(), removed.getToken()));
+        assertTrue(second.unsubscribe(kept.getSubscriberId(), kept.getToken()));
+        second.shutdown();
+    }
+
+    @Test
+    void corruptJournalStopsStartupInsteadOfDroppingSubscriptions() throws Exception {
+        Path journal = dir.resolve("alert-subscriptions.journal");
+        Files.write(journal, new byte[] {'n', 'o', 't', ' ', 'a', ' ', 'j', 'o', 'u', 'r', 'n', 'a', 'l'});
+
+        AlertFanoutService service = service(new ShelterCatalog(event -> { }), new CapturingSink(), 1_000, 1, 16,
+                journal.toString());
+
+        assertThrows(IllegalStateException.class, service::loadSubscriptions);
+        assertEquals(13, Files.size(journal), "깨진 파일을 덮어쓰지 않는다");
+    }
+
+    @Test
+    void joinedSheltersMatchBruteForceAndEachSubscriberGetsOneNotification() throws Exception {
+        ShelterCatalog catalog = new ShelterCatalog(event -> { });
+        ShelterDataset dataset = ShelterDataset.build(1L, random(800, 7L, 34.3, 128.3, 1.4));
+        catalog.publish(dataset, ShelterDatasetChangedEvent.Source.LOADED);
+        CapturingSink sink = new CapturingSink();
+        AlertFanoutService service = service(catalog, sink, 97, 2, 64, "");
+
+        // 격자(34.5 ~ 35.5) 밖까지 흩어 놓는다. 세 명 중 한 명은 직장도 등록
+        Random random = new Random(8);
+        Map<String, Integer> expectedLocations = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            boolean work = i % 3 == 0;
+            AlertSubscription subscription = service.subscribe("ch-" + i,
+                    34.3 + random.nextDouble() * 1.4, 128.3 + random.nextDouble() * 1.4,
+                    work ? 34.3 + random.nextDouble() * 1.4 : null, work ? 128.3 + random.nextDouble() * 1.4 : null);
+            expectedLocations.put(subscription.getSubscriberId(), work ? 2 : 1);
+        }
+
+        AlertFanoutResult result = service.broadcast(square(34.0, 128.0, 36.0, 130.0), "경보");
+        sink.awaitBatches(result.getBatches());
+
+        List<AlertNotification> notifications = sink.notifications();
+        assertEquals(3_000, result.getMatchedSubscribers());
+        assertEquals(3_000, notifications.size());
+        Map<String, Integer> actualLocations = new HashMap<>();
+        for (AlertNotification notification : notifications) {
+            assertNull(actualLocations.put(notification.getSubscriberId(), notification.getLocations().size()),
+                    "알림이 두 번 나감: " + notification.getSubscriberId());
+            for (AlertNotification.Location location : notification.getLocations()) {
+                assertEquals(bruteForceNearest(dataset, location.getLatitude(), location.getLongitude(), 3),
+                        location.getShelters().stream().map(AlertNotification.Shelter::getId).toList(),
+                        location.getKind() + " " + location.getLatitude() + ", " + location.getLongitude());
+            }
+        }
+        assertEquals(expectedLocations, actualLocations);
+        service.shutdown();
+    }
+
+    @Test
+    void callerThreadDeliversOnceTheQueueIsFull() throws Exception {
+        // 발송 스레드 1개가 첫 묶음에서 멈춰 있고 대기열(1칸)도 차 있으면, 나머지 묶음은 broadcast 를 부른 스레드가 보낸다
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingSink sink = new CapturingSink() {
+            @Override
+            public void deliver(List<AlertNotification> batch) throws Exception {
+                super.deliver(batch);
+                if (Thread.currentThread().getName().startsWith("alert-dispatch-")) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+            }
+        };
+        AlertFanoutService service = service(new ShelterCatalog(event -> { }), sink, 1, 1, 1, "");
+        for (int i = 0; i < 5; i++) {
+            service.subscribe("ch-" + i, 35.0 + i * 0.01, 129.0, null, null);
+        }
+        String caller = Thread.currentThread().getName();
+
+        AlertFanoutResult result = service.broadcast(square(34.9, 128.9, 35.1, 129.1), "경보");
+
+        assertEquals(5, result.getBatches());
+        long byCaller = sink.threads().stream().filter(caller::equals).count();
+        assertEquals(3, byCaller, "첫 묶음은 발송 스레드, 둘째는 대기열, 나머지 셋은 호출한 스레드");
+
+        release.countDown();
+        sink.awaitBatches(5);
+        assertEquals(5, sink.notifications().stream().map(AlertNotification::getSubscriberId).distinct().count());
+        service.shutdown();
+    }
+
+    // =========================================================
+
+    // 모든 대피소와 거리를 재서 가까운 k 곳의 id
+    private static List<Long> bruteForceNearest(ShelterDataset dataset, double lat, double lng, int k) {
+        SpatialGridIndex index = dataset.getSpatialIndex();
+        return IntStream.range(0, dataset.getShelters().size()).boxed()
+                .sorted(Comparator.comparingDouble(id -> index.distanceTo(id, lat, lng)))
+                .limit(k)
+                .map(id -> dataset.getShelters().get(id).getId())
+                .toList();
+    }
+
+    static AlertFanoutService service(ShelterCatalog catalog, NotificationSink sink, int batchSize,
+                                      int dispatchThreads, int queueCapacity, String journalPath) {
+        return new AlertFanoutService(catalog, List.of(sink), sink.getName(),
+                34.5, 35.5, 128.5, 129.5, 0.01, 1_000_000, 3, batchSize, dispatchThreads, queueCapacity, journalPath);
+    }
+
+    static JsonNode square(double minLat, double minLng, double maxLat, double maxLng) throws Exception {
+        return MAPPER.readTree("{\"type\":\"Polygon\",\"coordinates\":[[["
+                + minLng + "," + minLat + "],[" + maxLng + "," + minLat + "],[" + maxLng + "," + maxLat + "],["
+                + minLng + "," + maxLat + "],[" + minLng + "," + minLat + "]]]}");
+    }
+
+    // 받은 알림 묶음과 발송한 스레드 이름을 모아두는 sink
+    static class CapturingSink implements NotificationSink {
+
+        private final List<List<AlertNotification>> batches = new ArrayList<>();
+        private final List<String> threads = new ArrayList<>();
+
+        @Override
+        public String getName() {
+            return "capture";
+        }
+
+        @Override
+        public void deliver(List<AlertNotification> batch) throws Exception {
+            synchronized (this) {
+                batches.add(batch);
+                threads.add(Thread.currentThread().getName());
+            }
+        }
+
+        synchronized List<AlertNotification> notifications() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+
+        synchronized List<String> threads() {
+            return new ArrayList<>(threads);
+        }
+
+        void awaitBatches(int expected) throws InterruptedException {
+            for (int i = 0; i < 500; i++) {
+                synchronized (this) {
+                    if (batches.size() >= expected) {
+                        return;
+                    }
+                }
+                Thread.sleep(10);
+            }
+            fail("발송 묶음 " + expected + "개를 기다렸지만 " + batches.size() + "개");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.warning.ShelterFixtures.random;
+import static com.example.warning.ShelterFixtures.shelter;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InundationZoneServiceTests {
+
+    // 129.00~129.10, 35.00~35.10 사각형 침수 구역 (가운데 129.04~129.06, 35.04~35.06 은 구멍 = 고지대)
+    private static final String GEOJSON = """
+            {"type":"FeatureCollection","features":[
+              {"type":"Feature","properties":{"name":"해안 저지대"},"geometry":{"type":"Polygon","coordinates":[
+                [[129.00,35.00],[129.10,35.00],[129.10,35.10],[129.00,35.10],[129.00,35.00]],
+                [[129.04,35.04],[129.06,35.04],[129.06,35.06],[129.04,35.06]]
+              ]}}
+            ]}
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void excludePolicyDropsFloodedShelters() throws IOException {
+        InundationZoneService service = service("exclude");
+        ShelterDataset dataset = dataset();
+
+        assertTrue(service.isInZone(35.02, 129.02));
+        assertFalse(service.isInZone(35.05, 129.05)); // 구멍
+        assertFalse(service.isInZone(35.20, 129.20));
+
+        List<TsunamiShelter> nearest = service.findNearest(dataset, 35.02, 129.02, 2);
+        assertEquals(List.of(2L, 3L), nearest.stream().map(TsunamiShelter::getId).toList());
+        assertTrue(nearest.stream().noneMatch(TsunamiShelter::getInInundationZone));
+
+        List<TsunamiShelter> inRadius = service.findWithinRadius(dataset, 35.02, 129.02, 100);
+        assertEquals(2, inRadius.size());
+    }
+
+    @Test
+    void downrankPolicyPushesFloodedSheltersBack() throws IOException {
+        InundationZoneService service = service("downrank");
+
+        List<TsunamiShelter> nearest = service.findNearest(dataset(), 35.02, 129.02, 3);
+
+        // 침수 구역 안 1번이 가장 가깝지만 벌점 5km 때문에 4.3km 떨어진 2번 뒤로 밀린다
+        assertEquals(List.of(2L, 1L, 3L), nearest.stream().map(TsunamiShelter::getId).toList());
+        assertTrue(nearest.get(1).getInInundationZone());
+        assertFalse(nearest.get(0).getInInundationZone());
+    }
+
+    @Test
+    void disabledWithoutGeoJson() {
+        InundationZoneService service = new InundationZoneService(new ObjectMapper(), "", "downrank", 2.0, 256);
+        service.loadZones();
+
+        assertFalse(service.isEnabled());
+        assertNull(service.findNearest(dataset(), 35.02, 129.02, 3));
+        assertFalse(service.isInZone(35.02, 129.02));
+    }
+
+    @Test
+    void gridCandidatesRankTheSameAsSpatialIndex() throws Exception {
+        ShelterDataset dataset = ShelterDataset.build(1L, random(3_000, 4L, 34.95, 128.95, 0.2));
+        NearestShelterGridService grid = new NearestShelterGridService(true, 34.9, 35.2, 128.9, 129.2, 0.01, 20, 20);
+        grid.onDatasetChanged(new ShelterDatasetChangedEvent(dataset, null, ShelterDatasetChangedEvent.Source.LOADED));
+        for (int i = 0; i < 200 && grid.getGeneration() != dataset.getGeneration(); i++) {
+            Thread.sleep(50);
+        }
+        assertNotNull(grid.nearestIds(dataset, 35.02, 129.02, 10), "격자가 준비되지 않음");
+
+        Random random = new Random(9);
+        for (String policy : List.of("exclude", "downrank")) {
+            InundationZoneService service = service(policy);
+            for (int i = 0; i < 2_000; i++) {
+                double lat = 34.95 + random.nextDouble() * 0.2;
+                double lng = 128.95 + random.nextDouble() * 0.2;
+                int limit = 1 + random.nextInt(8);
+
+                List<Long> expected = ids(service.findNearest(dataset, lat, lng, limit));
+                List<Long> actual = ids(service.findNearest(dataset, lat, lng, limit, grid));
+                assertEquals(expected, actual, policy + " " + lat + "," + lng + " limit=" + limit);
+            }
+        }
+        grid.shutdown();
+    }
+
+    private static List<Long> ids(List<TsunamiShelter> shelters) {
+        return shelters.stream().map(TsunamiShelter::getId).toList();
+    }
+
+    private InundationZoneService service(String policy) throws IOException {
+        Path path = tempDir.resolve("zones.geojson");
+        Files.writeString(path, GEOJSON);
+        InundationZoneService service = new InundationZoneService(new ObjectMapper(), path.toString(), policy, 5.0, 256);
+        service.loadZones();
+        assertTrue(service.isEnabled());
+        return service;
+    }
+
+    private static ShelterDataset dataset() {
+        return ShelterDataset.build(1L, List.of(
+                shelter(1L, "해안 대피소", 35.021, 129.021),  // 침수 구역 안, 사용자 바로 옆
+                shelter(2L, "고지대 대피소", 35.05, 129.05),   // 구멍(고지대) 안
+                shelter(3L, "내륙 대피소", 35.15, 129.15)      // 침수 구역 밖
+        ));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.warning.service;
+
+import com.example.warning.WarningApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 JVM 안에 애플리케이션 두 개(노드 A, B)를 띄우고 같은 공유 디렉터리를 쓰게 해서,
+ * A 가 불러온 데이터 세대를 B 가 감지해 그대로 교체하는지 확인한다.
+ */
+class SharedGenerationTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generationLoadedOnOneNodeIsPickedUpByTheOther() throws Exception {
+        Path shared = tempDir.resolve("shared");
+        try (ConfigurableApplicationContext nodeA = startNode("nodeA", shared);
+             ConfigurableApplicationContext nodeB = startNode("nodeB", shared)) {
+
+            ShelterCatalog catalogA = nodeA.getBean(ShelterCatalog.class);
+            ShelterCatalog catalogB = nodeB.getBean(ShelterCatalog.class);
+
+            catalogA.publish(ShelterDataset.build(1_000L, random(3, 1L, 37.7, 128.9, 0.1)), ShelterDatasetChangedEvent.Source.LOADED);
+            assertTrue(Files.exists(shared.resolve("generation-1000.snap")));
+            awaitGeneration(catalogB, 1_000L);
+            assertEquals(3, nodeB.getBean(ShelterService.class).getShelterCount());
+
+            // 새 세대가 올라오면 B 도 다시 교체된다
+            catalogA.publish(ShelterDataset.build(2_000L, random(5, 2L, 37.7, 128.9, 0.1)), ShelterDatasetChangedEvent.Source.LOADED);
+            awaitGeneration(catalogB, 2_000L);
+            assertEquals(nodeA.getBean(ShelterService.class).getShelterCount(),
+                    nodeB.getBean(ShelterService.class).getShelterCount());
+        }
+    }
+
+    @Test
+    void concurrentPublishersInOneJvmDoNotCollideOnTheFileLock() throws Exception {
+        Path shared = tempDir.resolve("concurrent");
+        // 같은 JVM 의 두 노드(컨텍스트)가 같은 공유 디렉터리에 동시에 게시하는 상황
+        List<SharedGenerationService> nodes = List.of(
+                new SharedGenerationService(new ShelterCatalog(event -> { }), shared.toString(), 3),
+                new SharedGenerationService(new ShelterCatalog(event -> { }), shared.toString(), 3));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> published = new ArrayList<>();
+            for (int generation = 1; generation <= 32; generation++) {
+                ShelterDataset dataset = ShelterDataset.build(generation, random(3, generation, 37.7, 128.9, 0.1));
+                SharedGenerationService node = nodes.get(generation % 2);
+                published.add(pool.submit(() -> node.onDatasetChanged(
+                        new ShelterDatasetChangedEvent(dataset, null, ShelterDatasetChangedEvent.Source.LOADED))));
+            }
+            for (Future<?> future : published) {
+                future.get(30, TimeUnit.SECONDS); // 락 충돌 예외가 새어 나오면 여기서 실패
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals("32", Files.readString(shared.resolve("CURRENT")).trim());
+        assertTrue(Files.exists(shared.resolve("generation-32.snap")));
+    }
+
+    private ConfigurableApplicationContext startNode(String name, Path shared) {
+        return new SpringApplicationBuilder(WarningApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + name,
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "app.snapshot.path=" + tempDir.resolve(name + ".snap"),
+                        "app.snapshot.refresh-on-start=false",
+                        "app.nearest-grid.enabled=false",
+                        "app.generation.shared-dir=" + shared,
+                        "app.generation.poll-interval-ms=100")
+                .run();
+    }
+
+    private static void awaitGeneration(ShelterCatalog catalog, long generation) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ShelterDataset current = catalog.getCurrent();
+            if (current != null && current.getGeneration() == generation) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("generation " + generation + " 이 전파되지 않았습니다.");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.repository.TsunamiShelterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메모리 데이터(ShelterCatalog)가 없어 DB 로 조회하는 상태에서,
+ * 같은 요청 묶음(개수 + 주소/이름 검색)을 반복할 때 요청당 DB 왕복 수를 Hibernate 통계로 잰다.
+ *
+ * - 요청 묶음은 ShelterService 가 실제로 저장소를 부르는 경로만 쓴다.
+ *   (id 단건 조회 API 는 주석 처리되어 있어서 findById 는 넣지 않는다)
+ * - 메모리 데이터가 올라온 뒤에는 개수/검색이 저장소까지 가지 않으므로, 이 캐시는 그 전의 대체 경로에만 해당한다.
+ * - 첫 번째(콜드) 실행은 DB 를 타고, 이후(웜) 실행은 2차 캐시/쿼리 결과 캐시만으로 응답해야 한다.
+ * - 데이터 세대가 바뀌면 캐시가 비워져 다시 DB 를 탄다.
+ * - Hibernate 통계는 stats 프로파일에서만 켜진다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-benchmark",
+        "spring.jpa.show-sql=false",
+        "app.snapshot.path=build/tmp/cache-benchmark-test/shelters.snap",
+        "app.snapshot.refresh-on-start=false",
+        "app.nearest-grid.enabled=false"
+})
+@ActiveProfiles("stats")
+class ShelterCacheBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShelterCacheBenchmarkTests.class);
+
+    private static final int WARM_ROUNDS = 50;
+
+    @Autowired
+    private ShelterService shelterService;
+
+    @Autowired
+    private TsunamiShelterRepository shelterRepository;
+
+    @Autowired
+    private ShelterCatalog shelterCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedRequestsAreServedFromCacheUntilGenerationChanges() {
+        List<TsunamiShelter> shelters = random(500, 7L, 35.0, 129.0, 0.5);
+        shelters.forEach(shelter -> shelter.setId(null)); // id 는 DB 가 매긴다
+        List<TsunamiShelter> saved = shelterRepository.saveAll(shelters);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "stats 프로파일에서 Hibernate 통계가 켜져 있어야 한다");
+
+        statistics.clear();
+        runRequest(saved);
+        long cold = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        for (int i = 0; i < WARM_ROUNDS; i++) {
+            runRequest(saved);
+        }
+        double warm = (double) statistics.getPrepareStatementCount() / WARM_ROUNDS;
+        logger.info("요청당 DB 왕복 수: 콜드={}, 웜={} (2차 캐시 hit={}, 쿼리 캐시 hit={})",
+                cold, warm, statistics.getSecondLevelCacheHitCount(), statistics.getQueryCacheHitCount());
+
+        assertTrue(cold >= 3, "콜드 실행은 개수/검색 쿼리를 DB 에서 실행해야 한다: " + cold);
+        assertEquals(0.0, warm, "웜 실행은 캐시만으로 응답해야 한다: 요청당 DB 왕복 " + warm);
+
+        // 데이터 세대가 바뀌면 캐시가 비워져서 다시 DB 를 탄다
+        shelterCatalog.publish(ShelterDataset.build(1L, saved), ShelterDatasetChangedEvent.Source.LOADED);
+        statistics.clear();
+        // (메모리 데이터가 올라왔으므로 서비스 대신 같은 저장소 쿼리를 직접 부른다)
+        assertEquals(saved.size(), shelterRepository.countCached());
+        assertFalse(shelterRepository.findByAddressContaining("부산").isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() >= 2);
+    }
+
+    // 메인 페이지(개수) + 검색 두 번
+    private void runRequest(List<TsunamiShelter> saved) {
+        assertNull(shelterCatalog.getCurrent(), "메모리 데이터가 없어야 DB 대체 경로를 잰다");
+        assertEquals(saved.size(), shelterService.getShelterCount());
+        assertFalse(shelterService.search("address", "부산").isEmpty());
+        assertFalse(shelterService.search("name", "해안").isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.warning.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShelterExportServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ShelterCatalog catalog = new ShelterCatalog(event -> { });
+    private final ShelterExportService service = new ShelterExportService(catalog, objectMapper);
+
+    @Test
+    void exportIsBuiltOncePerGeneration() throws IOException {
+        assertNull(service.getExport());
+
+        catalog.publish(ShelterDataset.build(7L, random(30, 1L, 35.0, 129.0, 0.5)), ShelterDatasetChangedEvent.Source.LOADED);
+        ShelterExportService.Export export = service.getExport();
+
+        assertEquals("\"shelters-7\"", export.getEtag());
+        assertSame(export, service.getExport());
+        JsonNode json = objectMapper.readTree(export.getJson());
+        assertEquals(7, json.get("generation").asLong());
+        assertEquals(30, json.get("count").asInt());
+        assertEquals(30, json.get("shelters").size());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(export.getGzip()))) {
+            assertArrayEquals(export.getJson(), in.readAllBytes());
+        }
+
+        catalog.publish(ShelterDataset.build(8L, random(31, 2L, 35.0, 129.0, 0.5)), ShelterDatasetChangedEvent.Source.LOADED);
+        assertEquals("\"shelters-8\"", service.getExport().getEtag());
+    }
+
+    @Test
+    void ifNoneMatchComparison() {
+        catalog.publish(ShelterDataset.build(7L, random(1, 1L, 35.0, 129.0, 0.5)), ShelterDatasetChangedEvent.Source.LOADED);
+        ShelterExportService.Export export = service.getExport();
+
+        assertTrue(export.matches("\"shelters-7\""));
+        assertTrue(export.matches("W/\"shelters-7\""));
+        assertTrue(export.matches("\"shelters-6\", \"shelters-7\""));
+        assertTrue(export.matches("*"));
+        assertFalse(export.matches("\"shelters-6\""));
+        assertFalse(export.matches(null));
+    }
+
+    @Test
+    void gzipOnlyWhenAcceptedWithPositiveQuality() {
+        assertTrue(ShelterExportService.acceptsGzip("gzip"));
+        assertTrue(ShelterExportService.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(ShelterExportService.acceptsGzip("br;q=1.0, *;q=0.1"));
+        assertTrue(ShelterExportService.acceptsGzip("GZIP ; Q=1"));
+
+        assertFalse(ShelterExportService.acceptsGzip(null));
+        assertFalse(ShelterExportService.acceptsGzip(""));
+        assertFalse(ShelterExportService.acceptsGzip("gzip;q=0"));
+        assertFalse(ShelterExportService.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(ShelterExportService.acceptsGzip("x-gzip"));
+        assertFalse(ShelterExportService.acceptsGzip("identity, *;q=0"));
+        assertFalse(ShelterExportService.acceptsGzip("gzip;q=abc"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.example.warning.ShelterFixtures.shelter;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShelterSnapshotFileTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        ShelterDataset dataset = ShelterDataset.build(42L, List.of(
+                shelter(1L, "해안초등학교", "부산 해운대구", 35.16, 129.16),
+                shelter(2L, "고지대공원", "강릉시 주문진읍", 37.89, 128.83),
+                shelter(3L, "마을회관", null, null, null)
+        ));
+        Path path = tempDir.resolve("shelters.snap");
+
+        ShelterSnapshotFile.write(dataset, path);
+        ShelterDataset restored = ShelterSnapshotFile.read(path);
+
+        assertEquals(42L, restored.getGeneration());
+        assertEquals(3, restored.size());
+        assertEquals("강릉시 주문진읍", restored.getShelters().get(1).getAddress());
+        assertNull(restored.getShelters().get(2).getLatitude());
+
+        List<TsunamiShelter> nearest = restored.findNearest(35.1, 129.1, 1);
+        assertEquals(1L, nearest.get(0).getId());
+        assertNotNull(nearest.get(0).getDistanceFromUser());
+        assertEquals(1, restored.searchByName("공원").size());
+        assertEquals(1, restored.searchByAddress("해운대").size());
+    }
+
+    @Test
+    void corruptedSnapshotIsRejected() throws IOException {
+        ShelterDataset dataset = ShelterDataset.build(1L, List.of(shelter(1L, "대피소", "주소", 35.0, 129.0)));
+        Path path = tempDir.resolve("shelters.snap");
+        ShelterSnapshotFile.write(dataset, path);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> ShelterSnapshotFile.read(path));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.warning.service;
+
+import com.example.warning.dto.ShelterViewport;
+import org.junit.jupiter.api.Test;
+
+import static com.example.warning.ShelterFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportClusterServiceTests {
+
+    @Test
+    void indexIsRebuiltWhenTheGenerationChanges() {
+        ShelterCatalog catalog = new ShelterCatalog(event -> { });
+        ViewportClusterService service = new ViewportClusterService(catalog, 16, 60, 512, 500);
+        assertNull(service.findInViewport(34, 128, 37, 131, 10));
+
+        catalog.publish(ShelterDataset.build(1L, random(100, 1L, 35.0, 129.0, 1.0)), ShelterDatasetChangedEvent.Source.LOADED);
+        assertViewport(service.findInViewport(34, 128, 37, 131, 10), 1L, 100);
+
+        // 이벤트 없이 세대만 바뀌어도 첫 조회에서 다시 만든다
+        ShelterDataset second = ShelterDataset.build(2L, random(150, 2L, 35.0, 129.0, 1.0));
+        catalog.publish(second, ShelterDatasetChangedEvent.Source.LOADED);
+        assertViewport(service.findInViewport(34, 128, 37, 131, 10), 2L, 150);
+
+        // 미리 만든 인덱스가 현재 세대가 아니면 쓰지 않는다
+        service.onDatasetChanged(new ShelterDatasetChangedEvent(
+                ShelterDataset.build(3L, random(200, 3L, 35.0, 129.0, 1.0)), second, ShelterDatasetChangedEvent.Source.LOADED));
+        assertViewport(service.findInViewport(34, 128, 37, 131, 10), 2L, 150);
+    }
+
+    @Test
+    void itemsAreCappedAtMaxItems() {
+        ShelterCatalog catalog = new ShelterCatalog(event -> { });
+        catalog.publish(ShelterDataset.build(1L, random(2_000, 4L, 35.0, 129.0, 1.0)), ShelterDatasetChangedEvent.Source.LOADED);
+        ViewportClusterService service = new ViewportClusterService(catalog, 16, 60, 512, 20);
+
+        ShelterViewport viewport = service.findInViewport(34, 128, 37, 131, 17);
+
+        assertTrue(viewport.getZoom() < 17, "항목이 많으면 더 낮은 줌으로 묶는다");
+        assertTrue(viewport.getItems().size() <= 20);
+        assertEquals(2_000, viewport.getItems().stream().mapToInt(ShelterViewport.Item::getCount).sum());
+    }
+
+    private static void assertViewport(ShelterViewport viewport, long generation, int shelters) {
+        assertEquals(generation, viewport.getGeneration());
+        assertFalse(viewport.isTruncated());
+        assertEquals(shelters, viewport.getItems().stream().mapToInt(ShelterViewport.Item::getCount).sum());
+    }
+}
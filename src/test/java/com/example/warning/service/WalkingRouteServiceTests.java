@@ -0,0 +1,103 @@
+package com.example.warning.service;
+
+import com.example.warning.model.TsunamiShelter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.warning.ShelterFixtures.shelter;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 도로망으로 이어지지 않는 대피소가 있을 때의 대체 동작.
+ *
+ * 그래프는 끊긴 조각 두 개:
+ *  - 1 (35.000, 129.000) ─ 2 (35.001, 129.000)   ← 사용자가 있는 조각
+ *  - 3 (35.000, 129.004) ─ 4 (35.000, 129.005)
+ *
+ * CH 작업 공간은 1 개만 허용해서, 동시 조회가 하나를 돌려 쓰는 경우도 본다.
+ */
+class WalkingRouteServiceTests {
+
+    private static final double USER_LAT = 35.0;
+    private static final double USER_LNG = 129.0;
+
+    @TempDir
+    Path graphDir;
+
+    private WalkingRouteService walkingRouteService;
+
+    @BeforeEach
+    void loadGraph() throws Exception {
+        Files.writeString(graphDir.resolve("nodes.csv"),
+                "id,lat,lng\n1,35.000,129.000\n2,35.001,129.000\n3,35.000,129.004\n4,35.000,129.005\n");
+        Files.writeString(graphDir.resolve("edges.csv"),
+                "from,to,meters\n1,2,111\n3,4,91\n");
+        walkingRouteService = new WalkingRouteService(graphDir.toString(), 1.2, 500, 20, 160, 1);
+        walkingRouteService.loadGraph();
+        for (int i = 0; i < 200 && !walkingRouteService.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(walkingRouteService.isReady(), "보행 그래프가 준비되지 않음");
+    }
+
+    @Test
+    void noReachableShelterMeansNoWalkingRanking() {
+        ShelterDataset dataset = ShelterDataset.build(1L, List.of(shelter(1L, "건너편 대피소", 35.0, 129.0045)));
+
+        assertNull(walkingRouteService.rankByWalkingTime(dataset, USER_LAT, USER_LNG, 3));
+    }
+
+    @Test
+    void unreachableSheltersFillTheRestByStraightLine() {
+        ShelterCatalog catalog = new ShelterCatalog(event -> { });
+        catalog.publish(ShelterDataset.build(1L, List.of(
+                        shelter(1L, "건너편 대피소", 35.0, 129.0045),
+                        shelter(2L, "같은 길 대피소", 35.0012, 129.0),
+                        shelter(3L, "먼 건너편 대피소", 35.0, 129.005))),
+                ShelterDatasetChangedEvent.Source.LOADED);
+        ShelterService shelterService = new ShelterService(null, null, catalog, null, walkingRouteService,
+                new InundationZoneService(new ObjectMapper(), "", "downrank", 2.0, 256));
+
+        List<TsunamiShelter> result = shelterService.findNearestSheltersByWalkingTime(USER_LAT, USER_LNG, 3);
+
+        assertEquals(List.of(2L, 1L, 3L), result.stream().map(TsunamiShelter::getId).toList());
+        assertNotNull(result.get(0).getWalkingMinutes());
+        assertNull(result.get(1).getWalkingMinutes());
+        assertNull(result.get(2).getWalkingMinutes());
+    }
+
+    @Test
+    void concurrentSearchesShareTheBoundedWorkspacePool() throws Exception {
+        ShelterDataset dataset = ShelterDataset.build(1L, List.of(
+                shelter(1L, "건너편 대피소", 35.0, 129.0045),
+                shelter(2L, "같은 길 대피소", 35.0012, 129.0)));
+        List<TsunamiShelter> expected = walkingRouteService.rankByWalkingTime(dataset, USER_LAT, USER_LNG, 3);
+        assertEquals(List.of(2L), expected.stream().map(TsunamiShelter::getId).toList());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<TsunamiShelter>>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(pool.submit(() -> walkingRouteService.rankByWalkingTime(dataset, USER_LAT, USER_LNG, 3)));
+            }
+            for (Future<List<TsunamiShelter>> future : futures) {
+                List<TsunamiShelter> actual = future.get(10, TimeUnit.SECONDS); // 반납하지 않으면 여기서 멈춘다
+                assertEquals(1, actual.size());
+                assertEquals(expected.get(0).getWalkingMinutes(), actual.get(0).getWalkingMinutes(), 1e-9);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
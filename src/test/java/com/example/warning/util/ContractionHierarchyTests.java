@@ -0,0 +1,124 @@
+package com.example.warning.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CH 조회 결과가 원래 그래프에서 돌린 일반 Dijkstra 와 같은지 무작위 그래프로 확인한다.
+ * - 서로 이어지지 않은 조각 세 개로 만들어서, 끊긴 노드 사이는 Infinity 가 나오는지도 본다.
+ */
+class ContractionHierarchyTests {
+
+    private static final int NODES_PER_COMPONENT = 400;
+    private static final int COMPONENTS = 3;
+
+    @Test
+    void distancesMatchPlainDijkstra() {
+        Random random = new Random(5);
+        WalkingGraph graph = randomGraph(random);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        int n = graph.getNodeCount();
+        ContractionHierarchy.Workspace workspace = hierarchy.newWorkspace(); // 조회마다 같은 작업 공간을 돌려 쓴다
+        for (int query = 0; query < 200; query++) {
+            int source = random.nextInt(n);
+            int[] targets = new int[1 + random.nextInt(20)];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = random.nextInt(n);
+            }
+
+            double[] expected = dijkstra(graph, source);
+            double[] actual = hierarchy.distances(source, targets, workspace);
+
+            for (int i = 0; i < targets.length; i++) {
+                double want = expected[targets[i]];
+                String message = source + " → " + targets[i];
+                if (Double.isInfinite(want)) {
+                    assertTrue(Double.isInfinite(actual[i]), message + " 은 이어지지 않았어야 함");
+                } else {
+                    assertEquals(want, actual[i], 1e-6, message);
+                }
+            }
+        }
+    }
+
+    // 조각마다 노드를 일렬로 잇고(연결 보장) 그 위에 무작위 간선을 더한다. 간선 길이는 좌표 거리 이상.
+    private static WalkingGraph randomGraph(Random random) {
+        int n = NODES_PER_COMPONENT * COMPONENTS;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int v = 0; v < n; v++) {
+            lats[v] = 35.0 + random.nextDouble() * 0.05;
+            lngs[v] = 129.0 + random.nextDouble() * 0.05;
+        }
+
+        List<int[]> edges = new ArrayList<>();
+        for (int c = 0; c < COMPONENTS; c++) {
+            int base = c * NODES_PER_COMPONENT;
+            for (int i = 1; i < NODES_PER_COMPONENT; i++) {
+                edges.add(new int[] {base + random.nextInt(i), base + i});
+            }
+            for (int i = 0; i < NODES_PER_COMPONENT * 2; i++) {
+                int a = base + random.nextInt(NODES_PER_COMPONENT);
+                int b = base + random.nextInt(NODES_PER_COMPONENT);
+                if (a != b) {
+                    edges.add(new int[] {a, b});
+                }
+            }
+        }
+
+        int[] starts = new int[n + 1];
+        for (int[] edge : edges) {
+            starts[edge[0] + 1]++;
+            starts[edge[1] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            starts[v + 1] += starts[v];
+        }
+        int[] fill = Arrays.copyOf(starts, n);
+        int[] targets = new int[edges.size() * 2];
+        double[] meters = new double[edges.size() * 2];
+        for (int[] edge : edges) {
+            double length = DistanceCalculator.calculateDistance(lats[edge[0]], lngs[edge[0]], lats[edge[1]], lngs[edge[1]])
+                    * 1000 * (1 + random.nextDouble());
+            int slot = fill[edge[0]]++;
+            targets[slot] = edge[1];
+            meters[slot] = length;
+            slot = fill[edge[1]]++;
+            targets[slot] = edge[0];
+            meters[slot] = length;
+        }
+        return new WalkingGraph(lats, lngs, starts, targets, meters);
+    }
+
+    private static double[] dijkstra(WalkingGraph graph, int source) {
+        double[] dist = new double[graph.getNodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[1], b[1]));
+        queue.add(new double[] {source, 0});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int v = (int) top[0];
+            if (top[1] > dist[v]) {
+                continue;
+            }
+            for (int e = graph.getEdgeStarts()[v]; e < graph.getEdgeStarts()[v + 1]; e++) {
+                int w = graph.getEdgeTargets()[e];
+                double candidate = dist[v] + graph.getEdgeMeters()[e];
+                if (candidate < dist[w]) {
+                    dist[w] = candidate;
+                    queue.add(new double[] {w, candidate});
+                }
+            }
+        }
+        return dist;
+    }
+}
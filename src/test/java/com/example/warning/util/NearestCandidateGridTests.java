@@ -0,0 +1,94 @@
+package com.example.warning.util;
+
+import com.example.warning.model.TsunamiShelter;
+import com.example.warning.service.ShelterDataset;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.warning.ShelterFixtures.random;
+import static com.example.warning.ShelterFixtures.shelter;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 사전 계산 격자의 답이 공간 인덱스 전체 탐색(ShelterDataset.findNearest)과 같은지 무작위 위치로 확인한다.
+ * - 대피소를 2만 개 넣어서 id 차이값이 varint 여러 바이트로 저장되는 경우도 지나가게 한다.
+ */
+class NearestCandidateGridTests {
+
+    private static final double MIN_LAT = 34.9;
+    private static final double MAX_LAT = 36.1;
+    private static final double MIN_LNG = 128.9;
+    private static final double MAX_LNG = 130.1;
+    private static final double CELL_DEG = 0.02;
+    private static final int K = 10;
+    private static final double MAX_COVER_KM = 50;
+
+    @Test
+    void fullBuildMatchesBruteForce() {
+        ShelterDataset dataset = ShelterDataset.build(1L, random(20_000, 1L, 35.0, 129.0, 1.0));
+
+        NearestCandidateGrid grid = build(null, dataset);
+
+        assertMatchesBruteForce(grid, dataset, new Random(11));
+        assertNull(grid.nearest(33.0, 127.0, 5), "서비스 영역 밖은 격자가 답하지 않는다");
+        assertNull(grid.nearest(35.5, 129.5, K + 1), "limit 이 k 보다 크면 격자가 답하지 않는다");
+    }
+
+    @Test
+    void incrementalRebuildMatchesBruteForce() {
+        List<TsunamiShelter> before = random(20_000, 2L, 35.0, 129.0, 1.0);
+        ShelterDataset first = ShelterDataset.build(1L, before);
+        NearestCandidateGrid previous = build(null, first);
+
+        // 변경 비율이 증분 갱신 한도(20%) 안에 들도록: 3% 삭제, 1% 이동, 2% 추가 (남은 대피소는 순서가 바뀌어 id 도 바뀐다)
+        Random random = new Random(3);
+        List<TsunamiShelter> after = new ArrayList<>();
+        for (TsunamiShelter shelter : before) {
+            double roll = random.nextDouble();
+            if (roll < 0.03) {
+                continue;
+            }
+            if (roll < 0.04) {
+                shelter = shelter(shelter.getId(), shelter.getShelterName(),
+                        shelter.getLatitude() + 0.003, shelter.getLongitude() - 0.003);
+            }
+            after.add(shelter);
+        }
+        for (int i = 0; i < 400; i++) {
+            after.add(random.nextInt(after.size()),
+                    shelter(100_000L + i, "신규 대피소 " + i, 35.0 + random.nextDouble(), 129.0 + random.nextDouble()));
+        }
+        ShelterDataset second = ShelterDataset.build(2L, after);
+
+        NearestCandidateGrid incremental = build(previous, second);
+
+        assertEquals(0, previous.getReusedCells());
+        assertTrue(incremental.getReusedCells() > 0, "변경이 없는 셀은 이전 후보를 재사용해야 한다");
+        assertMatchesBruteForce(incremental, second, new Random(12));
+    }
+
+    private static NearestCandidateGrid build(NearestCandidateGrid previous, ShelterDataset dataset) {
+        return NearestCandidateGrid.rebuild(previous, dataset.getSpatialIndex(),
+                MIN_LAT, MAX_LAT, MIN_LNG, MAX_LNG, CELL_DEG, K, MAX_COVER_KM);
+    }
+
+    private static void assertMatchesBruteForce(NearestCandidateGrid grid, ShelterDataset dataset, Random random) {
+        for (int i = 0; i < 5_000; i++) {
+            double lat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+            double lng = MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG);
+            int limit = 1 + random.nextInt(K);
+
+            int[] ids = grid.nearest(lat, lng, limit);
+            assertNotNull(ids, "격자가 답하지 못함: " + lat + "," + lng);
+            List<Long> expected = dataset.findNearest(lat, lng, limit).stream().map(TsunamiShelter::getId).toList();
+            List<Long> actual = new ArrayList<>();
+            for (int id : ids) {
+                actual.add(dataset.getShelters().get(id).getId());
+            }
+            assertEquals(expected, actual, "위치 " + lat + "," + lng + " limit=" + limit);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.warning.util;
+
+import com.example.warning.model.TsunamiShelter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.warning.ShelterFixtures.shelter;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShelterDeduplicatorTests {
+
+    @Test
+    void sameShelterFromTwoSourcesIsMergedWithRicherFields() {
+        TsunamiShelter dssp = shelter(null, "해운대초등학교", "부산 해운대구 우동", 35.16300, 129.16300);
+        dssp.setAccommodationCapacity(500);
+        TsunamiShelter dataGoKr = shelter(null, "해운대 초등학교(운동장)", null, 35.16310, 129.16305); // 약 12m
+        dataGoKr.setAccommodationCapacity(450);
+        dataGoKr.setManagementAgency("부산광역시 해운대구");
+        dataGoKr.setContactNumber("051-749-4000");
+        dataGoKr.setFacilityArea("3200");
+
+        List<TsunamiShelter> merged = ShelterDeduplicator.merge(List.of(List.of(dssp), List.of(dataGoKr)), 30, 0.5);
+
+        assertEquals(1, merged.size());
+        TsunamiShelter shelter = merged.get(0);
+        assertEquals("해운대초등학교", shelter.getShelterName());     // 주 소스 값 유지
+        assertEquals("부산 해운대구 우동", shelter.getAddress());
+        assertEquals(500, shelter.getAccommodationCapacity());
+        assertEquals("부산광역시 해운대구", shelter.getManagementAgency()); // 빈 값만 보조 소스로 채움
+        assertEquals("051-749-4000", shelter.getContactNumber());
+        assertEquals("3200", shelter.getFacilityArea());
+    }
+
+    @Test
+    void nearbyButDifferentSheltersAreKept() {
+        TsunamiShelter school = shelter(null, "해운대초등학교", "부산", 35.16300, 129.16300);
+        TsunamiShelter office = shelter(null, "우동 주민센터", "부산", 35.16305, 129.16300);      // 가깝지만 이름이 다름
+        TsunamiShelter farSchool = shelter(null, "해운대초등학교", "부산", 35.17000, 129.16300); // 이름은 같지만 약 780m
+
+        List<TsunamiShelter> merged = ShelterDeduplicator.merge(
+                List.of(List.of(school, office), List.of(farSchool)), 30, 0.5);
+
+        assertEquals(3, merged.size());
+    }
+
+    @Test
+    void neighboursFromTheSameSourceAreNeverMerged() {
+        List<TsunamiShelter> dssp = List.of(
+                shelter(null, "○○아파트 101동", "부산", 35.16300, 129.16300),
+                shelter(null, "○○아파트 102동", "부산", 35.16305, 129.16305),
+                shelter(null, "○○초등학교", "부산", 35.17000, 129.16300),
+                shelter(null, "○○초등학교 강당", "부산", 35.17005, 129.16300),
+                shelter(null, null, "부산", 35.18000, 129.16300),
+                shelter(null, "", "부산", 35.18002, 129.16302));
+
+        List<TsunamiShelter> merged = ShelterDeduplicator.merge(List.of(dssp), 30, 0.5);
+
+        assertEquals(6, merged.size());
+    }
+
+    @Test
+    void eachGroupKeepsAtMostOneShelterPerSource() {
+        TsunamiShelter school = shelter(null, "해운대초등학교", "부산", 35.16300, 129.16300);
+        TsunamiShelter hall = shelter(null, "해운대초등학교 강당", "부산", 35.16305, 129.16300);
+        TsunamiShelter other = shelter(null, "해운대 초등학교", null, 35.16302, 129.16300); // 둘 다와 비슷한 보조 소스 대피소
+        TsunamiShelter unnamed = shelter(null, null, null, 35.16301, 129.16301);
+
+        List<TsunamiShelter> merged = ShelterDeduplicator.merge(
+                List.of(List.of(school, hall), List.of(other, unnamed)), 30, 0.5);
+
+        // 보조 소스 대피소는 이름이 더 비슷한 쪽(해운대초등학교)에 묶이고, 강당과 이름 없는 점은 그대로 남는다
+        assertEquals(List.of(school, hall, unnamed), merged);
+        assertEquals("부산", merged.get(0).getAddress());
+    }
+
+    @Test
+    void nameSimilarityUsesBigramDice() {
+        assertEquals(1.0, ShelterDeduplicator.similarity("해운대초등학교", "해운대초등학교"));
+        assertEquals(6.0 / 9, ShelterDeduplicator.similarity("해운대초등학교", "초등학교"), 1e-9); // 포함 관계라도 1 이 아니다
+        assertTrue(ShelterDeduplicator.similarity("주문진항공터", "주문진항대피공터") >= 0.5);
+        assertTrue(ShelterDeduplicator.similarity("해운대초등학교", "우동주민센터") < 0.1);
+        assertEquals(0.0, ShelterDeduplicator.similarity("", ""));
+        assertEquals(0.0, ShelterDeduplicator.similarity("", "해운대초등학교"));
+    }
+}
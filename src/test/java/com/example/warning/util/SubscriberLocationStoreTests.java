@@ -0,0 +1,82 @@
+package com.example.warning.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriberLocationStoreTests {
+
+    private final GeometryFactory factory = new GeometryFactory();
+
+    // 부산 앞바다 쪽 오각형 (격자 셀 여러 개에 걸치고, 일부는 서비스 영역(35.5 위) 밖까지 나간다)
+    private final Polygon area = factory.createPolygon(new Coordinate[] {
+            new Coordinate(128.90, 34.95), new Coordinate(129.30, 35.00), new Coordinate(129.35, 35.60),
+            new Coordinate(129.05, 35.70), new Coordinate(128.85, 35.30), new Coordinate(128.90, 34.95)
+    });
+
+    @Test
+    void matchEqualsBruteForcePointInPolygon() {
+        SubscriberLocationStore store = new SubscriberLocationStore(34.5, 35.5, 128.5, 129.5, 0.01);
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(area);
+        Random random = new Random(42);
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            double lat = 34.8 + random.nextDouble();
+            double lng = 128.7 + random.nextDouble() * 0.8;
+            store.put("u" + i, null, 0L, lat, lng, Double.NaN, Double.NaN);
+            if (prepared.covers(factory.createPoint(new Coordinate(lng, lat)))) {
+                expected.add("u" + i);
+            }
+        }
+
+        SubscriberLocationStore.Match match = store.match(area);
+
+        Set<String> actual = new HashSet<>();
+        for (int i = 0; i < match.size(); i++) {
+            assertTrue(actual.add(match.getId(i)), "중복 항목: " + match.getId(i));
+        }
+        assertEquals(expected, actual);
+        assertTrue(match.getFullCells() > 0);
+        assertTrue(match.getBoundaryCells() > 0);
+        assertTrue(match.getPointTests() < 20_000); // 구역 안 셀은 점 판정 없이 포함
+    }
+
+    @Test
+    void homeAndWorkInsideAreaAreOneSubscriber() {
+        SubscriberLocationStore store = new SubscriberLocationStore(34.5, 35.5, 128.5, 129.5, 0.01);
+        store.put("both", "ch-both", 0L, 35.10, 129.10, 35.20, 129.20);
+        store.put("homeOnly", "ch-home", 0L, 35.10, 129.05, 37.50, 127.00); // 직장은 서울
+        store.put("workOnly", "ch-work", 0L, 37.50, 127.00, 35.15, 129.15);
+        store.put("removed", null, 0L, 35.10, 129.10, Double.NaN, Double.NaN);
+        assertTrue(store.remove("removed"));
+        assertFalse(store.remove("removed"));
+
+        SubscriberLocationStore.Match match = store.match(area);
+
+        assertEquals(4, match.size());
+        assertEquals(3, match.getSubscriberCount());
+        for (int i = 0; i < match.size(); i++) {
+            if (match.getId(i).equals("both")) {
+                int partner = match.getPartner(i);
+                assertTrue(partner >= 0);
+                assertEquals("both", match.getId(partner));
+                assertNotEquals(match.getKind(i), match.getKind(partner));
+            } else {
+                assertEquals(-1, match.getPartner(i));
+                int expectedKind = match.getId(i).equals("homeOnly") ? SubscriberLocationStore.HOME : SubscriberLocationStore.WORK;
+                assertEquals(expectedKind, match.getKind(i));
+            }
+        }
+        assertEquals(3, store.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.warning.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportClusterIndexTests {
+
+    private static final int MAX_ZOOM = 16;
+
+    @Test
+    void clusterCountsSumToDatasetSizeAtEveryZoom() {
+        Random random = new Random(21);
+        int n = 5_000;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        int[] capacities = new int[n];
+        long totalCapacity = 0;
+        int located = 0;
+        for (int i = 0; i < n; i++) {
+            boolean missing = i % 50 == 0; // 좌표 없는 대피소는 빠진다
+            lats[i] = missing ? Double.NaN : 33.0 + random.nextDouble() * 5;
+            lngs[i] = missing ? Double.NaN : 125.0 + random.nextDouble() * 5;
+            capacities[i] = random.nextInt(1_000);
+            if (!missing) {
+                totalCapacity += capacities[i];
+                located++;
+            }
+        }
+        ViewportClusterIndex index = ViewportClusterIndex.build(lats, lngs, capacities, MAX_ZOOM, 60, 512);
+
+        for (int zoom = 0; zoom <= MAX_ZOOM + 1; zoom++) {
+            ViewportClusterIndex.Result result = index.query(-90, -180, 90, 180, zoom, Integer.MAX_VALUE);
+
+            assertEquals(zoom, result.getZoom());
+            assertEquals(index.sizeAt(zoom), result.getNodes().size());
+            assertEquals(located, result.getNodes().stream().mapToInt(ViewportClusterIndex.Node::getCount).sum(),
+                    "줌 " + zoom);
+            assertEquals(totalCapacity, result.getNodes().stream().mapToLong(ViewportClusterIndex.Node::getCapacity).sum(),
+                    "줌 " + zoom);
+        }
+        assertTrue(index.sizeAt(0) < index.sizeAt(MAX_ZOOM), "낮은 줌일수록 더 크게 묶여야 한다");
+
+        // 가장 큰 줌은 개별 대피소 하나씩
+        List<ViewportClusterIndex.Node> leaves = index.query(-90, -180, 90, 180, MAX_ZOOM + 1, Integer.MAX_VALUE).getNodes();
+        Set<Integer> ids = new HashSet<>();
+        for (ViewportClusterIndex.Node node : leaves) {
+            assertFalse(node.isCluster());
+            ids.add(node.getShelterId());
+        }
+        assertEquals(located, ids.size());
+    }
+
+    @Test
+    void bboxCrossingTheAntimeridianCoversBothSides() {
+        double[] lats = {-17.0, -17.1, 10.0};
+        double[] lngs = {179.5, -179.5, 0.0}; // 피지 동쪽/서쪽, 그리고 지구 반대편
+        ViewportClusterIndex index = ViewportClusterIndex.build(lats, lngs, new int[3], MAX_ZOOM, 60, 512);
+
+        assertEquals(Set.of(0, 1), shelterIds(index.query(-20, 179, -15, -179, MAX_ZOOM + 1, 100)));
+        assertEquals(Set.of(0, 1), shelterIds(index.query(-20, 179, -15, 181, MAX_ZOOM + 1, 100)), "181 = -179");
+        assertEquals(Set.of(1), shelterIds(index.query(-20, 180.2, -15, 181, MAX_ZOOM + 1, 100)));
+        assertEquals(Set.of(), shelterIds(index.query(-20, -179, -15, 179, MAX_ZOOM + 1, 100)));
+    }
+
+    @Test
+    void bboxIsClippedToTheWorld() {
+        double[] lats = {-17.0, 37.5, 89.0};
+        double[] lngs = {179.5, 127.0, 0.0};
+        ViewportClusterIndex index = ViewportClusterIndex.build(lats, lngs, new int[3], MAX_ZOOM, 60, 512);
+
+        // 경도 폭 360 이상 = 전 세계, 위도는 메르카토르 한계(±85.05)로 잘리고 극지방 점은 한계선에 붙는다
+        assertEquals(Set.of(0, 1, 2), shelterIds(index.query(-100, -400, 100, 400, MAX_ZOOM + 1, 100)));
+        assertEquals(Set.of(0, 1, 2), shelterIds(index.query(-90, 10, 90, 370, MAX_ZOOM + 1, 100)));
+        assertEquals(Set.of(1), shelterIds(index.query(37, 126.5, 38, 127.5, MAX_ZOOM + 1, 100)));
+    }
+
+    @Test
+    void tooManyItemsLowerTheZoomAndThenTruncate() {
+        Random random = new Random(22);
+        int n = 2_000;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = -60 + random.nextDouble() * 120;
+            lngs[i] = -180 + random.nextDouble() * 360;
+        }
+        ViewportClusterIndex index = ViewportClusterIndex.build(lats, lngs, new int[n], MAX_ZOOM, 60, 512);
+
+        // 줌을 낮춰서 들어오면 잘리지 않는다
+        int fitting = index.sizeAt(2);
+        ViewportClusterIndex.Result lowered = index.query(-90, -180, 90, 180, MAX_ZOOM + 1, fitting);
+        assertTrue(lowered.getZoom() <= 2);
+        assertFalse(lowered.isTruncated());
+        assertTrue(lowered.getNodes().size() <= fitting);
+        assertEquals(n, lowered.getNodes().stream().mapToInt(ViewportClusterIndex.Node::getCount).sum());
+
+        // 줌 0 에서도 넘치면 max-items 개에서 자른다
+        int maxItems = index.sizeAt(0) - 1;
+        ViewportClusterIndex.Result truncated = index.query(-90, -180, 90, 180, MAX_ZOOM + 1, maxItems);
+        assertEquals(0, truncated.getZoom());
+        assertTrue(truncated.isTruncated());
+        assertEquals(maxItems, truncated.getNodes().size());
+    }
+
+    private static Set<Integer> shelterIds(ViewportClusterIndex.Result result) {
+        Set<Integer> ids = new HashSet<>();
+        for (ViewportClusterIndex.Node node : result.getNodes()) {
+            ids.add(node.getShelterId());
+        }
+        return ids;
+    }
+}